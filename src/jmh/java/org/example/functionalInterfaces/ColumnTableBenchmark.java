@@ -0,0 +1,77 @@
+package org.example.functionalInterfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting and filtering records by an {@code int} field, as a list of objects and as a {@link ColumnTable}.
+ * The list is shuffled after it is built so its elements are not laid out in allocation order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ColumnTableBenchmark {
+
+    public record Person(String name, int age) {
+    }
+
+    @Param({"100000", "1000000", "5000000"})
+    public int size;
+
+    private List<Person> people;
+    private ColumnTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(new Person("name" + random.nextInt(10_000), random.nextInt(100)));
+        }
+        Collections.shuffle(people, new Random(42));
+        table = ColumnTable.<Person>builder()
+                .stringColumn("name", Person::name)
+                .intColumn("age", Person::age)
+                .build(people);
+    }
+
+    @Benchmark
+    public List<Person> sortListByAge() {
+        return people.stream().sorted(Comparator.comparingInt(Person::age)).toList();
+    }
+
+    @Benchmark
+    public int[] sortColumnByAge() {
+        return table.sortedIndex("age");
+    }
+
+    @Benchmark
+    public List<Person> filterListByAge() {
+        return people.stream().filter(p -> p.age() >= 30 && p.age() < 40).toList();
+    }
+
+    @Benchmark
+    public int[] filterColumnByAge() {
+        return table.intColumn("age").between(30, 39);
+    }
+
+    @Benchmark
+    public List<Person> sortListByNameThenAge() {
+        return people.stream().sorted(Comparator.comparing(Person::name).thenComparingInt(Person::age)).toList();
+    }
+
+    @Benchmark
+    public int[] sortColumnsByNameThenAge() {
+        return table.sortedIndex("name", "age");
+    }
+}
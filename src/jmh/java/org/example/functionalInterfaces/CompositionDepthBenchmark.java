@@ -0,0 +1,88 @@
+package org.example.functionalInterfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cost of applying a chain of {@code depth} functions (and testing {@code depth} predicates) built
+ * with plain {@link Function#andThen}/{@link Predicate#and} versus {@link FusedFunction} and
+ * {@link FusedPredicate}. Divide the score by {@code depth} for the cost per stage: it should stay
+ * flat for the fused chains, while the nested chains get worse once they outgrow inlining.
+ * The stages cycle through several distinct lambdas so that call sites see more than one type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompositionDepthBenchmark {
+
+    private static final List<Function<Integer, Integer>> FUNCTIONS = List.of(
+            x -> x + 1,
+            x -> x * 3,
+            x -> x ^ 0x5bd1e995,
+            x -> x >>> 1,
+            x -> x - 7,
+            x -> Integer.rotateLeft(x, 5)
+    );
+
+    private static final List<Predicate<Integer>> PREDICATES = List.of(
+            x -> x != 42,
+            x -> x > Integer.MIN_VALUE,
+            x -> (x & 0x7fffffff) >= 0,
+            x -> x != -1,
+            x -> x % 1_000_003 != 17
+    );
+
+    @Param({"1", "5", "10", "20", "40", "80"})
+    public int depth;
+
+    private Function<Integer, Integer> nestedFunction;
+    private Function<Integer, Integer> fusedFunction;
+    private Predicate<Integer> nestedPredicate;
+    private Predicate<Integer> fusedPredicate;
+    private int input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Function<Integer, Integer> nested = FUNCTIONS.get(0);
+        FusedFunction<Integer, Integer> fused = FusedFunction.of(FUNCTIONS.get(0));
+        Predicate<Integer> nestedTest = PREDICATES.get(0);
+        FusedPredicate<Integer> fusedTest = FusedPredicate.of(PREDICATES.get(0));
+        for (int i = 1; i < depth; i++) {
+            nested = nested.andThen(FUNCTIONS.get(i % FUNCTIONS.size()));
+            fused = fused.andThen(FUNCTIONS.get(i % FUNCTIONS.size()));
+            nestedTest = nestedTest.and(PREDICATES.get(i % PREDICATES.size()));
+            fusedTest = fusedTest.and(PREDICATES.get(i % PREDICATES.size()));
+        }
+        nestedFunction = nested;
+        fusedFunction = fused;
+        nestedPredicate = nestedTest;
+        fusedPredicate = fusedTest;
+    }
+
+    @Benchmark
+    public Integer nestedAndThen() {
+        return nestedFunction.apply(input++);
+    }
+
+    @Benchmark
+    public Integer fusedAndThen() {
+        return fusedFunction.apply(input++);
+    }
+
+    @Benchmark
+    public boolean nestedAnd() {
+        return nestedPredicate.test(input++);
+    }
+
+    @Benchmark
+    public boolean fusedAnd() {
+        return fusedPredicate.test(input++);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.functionalInterfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups and a range scan on a read-only table of sparse {@code int} IDs, as a
+ * {@code HashMap<Integer, String>} and as an {@link ImmutableIntMap}. Each lookup invocation probes
+ * {@value #PROBES} random IDs that are present in the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LookupTableBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"10000", "1000000", "5000000"})
+    public int size;
+
+    private Map<Integer, String> hashMap;
+    private ImmutableIntMap<String> immutableMap;
+    private int[] probes;
+    private int median;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        hashMap = HashMap.newHashMap(size);
+        int[] ids = new int[size];
+        for (int i = 0; i < size; ) {
+            int id = random.nextInt(Integer.MAX_VALUE);
+            if (hashMap.putIfAbsent(id, "employee" + i) == null) {
+                ids[i++] = id;
+            }
+        }
+        immutableMap = ImmutableIntMap.copyOf(hashMap);
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = ids[random.nextInt(size)];
+        }
+        median = immutableMap.keys().skip(size / 2).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int hashMapGet() {
+        int found = 0;
+        for (int id : probes) {
+            found += hashMap.get(id).length();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int immutableMapGet() {
+        int found = 0;
+        for (int id : probes) {
+            found += immutableMap.get(id).length();
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long hashMapRangeCount() {
+        return hashMap.entrySet().stream().filter(entry -> entry.getKey() > median).count();
+    }
+
+    @Benchmark
+    public long immutableMapRangeCount() {
+        return immutableMap.tailMap(median + 1).size();
+    }
+}
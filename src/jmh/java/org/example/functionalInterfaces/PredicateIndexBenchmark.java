@@ -0,0 +1,99 @@
+package org.example.functionalInterfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Matching records against a growing number of registered predicates, by testing each predicate in
+ * turn and through a {@link PredicateIndex}. The predicates are a mix of ID ranges and equalities,
+ * name prefixes and name-length ranges, each matching a small fraction of the records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredicateIndexBenchmark {
+
+    public record Employee(long id, String name) {
+    }
+
+    private static final int RECORDS = 256;
+    private static final int ID_RANGE = 1_000_000;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int predicates;
+
+    private List<Predicate<Employee>> linear;
+    private PredicateIndex<Employee> index;
+    private Employee[] records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = PredicateIndex.create();
+        PredicateIndex.LongField<Employee> id = index.longField("id", Employee::id);
+        PredicateIndex.StringField<Employee> name = index.stringField("name", Employee::name);
+        linear = new ArrayList<>(predicates);
+        for (int i = 0; i < predicates; i++) {
+            int shape = random.nextInt(10);
+            Predicate<Employee> predicate;
+            if (shape < 4) {
+                long from = random.nextInt(ID_RANGE);
+                predicate = id.between(from, from + random.nextInt(1000));
+            } else if (shape < 6) {
+                predicate = id.equalTo(random.nextInt(ID_RANGE));
+            } else if (shape < 9) {
+                predicate = name.startsWith(name(random, 3 + random.nextInt(3)));
+            } else {
+                int length = 4 + random.nextInt(20);
+                predicate = name.length().between(length, length);
+            }
+            linear.add(predicate);
+            index.register(predicate);
+        }
+        records = new Employee[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            records[i] = new Employee(random.nextInt(ID_RANGE), name(random, 4 + random.nextInt(20)));
+        }
+        index.match(records[0]); // Build the indexes outside the measurement.
+    }
+
+    private static String name(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public int linearScan() {
+        int matches = 0;
+        for (Employee record : records) {
+            for (Predicate<Employee> predicate : linear) {
+                if (predicate.test(record)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public int indexed() {
+        int[] matches = new int[1];
+        for (Employee record : records) {
+            index.match(record, id -> matches[0]++);
+        }
+        return matches[0];
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.functionalInterfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The stream pipelines shown in {@link FunctionalInterfaces}, run over generated data.
+ * {@code threads} = 1 runs sequentially; larger values run the parallel stream in a
+ * {@link ForkJoinPool} of that size. The three {@code reduce} benchmarks compute the same sum of
+ * squares.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamPipelinesBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private static final IntPipeline SQUARES = IntPipeline.identity().map(n -> n * n);
+
+    private List<String> names;
+    private List<Integer> boxed;
+    private int[] primitives;
+    private int[][] chunks;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        names = new ArrayList<>(size);
+        boxed = new ArrayList<>(size);
+        primitives = new int[size];
+        for (int i = 0; i < size; i++) {
+            char[] name = new char[3 + random.nextInt(8)];
+            for (int c = 0; c < name.length; c++) {
+                name[c] = (char) ('A' + random.nextInt(26));
+            }
+            names.add(new String(name));
+            primitives[i] = random.nextInt(1000);
+            boxed.add(primitives[i]);
+        }
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        // One slice per thread for the fused pipeline, which has no splitting of its own.
+        chunks = new int[threads][];
+        for (int t = 0; t < threads; t++) {
+            chunks[t] = Arrays.copyOfRange(primitives, (int) ((long) size * t / threads), (int) ((long) size * (t + 1) / threads));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingByLength() {
+        return run(() -> stream(names).collect(Collectors.groupingBy(String::length)));
+    }
+
+    @Benchmark
+    public Map<Character, List<String>> groupingByFirstLetter() {
+        return run(() -> stream(names).collect(Collectors.groupingBy(name -> name.charAt(0))));
+    }
+
+    @Benchmark
+    public Map<Boolean, List<String>> partitioningByLength() {
+        return run(() -> stream(names).collect(Collectors.partitioningBy(name -> name.length() > 3)));
+    }
+
+    @Benchmark
+    public Optional<String> maxByLength() {
+        return run(() -> stream(names).max(Comparator.comparingInt(String::length)));
+    }
+
+    @Benchmark
+    public List<String> sortedByValue() {
+        return run(() -> stream(names).sorted().toList());
+    }
+
+    @Benchmark
+    public List<String> sortedTop100() {
+        return run(() -> stream(names).sorted(Comparator.reverseOrder()).limit(100).toList());
+    }
+
+    @Benchmark
+    public List<String> heapTop100() {
+        return run(() -> stream(names).collect(RankingCollectors.topK(100, Comparator.<String>naturalOrder())));
+    }
+
+    @Benchmark
+    public RankingCollectors.Summary<String> summarizingByLength() {
+        return run(() -> stream(names).collect(RankingCollectors.summarizing(String::length)));
+    }
+
+    @Benchmark
+    public int reduceBoxed() {
+        return run(() -> stream(boxed).map(n -> n * n).reduce(0, Integer::sum));
+    }
+
+    @Benchmark
+    public int reducePrimitive() {
+        return run(() -> {
+            IntStream stream = IntStream.of(primitives);
+            return (pool != null ? stream.parallel() : stream).map(n -> n * n).sum();
+        });
+    }
+
+    @Benchmark
+    public int reduceFusedPipeline() {
+        if (pool == null) {
+            return SQUARES.reduce(primitives, 0, Integer::sum);
+        }
+        return run(() -> IntStream.range(0, chunks.length).parallel()
+                .map(t -> SQUARES.reduce(chunks[t], 0, Integer::sum))
+                .sum());
+    }
+
+    @Benchmark
+    public String joining() {
+        return run(() -> stream(names).collect(Collectors.joining(" ")));
+    }
+
+    private <T> Stream<T> stream(List<T> source) {
+        return pool != null ? source.parallelStream() : source.stream();
+    }
+
+    private <T> T run(Supplier<T> pipeline) {
+        return pool != null ? pool.submit(pipeline::get).join() : pipeline.get();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.functionalInterfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Joining names with {@code reduce("", (a, b) -> a + b + " ")} against {@link Collectors#joining} and
+ * {@link StringCollectors#joining}, sequentially and in parallel.
+ * <p>
+ * The quadratic reduce only runs up to 10^5 elements, past which a single call takes minutes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringJoiningBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Names {
+
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        List<String> names;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            names = generate(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FewNames {
+
+        @Param({"1000", "10000", "100000"})
+        public int size;
+
+        List<String> names;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            names = generate(size);
+        }
+    }
+
+    @Benchmark
+    public String reduceConcatenation(FewNames state) {
+        return state.names.stream().reduce("", (a, b) -> a + b + " ");
+    }
+
+    @Benchmark
+    public String collectorsJoining(Names state) {
+        return state.names.stream().collect(Collectors.joining(" "));
+    }
+
+    @Benchmark
+    public String collectorsJoiningParallel(Names state) {
+        return state.names.parallelStream().collect(Collectors.joining(" "));
+    }
+
+    @Benchmark
+    public String segmentedJoining(Names state) {
+        return state.names.stream().collect(StringCollectors.joining(" "));
+    }
+
+    @Benchmark
+    public String segmentedJoiningParallel(Names state) {
+        return state.names.parallelStream().collect(StringCollectors.joining(" "));
+    }
+
+    private static List<String> generate(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            char[] name = new char[3 + random.nextInt(8)];
+            for (int c = 0; c < name.length; c++) {
+                name[c] = (char) ('A' + random.nextInt(26));
+            }
+            names.add(new String(name));
+        }
+        return names;
+    }
+}
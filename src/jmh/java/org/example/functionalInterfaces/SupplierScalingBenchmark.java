@@ -0,0 +1,80 @@
+package org.example.functionalInterfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of the JDK's shared random sources against {@link FastSuppliers} and {@link SnowflakeIds}
+ * as threads are added. Run it with {@code -t 1}, then {@code -t 2}, {@code -t 4} and so on. The
+ * per-thread suppliers should scale with the thread count while {@code UUID.randomUUID()} and
+ * {@code Math.random()} flatten out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupplierScalingBenchmark {
+
+    private static final int BATCH = 1024;
+
+    private final Supplier<UUID> uuidV7 = FastSuppliers.uuidV7();
+    private final IntSupplier ints = FastSuppliers.ints(100);
+    private final DoubleSupplier doubles = FastSuppliers.doubles();
+    private final SnowflakeIds snowflake = new SnowflakeIds(1);
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        final long[] values = new long[BATCH];
+    }
+
+    @Benchmark
+    public UUID uuidRandom() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return uuidV7.get();
+    }
+
+    @Benchmark
+    public double mathRandom() {
+        return Math.random();
+    }
+
+    @Benchmark
+    public double fastDouble() {
+        return doubles.getAsDouble();
+    }
+
+    @Benchmark
+    public int fastIntBounded() {
+        return ints.getAsInt();
+    }
+
+    @Benchmark
+    public long snowflakeId() {
+        return snowflake.getAsLong();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] snowflakeFill(Buffer buffer) {
+        snowflake.fill(buffer.values);
+        return buffer.values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] fastFill(Buffer buffer) {
+        FastSuppliers.fill(buffer.values);
+        return buffer.values;
+    }
+}
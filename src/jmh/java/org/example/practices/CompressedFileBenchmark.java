@@ -0,0 +1,103 @@
+package org.example.practices;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes and reads a log-like text file through a single-threaded {@link GZIPOutputStream} and
+ * {@link GZIPInputStream}, and through the block-compressed modes of
+ * {@link FileAndDirectoryOperations}. {@code seekCompressed} reads 4 KiB at a random offset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressedFileBenchmark {
+
+    @Param({"tmpdir"})
+    public String root;
+
+    @Param({"33554432"})
+    public int size;
+
+    private Path workDirectory;
+    private Path compressed;
+    private Path target;
+    private String content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getLogger(FileAndDirectoryOperations.class.getName()).setLevel(java.util.logging.Level.WARNING);
+        workDirectory = Files.createTempDirectory(FileOperationsBenchmark.resolveRoot(root), "gzip-bench");
+        compressed = workDirectory.resolve("source.log.gz");
+        target = workDirectory.resolve("target.log.gz");
+        Random random = new Random(42);
+        String[] levels = {"INFO", "INFO", "INFO", "DEBUG", "WARN", "ERROR"};
+        StringBuilder text = new StringBuilder(size + 128);
+        long time = 1_700_000_000_000L;
+        while (text.length() < size) {
+            time += random.nextInt(50);
+            text.append(time).append(' ').append(levels[random.nextInt(levels.length)])
+                    .append(" [worker-").append(random.nextInt(16)).append("] request ")
+                    .append(Long.toHexString(random.nextLong())).append(" took ")
+                    .append(random.nextInt(2000)).append(" ms\n");
+        }
+        content = text.toString();
+        FileAndDirectoryOperations.writeFileCompressed(compressed, content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileOperationsBenchmark.deleteTree(workDirectory);
+    }
+
+    @Benchmark
+    public long writeGzipStream() throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return Files.size(target);
+    }
+
+    @Benchmark
+    public long writeFileCompressed() throws IOException {
+        FileAndDirectoryOperations.writeFileCompressed(target, content);
+        return Files.size(target);
+    }
+
+    @Benchmark
+    public long readGzipStream() throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed), 64 * 1024)) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public long readCompressed() throws IOException {
+        try (InputStream in = FileAndDirectoryOperations.openCompressed(compressed)) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public int seekCompressed() throws IOException {
+        try (InputStream in = FileAndDirectoryOperations.openCompressed(compressed)) {
+            in.skip(ThreadLocalRandom.current().nextLong(size - 4096));
+            return in.readNBytes(4096).length;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.practices;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Copies and lists directory trees holding the same number of files in different shapes:
+ * {@code wide} is a single directory, {@code deep} nests ten levels with the files spread across them.
+ * {@code root} works as in {@link FileOperationsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectoryOperationsBenchmark {
+
+    @Param({"tmpdir", "/dev/shm"})
+    public String root;
+
+    @Param({"wide", "deep"})
+    public String shape;
+
+    @Param({"1000"})
+    public int files;
+
+    private Path workDirectory;
+    private Path source;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getLogger(FileAndDirectoryOperations.class.getName()).setLevel(java.util.logging.Level.WARNING);
+        workDirectory = Files.createTempDirectory(FileOperationsBenchmark.resolveRoot(root), "tree-bench");
+        source = workDirectory.resolve("source");
+        target = workDirectory.resolve("target");
+        int levels = shape.equals("deep") ? 10 : 1;
+        Path directory = source;
+        for (int level = 0; level < levels; level++) {
+            if (level > 0) {
+                directory = directory.resolve("level" + level);
+            }
+            Files.createDirectories(directory);
+            for (int i = 0; i < files / levels; i++) {
+                FileOperationsBenchmark.writeTextFile(directory.resolve("file" + i + ".txt"), 4096);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileOperationsBenchmark.deleteTree(workDirectory);
+    }
+
+    @Benchmark
+    public void copyDirectorySequential() {
+        FileAndDirectoryOperations.copyDirectory(source, target);
+    }
+
+    @Benchmark
+    public CopyResult copyDirectoryParallel() {
+        return FileAndDirectoryOperations.copyDirectory(source, target, 16);
+    }
+
+    @Benchmark
+    public void listTree(Blackhole blackhole) {
+        FileAndDirectoryOperations.listTree(source, Integer.MAX_VALUE, (path, attrs) -> true, blackhole::consume);
+    }
+
+    @Benchmark
+    public void walkBaseline(Blackhole blackhole) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            paths.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.practices;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Finds the duplicates in a tree of equally sized random files, one in ten of which is a copy of
+ * another. {@code hashEverything} is the straightforward approach of hashing every file in full;
+ * {@code findDuplicates} narrows by partial hash first, and {@code findDuplicatesIndexed} rescans
+ * with the digests of the previous run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DuplicateFinderBenchmark {
+
+    @Param({"tmpdir"})
+    public String root;
+
+    @Param({"200"})
+    public int files;
+
+    @Param({"1048576"})
+    public int fileSize;
+
+    private Path workDirectory;
+    private Path plain;
+    private Path indexed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getLogger(FileAndDirectoryOperations.class.getName()).setLevel(java.util.logging.Level.WARNING);
+        workDirectory = Files.createTempDirectory(FileOperationsBenchmark.resolveRoot(root), "dedup-bench");
+        plain = Files.createDirectories(workDirectory.resolve("plain"));
+        indexed = Files.createDirectories(workDirectory.resolve("indexed"));
+        byte[] content = new byte[fileSize];
+        for (int i = 0; i < files; i++) {
+            if (i % 10 != 9) {
+                ThreadLocalRandom.current().nextBytes(content);
+            }
+            Files.write(plain.resolve("file" + i), content);
+            Files.write(indexed.resolve("file" + i), content);
+        }
+        FileAndDirectoryOperations.findDuplicates(indexed, DedupOptions.INDEXED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileOperationsBenchmark.deleteTree(workDirectory);
+    }
+
+    @Benchmark
+    public Map<String, Integer> hashEverything() throws IOException, NoSuchAlgorithmException {
+        Map<String, Integer> counts = new HashMap<>();
+        byte[] buffer = new byte[64 * 1024];
+        List<Path> paths;
+        try (Stream<Path> list = Files.list(plain)) {
+            paths = list.filter(Files::isRegularFile).toList();
+        }
+        for (Path path : paths) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = Files.newInputStream(path)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            counts.merge(HexFormat.of().formatHex(digest.digest()), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public DuplicateReport findDuplicates() {
+        return FileAndDirectoryOperations.findDuplicates(plain, DedupOptions.DEFAULT);
+    }
+
+    @Benchmark
+    public DuplicateReport findDuplicatesIndexed() {
+        return FileAndDirectoryOperations.findDuplicates(indexed, DedupOptions.INDEXED);
+    }
+}
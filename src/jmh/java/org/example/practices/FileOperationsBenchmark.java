@@ -0,0 +1,108 @@
+package org.example.practices;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Copy, move, read and list throughput of {@link FileAndDirectoryOperations}.
+ * <p>
+ * {@code root} selects the file system: {@code tmpdir} resolves to {@code java.io.tmpdir}, any other
+ * value is used as a path (e.g. {@code /dev/shm} for tmpfs).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileOperationsBenchmark {
+
+    @Param({"tmpdir", "/dev/shm"})
+    public String root;
+
+    @Param({"4096", "1048576", "67108864"})
+    public int fileSize;
+
+    private Path workDirectory;
+    private Path source;
+    private Path copyTarget;
+    private Path moveTarget;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.getLogger(FileAndDirectoryOperations.class.getName()).setLevel(java.util.logging.Level.WARNING);
+        workDirectory = Files.createTempDirectory(resolveRoot(root), "file-ops-bench");
+        source = workDirectory.resolve("source.txt");
+        copyTarget = workDirectory.resolve("copy.txt");
+        moveTarget = workDirectory.resolve("moved.txt");
+        writeTextFile(source, fileSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        deleteTree(workDirectory);
+    }
+
+    @Benchmark
+    public void copyFile() {
+        FileAndDirectoryOperations.copyFile(source, copyTarget);
+    }
+
+    /** Moves the file away and back, so every invocation starts from the same state. */
+    @Benchmark
+    public void moveFileRoundTrip() {
+        FileAndDirectoryOperations.moveFile(source, moveTarget);
+        FileAndDirectoryOperations.moveFile(moveTarget, source);
+    }
+
+    @Benchmark
+    public long readFileMapped() {
+        try (Stream<CharSequence> lines = FileAndDirectoryOperations.readFileMapped(source)) {
+            return lines.mapToInt(CharSequence::length).sum();
+        }
+    }
+
+    @Benchmark
+    public long readFileLines() throws IOException {
+        try (Stream<String> lines = Files.lines(source)) {
+            return lines.mapToInt(String::length).sum();
+        }
+    }
+
+    static Path resolveRoot(String root) {
+        Path path = root.equals("tmpdir") ? Path.of(System.getProperty("java.io.tmpdir")) : Path.of(root);
+        if (!Files.isDirectory(path)) {
+            throw new IllegalStateException("Benchmark root does not exist: " + path);
+        }
+        return path;
+    }
+
+    static void writeTextFile(Path file, int size) throws IOException {
+        byte[] content = new byte[size];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            content[i] = random.nextInt(80) == 0 ? (byte) '\n' : (byte) ('a' + random.nextInt(26));
+        }
+        Files.write(file, content);
+    }
+
+    static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
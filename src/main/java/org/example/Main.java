@@ -1,5 +1,7 @@
 package org.example;
 
+import org.example.functionalInterfaces.FastSuppliers;
+
 import java.util.function.*;
 
 import static java.lang.System.out;
@@ -20,7 +22,7 @@ public class Main {
 
         // Functional Interface Example
         //Supplier
-        Supplier<Double> randomSupplier = Math::random;
+        Supplier<Double> randomSupplier = FastSuppliers.doubles()::getAsDouble;
         System.out.println(randomSupplier.get()); // Prints a random number
 
         //Consumer
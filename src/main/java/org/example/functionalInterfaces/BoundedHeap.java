@@ -0,0 +1,93 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the {@code k} greatest elements offered to it, in a binary min-heap whose root is the
+ * smallest element kept. An element that doesn't beat the root is rejected with one comparison,
+ * so offering n elements costs O(n log k) and memory stays at O(k). Not thread-safe.
+ */
+final class BoundedHeap<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private Object[] heap;
+    private int size;
+
+    BoundedHeap(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new Object[Math.min(k, 16)];
+    }
+
+    @SuppressWarnings("unchecked")
+    void offer(T element) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(k, heap.length * 2L));
+            }
+            siftUp(size++, element);
+        } else if (k > 0 && comparator.compare(element, (T) heap[0]) > 0) {
+            siftDown(0, element);
+        }
+    }
+
+    /**
+     * Offers the elements of the smaller heap to the larger one and returns the larger.
+     */
+    @SuppressWarnings("unchecked")
+    BoundedHeap<T> merge(BoundedHeap<T> other) {
+        BoundedHeap<T> target = size >= other.size ? this : other;
+        BoundedHeap<T> source = target == this ? other : this;
+        for (int i = 0; i < source.size; i++) {
+            target.offer((T) source.heap[i]);
+        }
+        return target;
+    }
+
+    /**
+     * Returns the kept elements, greatest first.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toSortedList() {
+        T[] sorted = (T[]) Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, comparator.reversed());
+        return Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftUp(int index, T element) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            T p = (T) heap[parent];
+            if (comparator.compare(element, p) >= 0) {
+                break;
+            }
+            heap[index] = p;
+            index = parent;
+        }
+        heap[index] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftDown(int index, T element) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            T c = (T) heap[child];
+            int right = child + 1;
+            if (right < size && comparator.compare(c, (T) heap[right]) > 0) {
+                c = (T) heap[child = right];
+            }
+            if (comparator.compare(element, c) <= 0) {
+                break;
+            }
+            heap[index] = c;
+            index = child;
+        }
+        heap[index] = element;
+    }
+}
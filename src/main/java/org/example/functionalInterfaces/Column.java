@@ -0,0 +1,24 @@
+package org.example.functionalInterfaces;
+
+/**
+ * One column of a {@link ColumnTable}: the values of a single field for every row, stored in a
+ * primitive array.
+ */
+public sealed interface Column permits IntColumn, LongColumn, StringColumn {
+
+    int size();
+
+    /**
+     * Returns the row indices in ascending order of this column's values. Rows with equal values
+     * keep their relative order.
+     */
+    default int[] sortedIndex() {
+        return sortedIndex(ColumnTable.allRows(size()));
+    }
+
+    /**
+     * Returns {@code rows}, such as a filter result or an earlier sort, stably reordered by this
+     * column's values.
+     */
+    int[] sortedIndex(int[] rows);
+}
@@ -0,0 +1,219 @@
+package org.example.functionalInterfaces;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Records stored column by column ("struct of arrays") rather than as a list of objects.
+ * <p>
+ * Sorting or filtering a {@code List<Person>} by age dereferences every {@code Person}, and with
+ * millions of records nearly every dereference is a cache miss. Here all the ages sit next to each
+ * other in one {@code int[]}, so a filter is a sequential scan and a sort is a radix sort of that
+ * array. Both produce row indices rather than moving data: a filter returns the matching rows, and
+ * a sort returns a permutation. Either can be fed to the next filter or sort, or viewed as a
+ * {@link Stream} of {@link Row}s.
+ */
+public final class ColumnTable {
+
+    private final int size;
+    private final Map<String, Column> columns;
+
+    private ColumnTable(int size, Map<String, Column> columns) {
+        this.size = size;
+        this.columns = columns;
+    }
+
+    /**
+     * Starts a table of named columns, each extracted from a record of type {@code T}.
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Assembles a table from existing columns, which must all have the same size.
+     */
+    public static ColumnTable of(Map<String, ? extends Column> columns) {
+        int size = columns.isEmpty() ? 0 : columns.values().iterator().next().size();
+        for (Map.Entry<String, ? extends Column> column : columns.entrySet()) {
+            if (column.getValue().size() != size) {
+                throw new IllegalArgumentException("Column " + column.getKey() + " has " + column.getValue().size()
+                        + " rows, expected " + size);
+            }
+        }
+        return new ColumnTable(size, Collections.unmodifiableMap(new LinkedHashMap<>(columns)));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Map<String, Column> columns() {
+        return columns;
+    }
+
+    public IntColumn intColumn(String name) {
+        return column(name, IntColumn.class);
+    }
+
+    public LongColumn longColumn(String name) {
+        return column(name, LongColumn.class);
+    }
+
+    public StringColumn stringColumn(String name) {
+        return column(name, StringColumn.class);
+    }
+
+    /**
+     * Returns a permutation of all rows, sorted by the named columns in order of significance.
+     */
+    public int[] sortedIndex(String... names) {
+        return sortedIndex(allRows(size), names);
+    }
+
+    /**
+     * Sorts {@code rows} by the named columns, the first being the most significant. Runs one stable
+     * sort per column, from the least significant to the most.
+     */
+    public int[] sortedIndex(int[] rows, String... names) {
+        int[] sorted = rows;
+        for (int i = names.length - 1; i >= 0; i--) {
+            sorted = column(names[i], Column.class).sortedIndex(sorted);
+        }
+        return sorted;
+    }
+
+    public Row row(int index) {
+        return new Row(index);
+    }
+
+    public Stream<Row> rows() {
+        return IntStream.range(0, size).mapToObj(Row::new);
+    }
+
+    /**
+     * Returns the given rows in the given order, for example a filter result or a sorted index.
+     */
+    public Stream<Row> rows(int[] indices) {
+        return IntStream.of(indices).mapToObj(Row::new);
+    }
+
+    static int[] allRows(int size) {
+        return IntStream.range(0, size).toArray();
+    }
+
+    private <C extends Column> C column(String name, Class<C> type) {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("No such column: " + name);
+        }
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column " + name + " is a " + column.getClass().getSimpleName()
+                    + ", not a " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    /**
+     * A view of one row. Values are read from the columns on each call.
+     */
+    public final class Row {
+
+        private final int index;
+
+        private Row(int index) {
+            this.index = index;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int getInt(String column) {
+            return intColumn(column).get(index);
+        }
+
+        public long getLong(String column) {
+            return longColumn(column).get(index);
+        }
+
+        public String getString(String column) {
+            return stringColumn(column).get(index);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Row[").append(index);
+            columns.forEach((name, column) -> {
+                sb.append(", ").append(name).append('=');
+                switch (column) {
+                    case IntColumn ints -> sb.append(ints.get(index));
+                    case LongColumn longs -> sb.append(longs.get(index));
+                    case StringColumn strings -> sb.append(strings.get(index));
+                }
+            });
+            return sb.append(']').toString();
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Map<String, Function<List<? extends T>, Column>> extractors = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> intColumn(String name, ToIntFunction<? super T> extractor) {
+            return add(name, records -> {
+                int[] values = new int[records.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = extractor.applyAsInt(records.get(i));
+                }
+                return IntColumn.wrap(values);
+            });
+        }
+
+        public Builder<T> longColumn(String name, ToLongFunction<? super T> extractor) {
+            return add(name, records -> {
+                long[] values = new long[records.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = extractor.applyAsLong(records.get(i));
+                }
+                return LongColumn.wrap(values);
+            });
+        }
+
+        public Builder<T> stringColumn(String name, Function<? super T, String> extractor) {
+            return add(name, records -> StringColumn.of(records.stream().<String>map(extractor).toList()));
+        }
+
+        /**
+         * Extracts every column from {@code records}, in iteration order.
+         */
+        public ColumnTable build(Collection<? extends T> records) {
+            List<? extends T> list = records instanceof List<? extends T> l && l instanceof RandomAccess
+                    ? l
+                    : new ArrayList<>(records);
+            Map<String, Column> columns = new LinkedHashMap<>();
+            extractors.forEach((name, extractor) -> columns.put(name, extractor.apply(list)));
+            return new ColumnTable(list.size(), Collections.unmodifiableMap(columns));
+        }
+
+        private Builder<T> add(String name, Function<List<? extends T>, Column> extractor) {
+            if (extractors.putIfAbsent(name, extractor) != null) {
+                throw new IllegalArgumentException("Duplicate column: " + name);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * A binary operation on two primitive {@code double} operands, the unboxed counterpart of
+ * {@code BinaryOperator<Double>} and {@code BiFunction<Double, Double, Double>}.
+ */
+@FunctionalInterface
+public interface DoubleBiOperator extends DoubleBinaryOperator {
+
+    /**
+     * Applies this operator to the given operands.
+     */
+    @Override
+    double applyAsDouble(double left, double right);
+
+    /**
+     * Returns an operator that applies this operator and then {@code after} to its result.
+     */
+    default DoubleBiOperator andThen(DoubleOperator after) {
+        return (left, right) -> after.applyAsDouble(applyAsDouble(left, right));
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * A boolean test of a primitive {@code double}, the unboxed counterpart of {@code Predicate<Double>}.
+ * Combining conditions, or composing one with a {@link DoubleOperator}, yields another {@code DoubleCondition}.
+ */
+@FunctionalInterface
+public interface DoubleCondition extends DoublePredicate {
+
+    /**
+     * Evaluates this condition on the given value.
+     */
+    @Override
+    boolean test(double value);
+
+    /**
+     * Returns a condition that applies {@code before} to the value and then tests the result.
+     */
+    default DoubleCondition compose(DoubleOperator before) {
+        return value -> test(before.applyAsDouble(value));
+    }
+
+    default DoubleCondition and(DoubleCondition other) {
+        return value -> test(value) && other.test(value);
+    }
+
+    default DoubleCondition or(DoubleCondition other) {
+        return value -> test(value) || other.test(value);
+    }
+
+    @Override
+    default DoubleCondition negate() {
+        return value -> !test(value);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A unary operation on a primitive {@code double}, the unboxed counterpart of {@code UnaryOperator<Double>}.
+ * Composing with {@link #andThen} or {@link #compose} yields another {@code DoubleOperator}, so chains
+ * never box their intermediate values.
+ */
+@FunctionalInterface
+public interface DoubleOperator extends DoubleUnaryOperator {
+
+    /**
+     * Applies this operator to the given operand.
+     */
+    @Override
+    double applyAsDouble(double operand);
+
+    /**
+     * Returns an operator that applies this operator and then {@code after} to its result.
+     */
+    default DoubleOperator andThen(DoubleOperator after) {
+        return operand -> after.applyAsDouble(applyAsDouble(operand));
+    }
+
+    /**
+     * Returns an operator that applies {@code before} and then this operator to its result.
+     */
+    default DoubleOperator compose(DoubleOperator before) {
+        return operand -> applyAsDouble(before.applyAsDouble(operand));
+    }
+
+    /**
+     * Returns an operator that always returns its operand.
+     */
+    static DoubleOperator identity() {
+        return operand -> operand;
+    }
+}
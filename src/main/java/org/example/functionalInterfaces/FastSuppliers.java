@@ -0,0 +1,121 @@
+package org.example.functionalInterfaces;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random-value and ID suppliers that threads can call concurrently without contending on shared state.
+ * <p>
+ * {@code Math.random()} and {@code new Random()} share or allocate a generator on every call, and
+ * {@code UUID.randomUUID()} draws from one {@link SecureRandom}, so their throughput stops growing
+ * as threads are added. Here every thread draws from {@link ThreadLocalRandom}, whose state lives in
+ * the {@code Thread} itself and is seeded without locking when the thread first uses it. That keeps
+ * executors that start a virtual thread per task as cheap as long-lived threads. The values are
+ * statistically strong but not cryptographically secure: don't use them for secrets or unguessable
+ * tokens.
+ */
+public final class FastSuppliers {
+
+    private FastSuppliers() {
+    }
+
+    /**
+     * Returns the calling thread's generator. Like {@code ThreadLocalRandom.current()}, it must not be
+     * shared with other threads.
+     */
+    public static RandomGenerator current() {
+        return ThreadLocalRandom.current();
+    }
+
+    public static IntSupplier ints() {
+        return () -> ThreadLocalRandom.current().nextInt();
+    }
+
+    /**
+     * Supplies values from 0 (inclusive) to {@code bound} (exclusive).
+     */
+    public static IntSupplier ints(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        return () -> ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    public static LongSupplier longs() {
+        return () -> ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Supplies values from 0.0 (inclusive) to 1.0 (exclusive), like {@link Math#random()}.
+     */
+    public static DoubleSupplier doubles() {
+        return () -> ThreadLocalRandom.current().nextDouble();
+    }
+
+    /**
+     * Supplies version 7 UUIDs (RFC 9562): a 48-bit Unix timestamp in milliseconds followed by 74
+     * random bits. They sort by creation time to the millisecond, which keeps B-tree index inserts
+     * local, and are as unique as random UUIDs within a millisecond.
+     */
+    public static Supplier<UUID> uuidV7() {
+        return FastSuppliers::nextUuidV7;
+    }
+
+    /**
+     * Fills {@code values} with random longs, looking up the thread's generator once for the whole array.
+     */
+    public static void fill(long[] values) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Fills {@code values} with random ints from 0 (inclusive) to {@code bound} (exclusive).
+     */
+    public static void fill(int[] values, int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        RandomGenerator random = ThreadLocalRandom.current();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(bound);
+        }
+    }
+
+    public static void fill(double[] values) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble();
+        }
+    }
+
+    /**
+     * Fills {@code uuids} with version 7 UUIDs.
+     */
+    public static void fill(UUID[] uuids) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        for (int i = 0; i < uuids.length; i++) {
+            uuids[i] = uuidV7(System.currentTimeMillis(), random);
+        }
+    }
+
+    private static UUID nextUuidV7() {
+        return uuidV7(System.currentTimeMillis(), ThreadLocalRandom.current());
+    }
+
+    private static UUID uuidV7(long millis, RandomGenerator random) {
+        long randA = random.nextLong();
+        long randB = random.nextLong();
+        long msb = (millis << 16) | 0x7000L | (randA & 0x0FFFL);
+        long lsb = (randB & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.functionalInterfaces;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.function.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -16,6 +19,8 @@ public class FunctionalInterfaces {
         demonstrateMapStreamOperations();
         demonstrateLambdaAndMethodReferences();
         demonstrateStreamsWithDifferentDataTypes();
+        demonstratePrimitiveSpecializations();
+        demonstrateMemoization();
     }
 
     private static void demonstrateCustomFunctionalInterface() {
@@ -55,12 +60,12 @@ public class FunctionalInterfaces {
         BinaryOperator<String> mergeStrings = (s1, s2) -> s1 + "-" + s2;
         System.out.println("Merged: " + mergeStrings.apply("Java", "Programming"));
 
-        Supplier<UUID> randomUUID = UUID::randomUUID;
+        Supplier<UUID> randomUUID = FastSuppliers.uuidV7();
         System.out.println("Random UUID: " + randomUUID.get());
 
-        IntSupplier randomInt = () -> new Random().nextInt(100);
+        IntSupplier randomInt = FastSuppliers.ints(100);
         System.out.println("Random int: " + randomInt.getAsInt());
-        DoubleSupplier randomDouble = () -> Math.random();
+        DoubleSupplier randomDouble = FastSuppliers.doubles();
         System.out.println("Random double: " + randomDouble.getAsDouble());
         LongSupplier currentTime = System::currentTimeMillis;
         System.out.println("Current time in millis: " + currentTime.getAsLong());
@@ -85,10 +90,19 @@ public class FunctionalInterfaces {
     private static void demonstrateCompletableFuture() {
         System.out.println("\n=== CompletableFuture ===");
 
-        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> "Hello from CompletableFuture!");
-        future.thenAccept(System.out::println);
-
         List<String> items = Arrays.asList("apple", "banana", "cherry");
+        try (PipelineScope scope = PipelineScope.open(Duration.ofSeconds(5))) {
+            CompletableFuture<String> future = scope.fork(() -> "Hello from CompletableFuture!");
+            future.thenAccept(System.out::println);
+
+            PipelineScope.Stage<String, Integer> lengths = scope.stage(2, String::length);
+            CompletableFuture<List<Integer>> itemLengths = lengths.submitAll(items);
+            scope.join();
+            System.out.println("Item lengths: " + itemLengths.join());
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            System.out.println("Pipeline failed: " + e);
+        }
+
         items.stream()
                 .filter(item -> item.startsWith("a"))
                 .forEach(System.out::println);
@@ -105,8 +119,8 @@ public class FunctionalInterfaces {
                 .forEach(System.out::println);
 
         System.out.println("\nGrouping names by length:");
-        Map<Integer, List<String>> groupedByLength = names.stream()
-                .collect(Collectors.groupingBy(String::length));
+        IntKeyedMap<List<String>> groupedByLength = names.stream()
+                .collect(PrimitiveCollectors.groupingByInt(String::length));
         groupedByLength.forEach((length, group) -> System.out.println(length + ": " + group));
 
         System.out.println("\nPartitioning names by length > 3:");
@@ -119,15 +133,21 @@ public class FunctionalInterfaces {
                 .filter(n -> n % 2 == 0)
                 .forEach(System.out::println);
 
+        RankingCollectors.Summary<String> lengths = names.stream()
+                .collect(RankingCollectors.summarizing(String::length));
         System.out.println("\nLongest name:");
-        names.stream()
-                .max(Comparator.comparingInt(String::length))
-                .ifPresent(System.out::println);
+        System.out.println(lengths.max());
 
         System.out.println("\nShortest name:");
+        System.out.println(lengths.min());
+
+        System.out.println("\nAverage name length:");
+        System.out.println(lengths.average());
+
+        System.out.println("\nTwo longest names:");
         names.stream()
-                .min(Comparator.comparingInt(String::length))
-                .ifPresent(System.out::println);
+                .collect(RankingCollectors.topK(2, Comparator.comparingInt(String::length)))
+                .forEach(System.out::println);
 
         System.out.println("\nFlattening nested lists:");
         List<List<String>> nestedLists = Arrays.asList(
@@ -152,50 +172,51 @@ public class FunctionalInterfaces {
     private static void demonstrateMapStreamOperations() {
         System.out.println("\n=== Map Stream Operations ===");
 
-        Map<Integer, String> employees = Map.of(
-                1, "Alice",
-                2, "Bob",
-                3, "Charlie",
-                4, "David",
-                5, "Eve"
-        );
+        ImmutableIntMap<String> employees = ImmutableIntMap.<String>builder()
+                .put(1, "Alice")
+                .put(2, "Bob")
+                .put(3, "Charlie")
+                .put(4, "David")
+                .put(5, "Eve")
+                .build();
 
         System.out.println("Employees with IDs greater than 2:");
-        employees.entrySet().stream()
-                .filter(entry -> entry.getKey() > 2)
-                .forEach(entry -> System.out.println(entry.getKey() + ": " + entry.getValue()));
+        employees.tailMap(3)
+                .forEach((id, name) -> System.out.println(id + ": " + name));
 
         System.out.println("\nEmployee names in uppercase:");
-        employees.values().stream()
+        employees.values()
                 .map(String::toUpperCase)
                 .forEach(System.out::println);
 
         System.out.println("\nFiltered employees (IDs > 3) collected into a new Map:");
-        Map<Integer, String> filteredEmployees = employees.entrySet().stream()
-                .filter(entry -> entry.getKey() > 3)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<Integer, String> filteredEmployees = employees.tailMap(4).toMap();
         System.out.println(filteredEmployees);
 
         System.out.println("\nEmployees sorted by name:");
-        employees.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue())
-                .forEach(entry -> System.out.println(entry.getKey() + ": " + entry.getValue()));
+        employees.keys()
+                .boxed()
+                .sorted(Comparator.comparing(employees::get))
+                .forEach(id -> System.out.println(id + ": " + employees.get(id)));
 
         System.out.println("\nCount of employees with names starting with 'A':");
-        long count = employees.values().stream()
+        long count = employees.values()
                 .filter(name -> name.startsWith("A"))
                 .count();
         System.out.println(count);
 
         System.out.println("\nGrouping employees by the first letter of their names:");
-        Map<Character, List<String>> groupedByFirstLetter = employees.values().stream()
-                .collect(Collectors.groupingBy(name -> name.charAt(0)));
-        groupedByFirstLetter.forEach((letter, names) -> System.out.println(letter + ": " + names));
+        IntKeyedMap<List<String>> groupedByFirstLetter = employees.values()
+                .collect(PrimitiveCollectors.groupingByChar(name -> name.charAt(0)));
+        groupedByFirstLetter.forEach((letter, names) -> System.out.println((char) letter + ": " + names));
 
         System.out.println("\nConcatenated employee names:");
-        String concatenatedNames = employees.values().stream()
-                .reduce("", (a, b) -> a + b + " ");
-        System.out.println(concatenatedNames.trim());
+        String concatenatedNames = employees.values()
+                .collect(StringCollectors.joining(" "));
+        System.out.println(concatenatedNames);
+
+        System.out.println("\nLookup table footprint:");
+        System.out.println(employees.footprint());
     }
 
     private static void demonstrateLambdaAndMethodReferences() {
@@ -289,6 +310,30 @@ public class FunctionalInterfaces {
                 .sorted(Comparator.comparingInt(p -> p.age))
                 .forEach(System.out::println);
 
+        System.out.println("\nYoungest person:");
+        people.stream()
+                .collect(RankingCollectors.bottomK(1, Comparator.comparingInt((Person p) -> p.age)))
+                .forEach(System.out::println);
+
+        System.out.println("\nColumnar people sorted by age:");
+        ColumnTable table = ColumnTable.<Person>builder()
+                .stringColumn("name", p -> p.name)
+                .intColumn("age", p -> p.age)
+                .build(people);
+        table.rows(table.sortedIndex("age"))
+                .forEach(row -> System.out.println(row.getString("name") + " (" + row.getInt("age") + ")"));
+
+        System.out.println("\nIndexed predicates each person satisfies:");
+        PredicateIndex<Person> rules = PredicateIndex.create();
+        PredicateIndex.LongField<Person> age = rules.longField("age", p -> p.age);
+        PredicateIndex.StringField<Person> name = rules.stringField("name", p -> p.name);
+        rules.register(name.startsWith("C"));
+        rules.register(age.greaterThan(26));
+        rules.register(name.length().greaterThan(3));
+        for (Person person : people) {
+            System.out.println(person + ": " + Arrays.stream(rules.match(person)).mapToObj(rules::predicate).toList());
+        }
+
         System.out.println("\nEnum values filtered by condition:");
         enum Day {
             MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY
@@ -297,4 +342,36 @@ public class FunctionalInterfaces {
                 .filter(day -> day.name().startsWith("S"))
                 .forEach(System.out::println);
     }
-}
\ No newline at end of file
+
+    private static void demonstratePrimitiveSpecializations() {
+        System.out.println("\n=== Primitive Specializations ===");
+
+        IntOperator square = n -> n * n;
+        IntOperator increment = n -> n + 1;
+        System.out.println("Square then increment 5: " + square.andThen(increment).applyAsInt(5));
+        System.out.println("Increment then square 5: " + square.compose(increment).applyAsInt(5));
+
+        IntCondition isEven = n -> n % 2 == 0;
+        IntBiOperator add = (a, b) -> a + b;
+        System.out.println("Is 4 even? " + isEven.test(4));
+        System.out.println("Sum: " + add.applyAsInt(5, 10));
+
+        int[] numbers = IntStream.rangeClosed(1, 10).toArray();
+        IntPipeline evenSquares = IntPipeline.identity().filter(isEven).map(square);
+        System.out.println("Sum of even squares from 1 to 10: " + evenSquares.sum(numbers));
+        System.out.println("Even squares: " + Arrays.toString(evenSquares.toArray(numbers)));
+    }
+
+    private static void demonstrateMemoization() {
+        System.out.println("\n=== Memoization ===");
+
+        Memoizer.MemoizedFunction<String, String> reverseString =
+                Memoizer.memoize(str -> new StringBuilder(str).reverse().toString(), 100, Duration.ofMinutes(1));
+        System.out.println("Reversed: " + reverseString.apply("Hello"));
+        System.out.println("Reversed again: " + reverseString.apply("Hello"));
+        System.out.println("Hit rate: " + reverseString.stats().hitRate());
+
+        Memoizer.MemoizedSupplier<UUID> sessionId = Memoizer.memoize(UUID::randomUUID);
+        System.out.println("Same UUID twice: " + sessionId.get().equals(sessionId.get()));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link Function} composition that stays flat however long the chain gets.
+ * <p>
+ * {@code f.andThen(g).andThen(h)} on plain functions nests a lambda inside a lambda per step. Every
+ * level then calls through the same shared call site, which turns megamorphic, and past the JIT's
+ * inlining depth the chain degrades to a series of uninlined virtual calls. A {@code FusedFunction}
+ * instead keeps its stages in one array and applies them in a loop. Composing two fused functions
+ * splices their arrays together, so the cost per stage stays the same at depth 2 or depth 200.
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ */
+public final class FusedFunction<T, R> implements Function<T, R> {
+
+    private final Function<Object, Object>[] stages;
+
+    private FusedFunction(Function<Object, Object>[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Starts a chain with {@code function}. If it is already fused, it is returned as is.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> FusedFunction<T, R> of(Function<? super T, ? extends R> function) {
+        Objects.requireNonNull(function);
+        if (function instanceof FusedFunction<?, ?> fused) {
+            return (FusedFunction<T, R>) fused;
+        }
+        Function<Object, Object>[] stages = newStages(1);
+        stages[0] = (Function<Object, Object>) function;
+        return new FusedFunction<>(stages);
+    }
+
+    public static <T> FusedFunction<T, T> identity() {
+        return new FusedFunction<>(newStages(0));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R apply(T input) {
+        Object value = input;
+        for (Function<Object, Object> stage : stages) {
+            value = stage.apply(value);
+        }
+        return (R) value;
+    }
+
+    @Override
+    public <V> FusedFunction<T, V> andThen(Function<? super R, ? extends V> after) {
+        return new FusedFunction<>(concat(stages, stagesOf(after)));
+    }
+
+    @Override
+    public <V> FusedFunction<V, R> compose(Function<? super V, ? extends T> before) {
+        return new FusedFunction<>(concat(stagesOf(before), stages));
+    }
+
+    /**
+     * The number of plain functions this chain applies.
+     */
+    public int depth() {
+        return stages.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object>[] stagesOf(Function<?, ?> function) {
+        Objects.requireNonNull(function);
+        if (function instanceof FusedFunction<?, ?> fused) {
+            return fused.stages;
+        }
+        Function<Object, Object>[] single = newStages(1);
+        single[0] = (Function<Object, Object>) function;
+        return single;
+    }
+
+    private static Function<Object, Object>[] concat(Function<Object, Object>[] first, Function<Object, Object>[] second) {
+        Function<Object, Object>[] combined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, combined, first.length, second.length);
+        return combined;
+    }
+
+    // Each stage is only ever given the previous stage's result, so erasing the stages to
+    // Function<Object, Object> is safe; Java has no way to create the generic array without the raw type.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Function<Object, Object>[] newStages(int length) {
+        return new Function[length];
+    }
+}
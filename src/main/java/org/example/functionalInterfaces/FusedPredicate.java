@@ -0,0 +1,129 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Predicate} combination that stays flat however many conditions are chained.
+ * <p>
+ * Like {@link FusedFunction}, this keeps the operands of a run of {@code and} (or of {@code or}) calls
+ * in one array and tests them in a loop, short-circuiting as usual, instead of nesting a lambda per
+ * call. Switching between {@code and} and {@code or} starts a new level with the chain so far as its
+ * first operand, which keeps the usual left-to-right precedence.
+ *
+ * @param <T> the type of the input to the predicate
+ */
+public final class FusedPredicate<T> implements Predicate<T> {
+
+    private final Predicate<Object>[] operands;
+    private final boolean all;
+
+    private FusedPredicate(Predicate<Object>[] operands, boolean all) {
+        this.operands = operands;
+        this.all = all;
+    }
+
+    /**
+     * Starts a chain with {@code predicate}. If it is already fused, it is returned as is.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FusedPredicate<T> of(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        if (predicate instanceof FusedPredicate<?> fused) {
+            return (FusedPredicate<T>) fused;
+        }
+        Predicate<Object>[] operands = newOperands(1);
+        operands[0] = (Predicate<Object>) predicate;
+        return new FusedPredicate<>(operands, true);
+    }
+
+    /**
+     * Returns a predicate that holds when every one of {@code predicates} holds.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // copy only reads the array
+    public static <T> FusedPredicate<T> allOf(Predicate<? super T>... predicates) {
+        return new FusedPredicate<>(copy(predicates), true);
+    }
+
+    /**
+     * Returns a predicate that holds when at least one of {@code predicates} holds.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // copy only reads the array
+    public static <T> FusedPredicate<T> anyOf(Predicate<? super T>... predicates) {
+        return new FusedPredicate<>(copy(predicates), false);
+    }
+
+    @Override
+    public boolean test(T value) {
+        for (Predicate<Object> operand : operands) {
+            if (operand.test(value) != all) {
+                return !all;
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public FusedPredicate<T> and(Predicate<? super T> other) {
+        return combine(other, true);
+    }
+
+    @Override
+    public FusedPredicate<T> or(Predicate<? super T> other) {
+        return combine(other, false);
+    }
+
+    @Override
+    public FusedPredicate<T> negate() {
+        FusedPredicate<T> self = this;
+        return of(value -> !self.test(value));
+    }
+
+    /**
+     * The number of operands at the top level of this predicate.
+     */
+    public int width() {
+        return operands.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FusedPredicate<T> combine(Predicate<? super T> other, boolean allOf) {
+        Objects.requireNonNull(other);
+        Predicate<Object>[] tail;
+        if (other instanceof FusedPredicate<?> fused && (fused.all == allOf || fused.operands.length == 1)) {
+            tail = fused.operands;
+        } else {
+            tail = newOperands(1);
+            tail[0] = (Predicate<Object>) other;
+        }
+        Predicate<Object>[] head;
+        if (all == allOf || operands.length == 1) {
+            head = operands;
+        } else {
+            head = newOperands(1);
+            head[0] = (Predicate<Object>) (Predicate<?>) this;
+        }
+        Predicate<Object>[] combined = Arrays.copyOf(head, head.length + tail.length);
+        System.arraycopy(tail, 0, combined, head.length, tail.length);
+        return new FusedPredicate<>(combined, allOf);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object>[] copy(Predicate<?>[] predicates) {
+        Predicate<Object>[] operands = newOperands(predicates.length);
+        for (int i = 0; i < predicates.length; i++) {
+            operands[i] = (Predicate<Object>) Objects.requireNonNull(predicates[i]);
+        }
+        return operands;
+    }
+
+    // Operands are only ever called with values of the chain's input type, so erasing them to
+    // Predicate<Object> is safe; Java has no way to create the generic array without the raw type.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate<Object>[] newOperands(int length) {
+        return new Predicate[length];
+    }
+}
@@ -0,0 +1,285 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable map from {@code int} keys to values, for large read-only lookup tables.
+ * <p>
+ * Keys are kept sorted in one {@code int[]} with the values in a parallel array, so there are no
+ * boxed keys or entry objects and an entry costs about 12 bytes instead of the 50 or so it takes in
+ * a {@code HashMap}. A lookup narrows the search with a directory of the key range, split into
+ * roughly as many buckets as there are keys, and then binary-searches the few keys in its bucket.
+ * Because the keys are sorted, {@link #subMap}, {@link #headMap} and {@link #tailMap} are views
+ * found with two binary searches, and {@link #keys()} streams in ascending order. Values must not
+ * be {@code null}.
+ *
+ * @param <V> the type of the values
+ */
+public final class ImmutableIntMap<V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private static final ImmutableIntMap<?> EMPTY = new ImmutableIntMap<>(new int[0], new Object[0]);
+
+    private final int[] keys;
+    private final Object[] values;
+    private final int from;
+    private final int to;
+    private final int min;
+    private final long span;
+    private final int shift;
+    // directory[b] is the index of the first key in bucket b or later
+    private final int[] directory;
+
+    private ImmutableIntMap(int[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.from = 0;
+        this.to = keys.length;
+        if (keys.length == 0) {
+            min = 0;
+            span = -1;
+            shift = 0;
+            directory = new int[0];
+            return;
+        }
+        min = keys[0];
+        span = (long) keys[keys.length - 1] - min;
+        int bits = 32 - Integer.numberOfLeadingZeros(keys.length - 1);
+        shift = Math.max(0, 64 - Long.numberOfLeadingZeros(span) - bits);
+        int buckets = (int) (span >>> shift) + 1;
+        directory = new int[buckets + 1];
+        int i = 0;
+        for (int b = 0; b <= buckets; b++) {
+            while (i < keys.length && ((long) keys[i] - min) >>> shift < b) {
+                i++;
+            }
+            directory[b] = i;
+        }
+    }
+
+    private ImmutableIntMap(ImmutableIntMap<V> parent, int from, int to) {
+        this.keys = parent.keys;
+        this.values = parent.values;
+        this.from = from;
+        this.to = to;
+        this.min = parent.min;
+        this.span = parent.span;
+        this.shift = parent.shift;
+        this.directory = parent.directory;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>(16);
+    }
+
+    public static <V> Builder<V> builder(int expectedSize) {
+        return new Builder<>(expectedSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> ImmutableIntMap<V> of() {
+        return (ImmutableIntMap<V>) EMPTY;
+    }
+
+    public static <V> ImmutableIntMap<V> copyOf(Map<Integer, ? extends V> map) {
+        Builder<V> builder = new Builder<>(map.size());
+        map.forEach(builder::put);
+        return builder.build();
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value for {@code key}, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public int firstKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return keys[from];
+    }
+
+    public int lastKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return keys[to - 1];
+    }
+
+    /**
+     * Returns a view of the entries with keys from {@code fromKey} (inclusive) to {@code toKey} (exclusive).
+     */
+    public ImmutableIntMap<V> subMap(int fromKey, int toKey) {
+        if (fromKey > toKey) {
+            throw new IllegalArgumentException("fromKey > toKey: " + fromKey + " > " + toKey);
+        }
+        return view(lowerBound(fromKey), lowerBound(toKey));
+    }
+
+    /**
+     * Returns a view of the entries with keys less than {@code toKey}.
+     */
+    public ImmutableIntMap<V> headMap(int toKey) {
+        return view(from, lowerBound(toKey));
+    }
+
+    /**
+     * Returns a view of the entries with keys greater than or equal to {@code fromKey}.
+     */
+    public ImmutableIntMap<V> tailMap(int fromKey) {
+        return view(lowerBound(fromKey), to);
+    }
+
+    /**
+     * Streams the keys in ascending order.
+     */
+    public IntStream keys() {
+        return Arrays.stream(keys, from, to);
+    }
+
+    /**
+     * Streams the values in ascending key order.
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<V> values() {
+        return (Stream<V>) Arrays.stream(values, from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = from; i < to; i++) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /**
+     * Copies the entries into a {@link LinkedHashMap} in ascending key order, boxing the keys.
+     */
+    public Map<Integer, V> toMap() {
+        Map<Integer, V> map = LinkedHashMap.newLinkedHashMap(size());
+        forEach(map::put);
+        return map;
+    }
+
+    /**
+     * Estimates the memory taken by the arrays behind this map, which views share with the map they
+     * were taken from, against a {@code HashMap<Integer, V>} of the same entries.
+     */
+    public MapFootprint footprint() {
+        long bytes = MapFootprint.array(keys.length, Integer.BYTES) + MapFootprint.references(values.length)
+                + MapFootprint.array(directory.length, Integer.BYTES);
+        return new MapFootprint(bytes, MapFootprint.hashMap(keys.length, 16));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                sb.append(", ");
+            }
+            sb.append(keys[i]).append('=').append(values[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private int indexOf(int key) {
+        long offset = (long) key - min;
+        if (offset < 0 || offset > span) {
+            return -1;
+        }
+        int bucket = (int) (offset >>> shift);
+        int index = Arrays.binarySearch(keys, directory[bucket], directory[bucket + 1], key);
+        return index >= from && index < to ? index : -1;
+    }
+
+    /**
+     * Returns the index of the first key in this view that is not less than {@code key}.
+     */
+    private int lowerBound(int key) {
+        int index = Arrays.binarySearch(keys, from, to, key);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private ImmutableIntMap<V> view(int from, int to) {
+        return from == this.from && to == this.to ? this : new ImmutableIntMap<>(this, from, to);
+    }
+
+    /**
+     * Collects entries in any order. {@link #build()} sorts them and rejects duplicate keys.
+     */
+    public static final class Builder<V> {
+
+        private int[] keys;
+        private Object[] values;
+        private int size;
+
+        private Builder(int expectedSize) {
+            keys = new int[Math.max(expectedSize, 1)];
+            values = new Object[keys.length];
+        }
+
+        public Builder<V> put(int key, V value) {
+            Objects.requireNonNull(value);
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a key was put more than once
+         */
+        public ImmutableIntMap<V> build() {
+            if (size == 0) {
+                return of();
+            }
+            int[] order = RadixSort.sort(keys, ColumnTable.allRows(size));
+            int[] sortedKeys = new int[size];
+            Object[] sortedValues = new Object[size];
+            for (int i = 0; i < size; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedValues[i] = values[order[i]];
+                if (i > 0 && sortedKeys[i] == sortedKeys[i - 1]) {
+                    throw new IllegalArgumentException("Duplicate key: " + sortedKeys[i]);
+                }
+            }
+            return new ImmutableIntMap<>(sortedKeys, sortedValues);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * A binary operation on two primitive {@code int} operands, the unboxed counterpart of
+ * {@code BinaryOperator<Integer>} and {@code BiFunction<Integer, Integer, Integer>}.
+ */
+@FunctionalInterface
+public interface IntBiOperator extends IntBinaryOperator {
+
+    /**
+     * Applies this operator to the given operands.
+     */
+    @Override
+    int applyAsInt(int left, int right);
+
+    /**
+     * Returns an operator that applies this operator and then {@code after} to its result.
+     */
+    default IntBiOperator andThen(IntOperator after) {
+        return (left, right) -> after.applyAsInt(applyAsInt(left, right));
+    }
+}
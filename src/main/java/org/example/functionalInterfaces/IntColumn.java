@@ -0,0 +1,86 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * A column of {@code int} values.
+ * <p>
+ * Filters scan the backing array in order and return the matching row indices. Each row index is
+ * written unconditionally, and the output position advances only on a match, so the loop has no
+ * data-dependent branch to mispredict.
+ */
+public final class IntColumn implements Column {
+
+    private final int[] values;
+
+    private IntColumn(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Wraps {@code values} without copying. Changes to the array are visible through the column.
+     */
+    public static IntColumn wrap(int[] values) {
+        return new IntColumn(values);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    public int get(int row) {
+        return values[row];
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values);
+    }
+
+    /**
+     * Returns the indices of the rows whose value matches {@code predicate}, in ascending order.
+     */
+    public int[] filter(IntPredicate predicate) {
+        int[] selected = new int[values.length];
+        int n = 0;
+        for (int row = 0; row < values.length; row++) {
+            selected[n] = row;
+            n += predicate.test(values[row]) ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    /**
+     * Returns those of {@code rows} whose value matches {@code predicate}, in their original order.
+     */
+    public int[] filter(IntPredicate predicate, int[] rows) {
+        int[] selected = new int[rows.length];
+        int n = 0;
+        for (int row : rows) {
+            selected[n] = row;
+            n += predicate.test(values[row]) ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    /**
+     * Returns the indices of the rows whose value lies in {@code [min, max]}.
+     */
+    public int[] between(int min, int max) {
+        int[] selected = new int[values.length];
+        int n = 0;
+        for (int row = 0; row < values.length; row++) {
+            int value = values[row];
+            selected[n] = row;
+            n += (value >= min & value <= max) ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    @Override
+    public int[] sortedIndex(int[] rows) {
+        return RadixSort.sort(values, rows);
+    }
+}
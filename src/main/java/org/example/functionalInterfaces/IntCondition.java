@@ -0,0 +1,37 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A boolean test of a primitive {@code int}, the unboxed counterpart of {@code Predicate<Integer>}.
+ * Combining conditions, or composing one with a {@link IntOperator}, yields another {@code IntCondition}.
+ */
+@FunctionalInterface
+public interface IntCondition extends IntPredicate {
+
+    /**
+     * Evaluates this condition on the given value.
+     */
+    @Override
+    boolean test(int value);
+
+    /**
+     * Returns a condition that applies {@code before} to the value and then tests the result.
+     */
+    default IntCondition compose(IntOperator before) {
+        return value -> test(before.applyAsInt(value));
+    }
+
+    default IntCondition and(IntCondition other) {
+        return value -> test(value) && other.test(value);
+    }
+
+    default IntCondition or(IntCondition other) {
+        return value -> test(value) || other.test(value);
+    }
+
+    @Override
+    default IntCondition negate() {
+        return value -> !test(value);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A unary operation on a primitive {@code int}, the unboxed counterpart of {@code UnaryOperator<Integer>}.
+ * Composing with {@link #andThen} or {@link #compose} yields another {@code IntOperator}, so chains
+ * never box their intermediate values.
+ */
+@FunctionalInterface
+public interface IntOperator extends IntUnaryOperator {
+
+    /**
+     * Applies this operator to the given operand.
+     */
+    @Override
+    int applyAsInt(int operand);
+
+    /**
+     * Returns an operator that applies this operator and then {@code after} to its result.
+     */
+    default IntOperator andThen(IntOperator after) {
+        return operand -> after.applyAsInt(applyAsInt(operand));
+    }
+
+    /**
+     * Returns an operator that applies {@code before} and then this operator to its result.
+     */
+    default IntOperator compose(IntOperator before) {
+        return operand -> applyAsInt(before.applyAsInt(operand));
+    }
+
+    /**
+     * Returns an operator that always returns its operand.
+     */
+    static IntOperator identity() {
+        return operand -> operand;
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+
+/**
+ * A reusable map/filter/reduce pipeline over {@code int[]} that never boxes.
+ * <p>
+ * Each {@link #map} or {@link #filter} returns a new pipeline, and adjacent maps or adjacent filters
+ * are fused into a single stage as they are added. A terminal operation links the stages into a
+ * chain of sinks once per call and pushes every element through it, so the per-element work
+ * involves no allocation, unlike a {@code Stream<Integer>}.
+ * <pre>{@code
+ * IntPipeline evenSquares = IntPipeline.identity().filter(n -> n % 2 == 0).map(n -> n * n);
+ * int total = evenSquares.sum(values);
+ * }</pre>
+ */
+public final class IntPipeline {
+
+    private interface Sink {
+        void accept(int value);
+    }
+
+    private static final IntPipeline IDENTITY = new IntPipeline(null, null, null);
+
+    private final IntPipeline upstream;
+    private final IntOperator mapper;
+    private final IntCondition filter;
+
+    private IntPipeline(IntPipeline upstream, IntOperator mapper, IntCondition filter) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.filter = filter;
+    }
+
+    /**
+     * Returns the empty pipeline, which passes every element through unchanged.
+     */
+    public static IntPipeline identity() {
+        return IDENTITY;
+    }
+
+    public IntPipeline map(IntOperator operator) {
+        if (mapper != null) {
+            return new IntPipeline(upstream, mapper.andThen(operator), null);
+        }
+        return new IntPipeline(this, operator, null);
+    }
+
+    public IntPipeline filter(IntCondition condition) {
+        if (filter != null) {
+            return new IntPipeline(upstream, null, filter.and(condition));
+        }
+        return new IntPipeline(this, null, condition);
+    }
+
+    public int reduce(int[] source, int identity, IntBiOperator accumulator) {
+        var result = new Sink() {
+            int value = identity;
+
+            @Override
+            public void accept(int element) {
+                value = accumulator.applyAsInt(value, element);
+            }
+        };
+        run(source, result);
+        return result.value;
+    }
+
+    public int sum(int[] source) {
+        var result = new Sink() {
+            int sum;
+
+            @Override
+            public void accept(int element) {
+                sum += element;
+            }
+        };
+        run(source, result);
+        return result.sum;
+    }
+
+    public long count(int[] source) {
+        var result = new Sink() {
+            long count;
+
+            @Override
+            public void accept(int element) {
+                count++;
+            }
+        };
+        run(source, result);
+        return result.count;
+    }
+
+    /**
+     * Writes the elements that come out of the pipeline to the front of {@code target} and returns
+     * how many were written. {@code target} may be {@code source} itself.
+     *
+     * @throws ArrayIndexOutOfBoundsException if {@code target} is too small
+     */
+    public int into(int[] source, int[] target) {
+        var result = new Sink() {
+            int size;
+
+            @Override
+            public void accept(int element) {
+                target[size++] = element;
+            }
+        };
+        run(source, result);
+        return result.size;
+    }
+
+    public int[] toArray(int[] source) {
+        int[] target = new int[source.length];
+        return Arrays.copyOf(target, into(source, target));
+    }
+
+    private void run(int[] source, Sink terminal) {
+        Sink head = terminal;
+        for (IntPipeline stage = this; stage != IDENTITY; stage = stage.upstream) {
+            head = stage.wrap(head);
+        }
+        for (int value : source) {
+            head.accept(value);
+        }
+    }
+
+    private Sink wrap(Sink downstream) {
+        if (mapper != null) {
+            IntOperator operator = mapper;
+            return value -> downstream.accept(operator.applyAsInt(value));
+        }
+        IntCondition condition = filter;
+        return value -> {
+            if (condition.test(value)) {
+                downstream.accept(value);
+            }
+        };
+    }
+}
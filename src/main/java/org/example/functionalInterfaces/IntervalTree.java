@@ -0,0 +1,139 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A static centered interval tree over closed {@code long} intervals, answering "which intervals
+ * contain this point" in O(log n + k) for k matches.
+ * <p>
+ * Each node holds the intervals that contain its center point, sorted once by start and once by
+ * end. A query left of the center reports intervals from the start-sorted list until one starts
+ * after the point, then descends left; a query right of the center does the same from the end
+ * side and descends right. Intervals entirely left or right of the center live in the subtrees.
+ */
+final class IntervalTree {
+
+    private static final class Node {
+        final long center;
+        final long[] startsAscending;
+        final int[] idsByStart;
+        final long[] endsDescending;
+        final int[] idsByEnd;
+        Node left;
+        Node right;
+
+        Node(long center, long[] startsAscending, int[] idsByStart, long[] endsDescending, int[] idsByEnd) {
+            this.center = center;
+            this.startsAscending = startsAscending;
+            this.idsByStart = idsByStart;
+            this.endsDescending = endsDescending;
+            this.idsByEnd = idsByEnd;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * Builds a tree of the intervals {@code [starts[i], ends[i]]} labelled {@code ids[i]}.
+     */
+    IntervalTree(long[] starts, long[] ends, int[] ids) {
+        this.size = ids.length;
+        this.root = build(starts, ends, ids, ColumnTable.allRows(ids.length));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes the id of every interval containing {@code point} to {@code sink}.
+     */
+    void stab(long point, IntConsumer sink) {
+        Node node = root;
+        while (node != null) {
+            if (point < node.center) {
+                long[] starts = node.startsAscending;
+                for (int i = 0; i < starts.length && starts[i] <= point; i++) {
+                    sink.accept(node.idsByStart[i]);
+                }
+                node = node.left;
+            } else if (point > node.center) {
+                long[] ends = node.endsDescending;
+                for (int i = 0; i < ends.length && ends[i] >= point; i++) {
+                    sink.accept(node.idsByEnd[i]);
+                }
+                node = node.right;
+            } else {
+                for (int id : node.idsByStart) {
+                    sink.accept(id);
+                }
+                return;
+            }
+        }
+    }
+
+    private static Node build(long[] starts, long[] ends, int[] ids, int[] rows) {
+        if (rows.length == 0) {
+            return null;
+        }
+        long center = medianEndpoint(starts, ends, rows);
+        int leftCount = 0;
+        int rightCount = 0;
+        int hereCount = 0;
+        for (int row : rows) {
+            if (ends[row] < center) {
+                leftCount++;
+            } else if (starts[row] > center) {
+                rightCount++;
+            } else {
+                hereCount++;
+            }
+        }
+        int[] left = new int[leftCount];
+        int[] right = new int[rightCount];
+        int[] here = new int[hereCount];
+        leftCount = rightCount = hereCount = 0;
+        for (int row : rows) {
+            if (ends[row] < center) {
+                left[leftCount++] = row;
+            } else if (starts[row] > center) {
+                right[rightCount++] = row;
+            } else {
+                here[hereCount++] = row;
+            }
+        }
+
+        int[] byStart = RadixSort.sort(starts, here);
+        int[] byEnd = RadixSort.sort(ends, here);
+        long[] startsAscending = new long[here.length];
+        int[] idsByStart = new int[here.length];
+        long[] endsDescending = new long[here.length];
+        int[] idsByEnd = new int[here.length];
+        for (int i = 0; i < here.length; i++) {
+            startsAscending[i] = starts[byStart[i]];
+            idsByStart[i] = ids[byStart[i]];
+            int j = here.length - 1 - i;
+            endsDescending[i] = ends[byEnd[j]];
+            idsByEnd[i] = ids[byEnd[j]];
+        }
+        Node node = new Node(center, startsAscending, idsByStart, endsDescending, idsByEnd);
+        node.left = build(starts, ends, ids, left);
+        node.right = build(starts, ends, ids, right);
+        return node;
+    }
+
+    /**
+     * Returns the median of all start and end points of {@code rows}. It is an endpoint of at least
+     * one of the intervals, so every node keeps at least one interval and the recursion terminates.
+     */
+    private static long medianEndpoint(long[] starts, long[] ends, int[] rows) {
+        long[] endpoints = new long[rows.length * 2];
+        for (int i = 0; i < rows.length; i++) {
+            endpoints[2 * i] = starts[rows[i]];
+            endpoints[2 * i + 1] = ends[rows[i]];
+        }
+        int[] order = RadixSort.sort(endpoints, ColumnTable.allRows(endpoints.length));
+        return endpoints[order[rows.length]];
+    }
+}
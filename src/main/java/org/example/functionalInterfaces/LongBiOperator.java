@@ -0,0 +1,24 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A binary operation on two primitive {@code long} operands, the unboxed counterpart of
+ * {@code BinaryOperator<Long>} and {@code BiFunction<Long, Long, Long>}.
+ */
+@FunctionalInterface
+public interface LongBiOperator extends LongBinaryOperator {
+
+    /**
+     * Applies this operator to the given operands.
+     */
+    @Override
+    long applyAsLong(long left, long right);
+
+    /**
+     * Returns an operator that applies this operator and then {@code after} to its result.
+     */
+    default LongBiOperator andThen(LongOperator after) {
+        return (left, right) -> after.applyAsLong(applyAsLong(left, right));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+/**
+ * A column of {@code long} values, filtered the same branch-free way as an {@link IntColumn}.
+ */
+public final class LongColumn implements Column {
+
+    private final long[] values;
+
+    private LongColumn(long[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Wraps {@code values} without copying. Changes to the array are visible through the column.
+     */
+    public static LongColumn wrap(long[] values) {
+        return new LongColumn(values);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    public long get(int row) {
+        return values[row];
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(values);
+    }
+
+    /**
+     * Returns the indices of the rows whose value matches {@code predicate}, in ascending order.
+     */
+    public int[] filter(LongPredicate predicate) {
+        int[] selected = new int[values.length];
+        int n = 0;
+        for (int row = 0; row < values.length; row++) {
+            selected[n] = row;
+            n += predicate.test(values[row]) ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    /**
+     * Returns those of {@code rows} whose value matches {@code predicate}, in their original order.
+     */
+    public int[] filter(LongPredicate predicate, int[] rows) {
+        int[] selected = new int[rows.length];
+        int n = 0;
+        for (int row : rows) {
+            selected[n] = row;
+            n += predicate.test(values[row]) ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    /**
+     * Returns the indices of the rows whose value lies in {@code [min, max]}.
+     */
+    public int[] between(long min, long max) {
+        int[] selected = new int[values.length];
+        int n = 0;
+        for (int row = 0; row < values.length; row++) {
+            long value = values[row];
+            selected[n] = row;
+            n += (value >= min & value <= max) ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    @Override
+    public int[] sortedIndex(int[] rows) {
+        return RadixSort.sort(values, rows);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.LongPredicate;
+
+/**
+ * A boolean test of a primitive {@code long}, the unboxed counterpart of {@code Predicate<Long>}.
+ * Combining conditions, or composing one with a {@link LongOperator}, yields another {@code LongCondition}.
+ */
+@FunctionalInterface
+public interface LongCondition extends LongPredicate {
+
+    /**
+     * Evaluates this condition on the given value.
+     */
+    @Override
+    boolean test(long value);
+
+    /**
+     * Returns a condition that applies {@code before} to the value and then tests the result.
+     */
+    default LongCondition compose(LongOperator before) {
+        return value -> test(before.applyAsLong(value));
+    }
+
+    default LongCondition and(LongCondition other) {
+        return value -> test(value) && other.test(value);
+    }
+
+    default LongCondition or(LongCondition other) {
+        return value -> test(value) || other.test(value);
+    }
+
+    @Override
+    default LongCondition negate() {
+        return value -> !test(value);
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A map from primitive {@code long} keys to values, as produced by the {@link PrimitiveCollectors}
+ * grouping collectors.
+ * <p>
+ * Keys are stored unboxed in an open-addressing table with linear probing, so looking up or
+ * adding a key allocates nothing. Values must not be {@code null}. The map is read-only to callers.
+ *
+ * @param <V> the type of the values
+ */
+public final class LongKeyedMap<V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int shift;
+
+    LongKeyedMap() {
+        this(0);
+    }
+
+    LongKeyedMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return values[indexOf(key)] != null;
+    }
+
+    /**
+     * Returns the value for {@code key}, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[indexOf(key)];
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Returns the keys, in no particular order.
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[n++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies the entries into a {@link HashMap}, boxing the keys.
+     */
+    public Map<Long, V> toMap() {
+        Map<Long, V> map = HashMap.newHashMap(size);
+        forEach(map::put);
+        return map;
+    }
+
+    /**
+     * Returns the entries in ascending key order.
+     */
+    @Override
+    public String toString() {
+        long[] sorted = keys();
+        Arrays.sort(sorted);
+        StringBuilder sb = new StringBuilder("{");
+        for (long key : sorted) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(get(key));
+        }
+        return sb.append('}').toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(long key, Supplier<? extends V> factory) {
+        int i = indexOf(key);
+        Object value = values[i];
+        if (value == null) {
+            value = Objects.requireNonNull(factory.get());
+            insert(i, key, value);
+        }
+        return (V) value;
+    }
+
+    void put(long key, V value) {
+        Objects.requireNonNull(value);
+        int i = indexOf(key);
+        if (values[i] != null) {
+            values[i] = value;
+        } else {
+            insert(i, key, value);
+        }
+    }
+
+    /**
+     * Merges {@code right} into whichever of the two maps is larger, combining the values of shared
+     * keys as {@code combiner(thisValue, rightValue)}, and returns the merged map.
+     */
+    @SuppressWarnings("unchecked")
+    LongKeyedMap<V> merge(LongKeyedMap<V> right, BinaryOperator<V> combiner) {
+        boolean intoThis = size >= right.size;
+        LongKeyedMap<V> target = intoThis ? this : right;
+        LongKeyedMap<V> source = intoThis ? right : this;
+        for (int i = 0; i < source.values.length; i++) {
+            if (source.values[i] == null) {
+                continue;
+            }
+            long key = source.keys[i];
+            V value = (V) source.values[i];
+            int j = target.indexOf(key);
+            V existing = (V) target.values[j];
+            if (existing == null) {
+                target.insert(j, key, value);
+            } else {
+                target.values[j] = intoThis ? combiner.apply(existing, value) : combiner.apply(value, existing);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Replaces every value with {@code function(value)} in place and returns this map, retyped.
+     */
+    @SuppressWarnings("unchecked")
+    <R> LongKeyedMap<R> replaceValues(Function<? super V, ? extends R> function) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                values[i] = Objects.requireNonNull(function.apply((V) values[i]));
+            }
+        }
+        return (LongKeyedMap<R>) this;
+    }
+
+    /**
+     * Returns the slot holding {@code key}, or the empty slot where it would go.
+     */
+    private int indexOf(long key) {
+        int mask = values.length - 1;
+        int i = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insert(int index, long key, Object value) {
+        keys[index] = key;
+        values[index] = value;
+        if (++size * 4L > values.length * 3L) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = indexOf(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        shift = Long.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, expectedSize * 4L / 3 + 1);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many keys: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
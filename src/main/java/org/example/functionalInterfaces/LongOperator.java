@@ -0,0 +1,39 @@
+package org.example.functionalInterfaces;
+
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A unary operation on a primitive {@code long}, the unboxed counterpart of {@code UnaryOperator<Long>}.
+ * Composing with {@link #andThen} or {@link #compose} yields another {@code LongOperator}, so chains
+ * never box their intermediate values.
+ */
+@FunctionalInterface
+public interface LongOperator extends LongUnaryOperator {
+
+    /**
+     * Applies this operator to the given operand.
+     */
+    @Override
+    long applyAsLong(long operand);
+
+    /**
+     * Returns an operator that applies this operator and then {@code after} to its result.
+     */
+    default LongOperator andThen(LongOperator after) {
+        return operand -> after.applyAsLong(applyAsLong(operand));
+    }
+
+    /**
+     * Returns an operator that applies {@code before} and then this operator to its result.
+     */
+    default LongOperator compose(LongOperator before) {
+        return operand -> applyAsLong(before.applyAsLong(operand));
+    }
+
+    /**
+     * Returns an operator that always returns its operand.
+     */
+    static LongOperator identity() {
+        return operand -> operand;
+    }
+}
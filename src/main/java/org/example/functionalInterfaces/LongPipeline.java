@@ -0,0 +1,141 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+
+/**
+ * A reusable map/filter/reduce pipeline over {@code long[]} that never boxes.
+ * <p>
+ * Each {@link #map} or {@link #filter} returns a new pipeline, and adjacent maps or adjacent filters
+ * are fused into a single stage as they are added. A terminal operation links the stages into a
+ * chain of sinks once per call and pushes every element through it, so the per-element work
+ * involves no allocation, unlike a {@code Stream<Long>}.
+ * <pre>{@code
+ * LongPipeline evenSquares = LongPipeline.identity().filter(n -> n % 2 == 0).map(n -> n * n);
+ * long total = evenSquares.sum(values);
+ * }</pre>
+ */
+public final class LongPipeline {
+
+    private interface Sink {
+        void accept(long value);
+    }
+
+    private static final LongPipeline IDENTITY = new LongPipeline(null, null, null);
+
+    private final LongPipeline upstream;
+    private final LongOperator mapper;
+    private final LongCondition filter;
+
+    private LongPipeline(LongPipeline upstream, LongOperator mapper, LongCondition filter) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.filter = filter;
+    }
+
+    /**
+     * Returns the empty pipeline, which passes every element through unchanged.
+     */
+    public static LongPipeline identity() {
+        return IDENTITY;
+    }
+
+    public LongPipeline map(LongOperator operator) {
+        if (mapper != null) {
+            return new LongPipeline(upstream, mapper.andThen(operator), null);
+        }
+        return new LongPipeline(this, operator, null);
+    }
+
+    public LongPipeline filter(LongCondition condition) {
+        if (filter != null) {
+            return new LongPipeline(upstream, null, filter.and(condition));
+        }
+        return new LongPipeline(this, null, condition);
+    }
+
+    public long reduce(long[] source, long identity, LongBiOperator accumulator) {
+        var result = new Sink() {
+            long value = identity;
+
+            @Override
+            public void accept(long element) {
+                value = accumulator.applyAsLong(value, element);
+            }
+        };
+        run(source, result);
+        return result.value;
+    }
+
+    public long sum(long[] source) {
+        var result = new Sink() {
+            long sum;
+
+            @Override
+            public void accept(long element) {
+                sum += element;
+            }
+        };
+        run(source, result);
+        return result.sum;
+    }
+
+    public long count(long[] source) {
+        var result = new Sink() {
+            long count;
+
+            @Override
+            public void accept(long element) {
+                count++;
+            }
+        };
+        run(source, result);
+        return result.count;
+    }
+
+    /**
+     * Writes the elements that come out of the pipeline to the front of {@code target} and returns
+     * how many were written. {@code target} may be {@code source} itself.
+     *
+     * @throws ArrayIndexOutOfBoundsException if {@code target} is too small
+     */
+    public int into(long[] source, long[] target) {
+        var result = new Sink() {
+            int size;
+
+            @Override
+            public void accept(long element) {
+                target[size++] = element;
+            }
+        };
+        run(source, result);
+        return result.size;
+    }
+
+    public long[] toArray(long[] source) {
+        long[] target = new long[source.length];
+        return Arrays.copyOf(target, into(source, target));
+    }
+
+    private void run(long[] source, Sink terminal) {
+        Sink head = terminal;
+        for (LongPipeline stage = this; stage != IDENTITY; stage = stage.upstream) {
+            head = stage.wrap(head);
+        }
+        for (long value : source) {
+            head.accept(value);
+        }
+    }
+
+    private Sink wrap(Sink downstream) {
+        if (mapper != null) {
+            LongOperator operator = mapper;
+            return value -> downstream.accept(operator.applyAsLong(value));
+        }
+        LongCondition condition = filter;
+        return value -> {
+            if (condition.test(value)) {
+                downstream.accept(value);
+            }
+        };
+    }
+}
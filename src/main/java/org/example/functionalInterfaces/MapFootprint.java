@@ -0,0 +1,44 @@
+package org.example.functionalInterfaces;
+
+/**
+ * Estimated heap size of a map's own structure, next to the estimate for a {@link java.util.HashMap}
+ * holding the same entries. Both leave out the values themselves and assume a 64-bit JVM with
+ * compressed references, so the numbers are for comparison rather than exact accounting.
+ */
+public record MapFootprint(long bytes, long hashMapBytes) {
+
+    private static final int ARRAY_HEADER = 16;
+    private static final int HASH_MAP = 48;
+    private static final int HASH_MAP_NODE = 32;
+    private static final int REFERENCE = 4;
+
+    /** How many times smaller this map is than the {@code HashMap}. */
+    public double ratio() {
+        return bytes == 0 ? 0.0 : (double) hashMapBytes / bytes;
+    }
+
+    public long savedBytes() {
+        return hashMapBytes - bytes;
+    }
+
+    static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    static long references(long length) {
+        return array(length, REFERENCE);
+    }
+
+    /**
+     * A {@code HashMap} sized for {@code size} entries: its table, plus one node and one boxed key
+     * of {@code boxedKeyBytes} per entry.
+     */
+    static long hashMap(int size, int boxedKeyBytes) {
+        long capacity = size == 0 ? 0 : Long.highestOneBit(Math.max(1, (long) Math.ceil(size / 0.75) - 1)) << 1;
+        return HASH_MAP + references(capacity) + (long) size * (HASH_MAP_NODE + boxedKeyBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.functionalInterfaces;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The cache behind {@link Memoizer}: lock-striped segments, each an access-ordered map evicting its
+ * least recently used entry, holding futures so that concurrent misses on a key share one load.
+ * Loads run outside the segment lock.
+ */
+final class MemoCache<K, V> {
+
+    private static final class Entry<V> {
+        final CompletableFuture<V> value = new CompletableFuture<>();
+        volatile long loadedAt;
+    }
+
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<K, Entry<V>> entries;
+
+        Segment(int capacity, LongAdder evictions) {
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param maxSize  upper bound on entries, split evenly across the segments (so the cache may
+     *                 hold up to one extra entry per segment), or {@code Integer.MAX_VALUE} for none
+     * @param ttlNanos how long a value stays fresh after it is loaded, or 0 for no expiry
+     */
+    @SuppressWarnings("unchecked")
+    MemoCache(int maxSize, long ttlNanos) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        int stripes = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors() * 4, maxSize));
+        int capacity = maxSize == Integer.MAX_VALUE ? Integer.MAX_VALUE : (maxSize + stripes - 1) / stripes;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[stripes];
+        for (int i = 0; i < stripes; i++) {
+            segments[i] = new Segment<>(capacity, evictions);
+        }
+        this.ttlNanos = ttlNanos;
+    }
+
+    V get(K key, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry;
+        boolean owner = false;
+        segment.lock.lock();
+        try {
+            entry = segment.entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                segment.entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry<>();
+                segment.entries.put(key, entry);
+                owner = true;
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (!owner) {
+            hits.increment();
+            return await(entry.value);
+        }
+        misses.increment();
+        try {
+            V value = loader.apply(key);
+            entry.loadedAt = System.nanoTime();
+            entry.value.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Don't cache failures: the next caller tries again. Catch everything, including checked
+            // exceptions thrown sneakily, so callers waiting on this entry are always released.
+            remove(key, entry);
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.entries.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.entries.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    Memoizer.Stats stats() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new Memoizer.Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size);
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && entry.value.isDone() && System.nanoTime() - entry.loadedAt >= ttlNanos;
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.entries.remove(key, entry);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.functionalInterfaces;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caching decorators for {@link Function}, {@link BiFunction} and {@link Supplier}.
+ * <p>
+ * The memoized forms are safe to call from many threads. Concurrent calls with the same arguments
+ * share a single computation: the first caller runs the underlying function, and the rest wait for
+ * its result. If the function throws, nothing is cached and every waiting caller sees the exception.
+ * A bounded cache evicts the least recently used entries once it is full, and a TTL makes values
+ * expire a fixed time after they were computed.
+ */
+public final class Memoizer {
+
+    /**
+     * A snapshot of a memoized function's counters. Expired entries count as misses when looked up.
+     */
+    public record Stats(long hits, long misses, long evictions, long expirations, long size) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    public interface MemoizedFunction<T, R> extends Function<T, R> {
+        Stats stats();
+
+        void invalidate(T input);
+
+        void invalidateAll();
+    }
+
+    public interface MemoizedBiFunction<T, U, R> extends BiFunction<T, U, R> {
+        Stats stats();
+
+        void invalidate(T first, U second);
+
+        void invalidateAll();
+    }
+
+    public interface MemoizedSupplier<T> extends Supplier<T> {
+        Stats stats();
+
+        void invalidate();
+    }
+
+    private record Arguments(Object first, Object second) {
+    }
+
+    private static final Object VALUE = new Object();
+
+    private Memoizer() {
+    }
+
+    /**
+     * Memoizes {@code function} without bounds: every distinct input stays cached until invalidated.
+     */
+    public static <T, R> MemoizedFunction<T, R> memoize(Function<? super T, ? extends R> function) {
+        return memoize(function, Integer.MAX_VALUE, Duration.ZERO);
+    }
+
+    /**
+     * Memoizes {@code function}, keeping roughly {@code maxSize} entries, each for at most {@code ttl}
+     * ({@link Duration#ZERO} for no expiry).
+     */
+    public static <T, R> MemoizedFunction<T, R> memoize(Function<? super T, ? extends R> function,
+                                                        int maxSize, Duration ttl) {
+        Objects.requireNonNull(function);
+        MemoCache<T, R> cache = new MemoCache<>(maxSize, ttlNanos(ttl));
+        return new MemoizedFunction<>() {
+            @Override
+            public R apply(T input) {
+                return cache.get(input, function);
+            }
+
+            @Override
+            public Stats stats() {
+                return cache.stats();
+            }
+
+            @Override
+            public void invalidate(T input) {
+                cache.invalidate(input);
+            }
+
+            @Override
+            public void invalidateAll() {
+                cache.invalidateAll();
+            }
+        };
+    }
+
+    public static <T, U, R> MemoizedBiFunction<T, U, R> memoize(BiFunction<? super T, ? super U, ? extends R> function) {
+        return memoize(function, Integer.MAX_VALUE, Duration.ZERO);
+    }
+
+    /**
+     * Memoizes {@code function} on the pair of its arguments, compared with {@code equals}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, R> MemoizedBiFunction<T, U, R> memoize(BiFunction<? super T, ? super U, ? extends R> function,
+                                                                int maxSize, Duration ttl) {
+        Objects.requireNonNull(function);
+        MemoCache<Arguments, R> cache = new MemoCache<>(maxSize, ttlNanos(ttl));
+        Function<Arguments, R> loader = arguments -> function.apply((T) arguments.first(), (U) arguments.second());
+        return new MemoizedBiFunction<>() {
+            @Override
+            public R apply(T first, U second) {
+                return cache.get(new Arguments(first, second), loader);
+            }
+
+            @Override
+            public Stats stats() {
+                return cache.stats();
+            }
+
+            @Override
+            public void invalidate(T first, U second) {
+                cache.invalidate(new Arguments(first, second));
+            }
+
+            @Override
+            public void invalidateAll() {
+                cache.invalidateAll();
+            }
+        };
+    }
+
+    /**
+     * Memoizes {@code supplier}: it runs once, on the first call, and the result is kept until invalidated.
+     */
+    public static <T> MemoizedSupplier<T> memoize(Supplier<? extends T> supplier) {
+        return memoize(supplier, Duration.ZERO);
+    }
+
+    /**
+     * Memoizes {@code supplier}, computing a new value on the first call after {@code ttl} has passed.
+     */
+    public static <T> MemoizedSupplier<T> memoize(Supplier<? extends T> supplier, Duration ttl) {
+        Objects.requireNonNull(supplier);
+        MemoCache<Object, T> cache = new MemoCache<>(1, ttlNanos(ttl));
+        Function<Object, T> loader = ignored -> supplier.get();
+        return new MemoizedSupplier<>() {
+            @Override
+            public T get() {
+                return cache.get(VALUE, loader);
+            }
+
+            @Override
+            public Stats stats() {
+                return cache.stats();
+            }
+
+            @Override
+            public void invalidate() {
+                cache.invalidate(VALUE);
+            }
+        };
+    }
+
+    private static long ttlNanos(Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative: " + ttl);
+        }
+        return ttl.toNanos();
+    }
+}
@@ -0,0 +1,337 @@
+package org.example.functionalInterfaces;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Runs the tasks of a pipeline on virtual threads, and makes sure none of them outlives the
+ * block that started them.
+ * <p>
+ * Every task forked in a scope, directly or through a {@link Stage}, runs on its own virtual
+ * thread, so blocking work never occupies the common {@code ForkJoinPool} that parallel streams
+ * use. {@link #join()} waits for all of them. If one fails, or the scope's deadline passes, the
+ * rest are cancelled: their futures complete exceptionally and their threads are interrupted.
+ * {@link #close()} cancels whatever is still running and waits for it to stop.
+ * <pre>{@code
+ * try (PipelineScope scope = PipelineScope.open(Duration.ofSeconds(5))) {
+ *     PipelineScope.Stage<Path, String> read = scope.stage(8, Files::readString);
+ *     CompletableFuture<List<String>> contents = read.submitAll(paths);
+ *     scope.join();
+ *     return contents.join();
+ * }
+ * }</pre>
+ * Dependent actions added with the non-async {@code then...} methods run on the thread that completes
+ * the future, which is one of the scope's. To run them as separate tasks, pass {@link #executor()}
+ * to the {@code ...Async} variants.
+ */
+public final class PipelineScope implements AutoCloseable {
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pipeline-", 0).factory());
+    private final Set<CompletableFuture<?>> running = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition idle = lock.newCondition();
+    private int pending; // guarded by lock
+    private boolean closed; // guarded by lock
+    private boolean stopped; // guarded by lock; set once a cancellation has reached every running task
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile Throwable cancellation;
+    private final long deadline; // System.nanoTime() based, meaningful only with a watcher
+    private final Thread deadlineWatcher;
+
+    private PipelineScope(Duration timeout) {
+        if (timeout == null) {
+            deadline = 0;
+            deadlineWatcher = null;
+        } else {
+            deadline = System.nanoTime() + timeout.toNanos();
+            deadlineWatcher = Thread.ofVirtual().name("pipeline-deadline").start(() -> {
+                try {
+                    Thread.sleep(timeout);
+                    if (pending() > 0) {
+                        cancel(new TimeoutException("Pipeline deadline of " + timeout + " passed"));
+                    }
+                } catch (InterruptedException e) {
+                    // Scope closed first.
+                }
+            });
+        }
+    }
+
+    public static PipelineScope open() {
+        return new PipelineScope(null);
+    }
+
+    /**
+     * Opens a scope whose tasks are cancelled, with a {@link TimeoutException}, once {@code timeout} has passed.
+     */
+    public static PipelineScope open(Duration timeout) {
+        return new PipelineScope(timeout);
+    }
+
+    /**
+     * Runs {@code task} on a new virtual thread. Cancelling the returned future interrupts the task.
+     */
+    public <T> CompletableFuture<T> fork(Callable<? extends T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Pipeline scope is closed");
+            }
+            pending++;
+        } finally {
+            lock.unlock();
+        }
+        running.add(result);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        result.whenComplete((value, e) -> {
+            // Completed from outside while running: cancelled, failed sibling, or deadline.
+            Thread thread = runner.getAndSet(null);
+            if (thread != null) {
+                thread.interrupt();
+            }
+        });
+        if (cancellation != null) {
+            result.completeExceptionally(cancellation);
+        }
+        executor.execute(() -> execute(task, result, runner));
+        return result;
+    }
+
+    /**
+     * Returns an executor that forks each command into this scope.
+     */
+    public Executor executor() {
+        return command -> fork(() -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Creates a stage that applies {@code function} with at most {@code maxConcurrency} calls in flight.
+     */
+    public <I, O> Stage<I, O> stage(int maxConcurrency, Function<? super I, ? extends O> function) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        return new Stage<>(maxConcurrency, function);
+    }
+
+    /**
+     * Waits until every task has completed, or until the deadline.
+     *
+     * @throws ExecutionException    if a task failed; the cause is the first failure
+     * @throws TimeoutException      if the deadline passed first; remaining tasks have been cancelled
+     * @throws CancellationException if the scope was cancelled with {@link #cancel()}
+     */
+    public void join() throws InterruptedException, ExecutionException, TimeoutException {
+        lock.lock();
+        try {
+            while (pending > 0 && !stopped) {
+                if (deadlineWatcher == null) {
+                    idle.await();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    idle.awaitNanos(remaining);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        Throwable failed = failure.get();
+        if (failed != null) {
+            throw new ExecutionException(failed);
+        }
+        if (cancellation == null && pending() > 0) {
+            cancel(new TimeoutException("Pipeline deadline passed"));
+        }
+        if (cancellation instanceof TimeoutException timeout) {
+            throw timeout;
+        }
+        if (cancellation != null) {
+            throw (CancellationException) new CancellationException("Pipeline cancelled").initCause(cancellation);
+        }
+    }
+
+    /**
+     * Cancels every running or waiting task.
+     */
+    public void cancel() {
+        cancel(new CancellationException("Pipeline cancelled"));
+    }
+
+    /**
+     * Cancels whatever is still running and waits for all task threads to finish.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        if (pending() > 0) {
+            cancel();
+        }
+        if (deadlineWatcher != null) {
+            deadlineWatcher.interrupt();
+        }
+        executor.close();
+    }
+
+    private <T> void execute(Callable<? extends T> task, CompletableFuture<T> result, AtomicReference<Thread> runner) {
+        Thread current = Thread.currentThread();
+        try {
+            runner.set(current);
+            if (result.isDone()) {
+                return; // Cancelled before it started.
+            }
+            T value;
+            try {
+                value = task.call();
+            } catch (Throwable e) {
+                if (runner.compareAndSet(current, null)) {
+                    result.completeExceptionally(e);
+                    fail(e);
+                }
+                return;
+            }
+            if (runner.compareAndSet(current, null)) {
+                result.complete(value);
+            }
+        } finally {
+            running.remove(result);
+            lock.lock();
+            try {
+                if (--pending == 0) {
+                    idle.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void fail(Throwable e) {
+        if (cancellation == null && failure.compareAndSet(null, e)) {
+            cancel(new CancellationException("A sibling task failed: " + e));
+        }
+    }
+
+    private void cancel(Throwable cause) {
+        lock.lock();
+        try {
+            if (cancellation != null) {
+                return;
+            }
+            cancellation = cause;
+        } finally {
+            lock.unlock();
+        }
+        for (CompletableFuture<?> future : running) {
+            future.completeExceptionally(cause);
+        }
+        lock.lock();
+        try {
+            stopped = true;
+            idle.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int pending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A step of a pipeline with its own concurrency limit. Calls beyond the limit wait, on their own
+     * virtual threads, for a permit.
+     */
+    public final class Stage<I, O> {
+
+        private final Semaphore permits;
+        private final Function<? super I, ? extends O> function;
+
+        private Stage(int maxConcurrency, Function<? super I, ? extends O> function) {
+            this.permits = new Semaphore(maxConcurrency);
+            this.function = function;
+        }
+
+        public CompletableFuture<O> submit(I input) {
+            return fork(() -> {
+                permits.acquire();
+                try {
+                    return function.apply(input);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        /**
+         * Applies this stage to the result of an earlier one once it is available. A failure or
+         * cancellation upstream propagates without running this stage.
+         */
+        public CompletableFuture<O> submitAfter(CompletionStage<? extends I> input) {
+            return input.toCompletableFuture().thenCompose(this::submit);
+        }
+
+        /**
+         * Fans out over {@code inputs} and fans the results back in, in input order. {@code inputs}
+         * is consumed no faster than the stage's limit allows, so a lazy source such as a
+         * {@code Stream.iterator()} or a file reader is never read far ahead of the work.
+         */
+        public CompletableFuture<List<O>> submitAll(Iterable<? extends I> inputs) {
+            return fork(() -> {
+                List<CompletableFuture<O>> parts = new ArrayList<>();
+                for (I input : inputs) {
+                    permits.acquire();
+                    CompletableFuture<O> part;
+                    try {
+                        part = fork(() -> function.apply(input));
+                    } catch (RuntimeException e) {
+                        permits.release();
+                        throw e;
+                    }
+                    // Released on completion, so a part cancelled before it starts still returns its permit.
+                    part.whenComplete((value, e) -> permits.release());
+                    parts.add(part);
+                }
+                List<O> results = new ArrayList<>(parts.size());
+                for (CompletableFuture<O> part : parts) {
+                    results.add(part.get());
+                }
+                return results;
+            });
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package org.example.functionalInterfaces;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A registry of many predicates over records of type {@code T} that finds all the predicates a
+ * record satisfies without testing them one by one.
+ * <p>
+ * A lambda is opaque, so the shapes that can be indexed are built from fields declared on the
+ * index: {@code id.greaterThan(2)}, {@code name.startsWith("C")} or {@code name.length().greaterThan(3)}.
+ * Each returns an ordinary {@link Predicate}, and {@link #register} recognizes it. Numeric ranges
+ * go into an interval tree per field, equalities into a hash table per field, and string prefixes
+ * into a trie per field, so a record is matched with one lookup per field rather than one test per
+ * predicate. Any other predicate, including one combined with {@code and} or {@code negate}, is
+ * tested linearly.
+ * <p>
+ * The indexes are rebuilt on the first {@link #match} after a registration change, so register in
+ * bulk and then match many records. Matching is thread-safe and can run alongside registration.
+ *
+ * @param <T> the type of the records
+ */
+public final class PredicateIndex<T> {
+
+    private final Map<Integer, Predicate<? super T>> predicates = new LinkedHashMap<>(); // guarded by this
+    private int nextId; // guarded by this
+    private volatile Compiled<T> compiled;
+
+    private PredicateIndex() {
+    }
+
+    public static <T> PredicateIndex<T> create() {
+        return new PredicateIndex<>();
+    }
+
+    /**
+     * Declares a numeric field of the records that range and equality predicates can be indexed on.
+     */
+    public LongField<T> longField(String name, ToLongFunction<? super T> extractor) {
+        return new LongField<>(name, extractor);
+    }
+
+    /**
+     * Declares a string field of the records that prefix, equality and length predicates can be
+     * indexed on. A record whose field is {@code null} matches none of them.
+     */
+    public StringField<T> stringField(String name, Function<? super T, String> extractor) {
+        return new StringField<>(name, extractor);
+    }
+
+    /**
+     * Adds {@code predicate} and returns the id that {@link #match} reports it by.
+     */
+    public synchronized int register(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        int id = nextId++;
+        predicates.put(id, predicate);
+        compiled = null;
+        return id;
+    }
+
+    public synchronized boolean unregister(int id) {
+        if (predicates.remove(id) == null) {
+            return false;
+        }
+        compiled = null;
+        return true;
+    }
+
+    public synchronized Predicate<? super T> predicate(int id) {
+        return predicates.get(id);
+    }
+
+    public synchronized int size() {
+        return predicates.size();
+    }
+
+    /**
+     * Returns the ids of the predicates {@code record} satisfies, in ascending order.
+     */
+    public int[] match(T record) {
+        IdList ids = new IdList();
+        match(record, ids::add);
+        int[] result = ids.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Passes the id of every predicate {@code record} satisfies to {@code sink}, in no particular order.
+     */
+    public void match(T record, IntConsumer sink) {
+        Compiled<T> current = compiled;
+        if (current == null) {
+            current = compile();
+        }
+        current.match(record, sink);
+    }
+
+    private synchronized Compiled<T> compile() {
+        if (compiled == null) {
+            compiled = new Compiled<>(predicates);
+        }
+        return compiled;
+    }
+
+    /**
+     * A numeric field of the records, as declared by {@link #longField}.
+     */
+    public static final class LongField<T> {
+
+        private final String name;
+        private final ToLongFunction<? super T> extractor;
+
+        private LongField(String name, ToLongFunction<? super T> extractor) {
+            this.name = name;
+            this.extractor = extractor;
+        }
+
+        public Predicate<T> equalTo(long value) {
+            return new LongEquals<>(this, value);
+        }
+
+        public Predicate<T> greaterThan(long value) {
+            if (value == Long.MAX_VALUE) {
+                throw new IllegalArgumentException("Nothing is greater than " + value);
+            }
+            return between(value + 1, Long.MAX_VALUE);
+        }
+
+        public Predicate<T> atLeast(long value) {
+            return between(value, Long.MAX_VALUE);
+        }
+
+        public Predicate<T> lessThan(long value) {
+            if (value == Long.MIN_VALUE) {
+                throw new IllegalArgumentException("Nothing is less than " + value);
+            }
+            return between(Long.MIN_VALUE, value - 1);
+        }
+
+        public Predicate<T> atMost(long value) {
+            return between(Long.MIN_VALUE, value);
+        }
+
+        /**
+         * Tests for values from {@code from} to {@code to}, both inclusive.
+         */
+        public Predicate<T> between(long from, long to) {
+            if (from > to) {
+                throw new IllegalArgumentException("from > to: " + from + " > " + to);
+            }
+            return new LongRange<>(this, from, to);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A string field of the records, as declared by {@link #stringField}.
+     */
+    public static final class StringField<T> {
+
+        private final String name;
+        private final Function<? super T, String> extractor;
+        private LongField<T> length;
+
+        private StringField(String name, Function<? super T, String> extractor) {
+            this.name = name;
+            this.extractor = extractor;
+        }
+
+        public Predicate<T> equalTo(String value) {
+            return new StringEquals<>(this, Objects.requireNonNull(value));
+        }
+
+        public Predicate<T> startsWith(String prefix) {
+            return new StringPrefix<>(this, Objects.requireNonNull(prefix));
+        }
+
+        /**
+         * Returns the length of this field as a numeric field, so that length tests are indexed as
+         * ranges. A {@code null} string has length -1.
+         */
+        public synchronized LongField<T> length() {
+            if (length == null) {
+                length = new LongField<>(name + ".length()", record -> {
+                    String value = extractor.apply(record);
+                    return value == null ? -1 : value.length();
+                });
+            }
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private record LongEquals<T>(LongField<T> field, long value) implements Predicate<T> {
+        @Override
+        public boolean test(T record) {
+            return field.extractor.applyAsLong(record) == value;
+        }
+
+        @Override
+        public String toString() {
+            return field + " == " + value;
+        }
+    }
+
+    private record LongRange<T>(LongField<T> field, long from, long to) implements Predicate<T> {
+        @Override
+        public boolean test(T record) {
+            long value = field.extractor.applyAsLong(record);
+            return value >= from && value <= to;
+        }
+
+        @Override
+        public String toString() {
+            if (to == Long.MAX_VALUE) {
+                return field + " >= " + from;
+            }
+            if (from == Long.MIN_VALUE) {
+                return field + " <= " + to;
+            }
+            return from + " <= " + field + " <= " + to;
+        }
+    }
+
+    private record StringEquals<T>(StringField<T> field, String value) implements Predicate<T> {
+        @Override
+        public boolean test(T record) {
+            return value.equals(field.extractor.apply(record));
+        }
+
+        @Override
+        public String toString() {
+            return field + " == \"" + value + '"';
+        }
+    }
+
+    private record StringPrefix<T>(StringField<T> field, String prefix) implements Predicate<T> {
+        @Override
+        public boolean test(T record) {
+            String value = field.extractor.apply(record);
+            return value != null && value.startsWith(prefix);
+        }
+
+        @Override
+        public String toString() {
+            return field + ".startsWith(\"" + prefix + "\")";
+        }
+    }
+
+    /**
+     * The indexes built from one set of registered predicates.
+     */
+    private static final class Compiled<T> {
+
+        private final List<LongIndex<T>> longIndexes = new ArrayList<>();
+        private final List<StringIndex<T>> stringIndexes = new ArrayList<>();
+        private final int[] opaqueIds;
+        private final Predicate<? super T>[] opaque;
+
+        @SuppressWarnings("unchecked")
+        Compiled(Map<Integer, Predicate<? super T>> predicates) {
+            Map<LongField<?>, LongIndex.Draft> longDrafts = new LinkedHashMap<>();
+            Map<StringField<?>, StringIndex.Draft> stringDrafts = new LinkedHashMap<>();
+            List<Predicate<? super T>> opaque = new ArrayList<>();
+            IdList opaqueIds = new IdList();
+            predicates.forEach((id, predicate) -> {
+                switch (predicate) {
+                    case LongEquals<?> p -> longDrafts.computeIfAbsent(p.field(), f -> new LongIndex.Draft()).equal(p.value(), id);
+                    case LongRange<?> p -> longDrafts.computeIfAbsent(p.field(), f -> new LongIndex.Draft()).range(p.from(), p.to(), id);
+                    case StringEquals<?> p -> stringDrafts.computeIfAbsent(p.field(), f -> new StringIndex.Draft()).equal(p.value(), id);
+                    case StringPrefix<?> p -> stringDrafts.computeIfAbsent(p.field(), f -> new StringIndex.Draft()).prefix(p.prefix(), id);
+                    default -> {
+                        opaque.add(predicate);
+                        opaqueIds.add(id);
+                    }
+                }
+            });
+            longDrafts.forEach((field, draft) -> longIndexes.add(new LongIndex<>((LongField<T>) field, draft)));
+            stringDrafts.forEach((field, draft) -> stringIndexes.add(new StringIndex<>((StringField<T>) field, draft)));
+            this.opaque = (Predicate<? super T>[]) opaque.toArray(new Predicate<?>[0]);
+            this.opaqueIds = opaqueIds.toArray();
+        }
+
+        void match(T record, IntConsumer sink) {
+            for (LongIndex<T> index : longIndexes) {
+                index.match(record, sink);
+            }
+            for (StringIndex<T> index : stringIndexes) {
+                index.match(record, sink);
+            }
+            for (int i = 0; i < opaque.length; i++) {
+                if (opaque[i].test(record)) {
+                    sink.accept(opaqueIds[i]);
+                }
+            }
+        }
+    }
+
+    private static final class LongIndex<T> {
+
+        private final ToLongFunction<? super T> extractor;
+        private final LongKeyedMap<int[]> equal;
+        private final IntervalTree ranges;
+
+        LongIndex(LongField<T> field, Draft draft) {
+            this.extractor = field.extractor;
+            this.equal = new LongKeyedMap<>(draft.equal.size());
+            draft.equal.forEach((value, ids) -> equal.put(value, ids.toArray()));
+            this.ranges = new IntervalTree(draft.froms.toArray(), draft.tos.toArray(), draft.rangeIds.toArray());
+        }
+
+        void match(T record, IntConsumer sink) {
+            long value = extractor.applyAsLong(record);
+            int[] ids = equal.get(value);
+            if (ids != null) {
+                for (int id : ids) {
+                    sink.accept(id);
+                }
+            }
+            ranges.stab(value, sink);
+        }
+
+        static final class Draft {
+            final Map<Long, IdList> equal = new HashMap<>();
+            final LongList froms = new LongList();
+            final LongList tos = new LongList();
+            final IdList rangeIds = new IdList();
+
+            void equal(long value, int id) {
+                equal.computeIfAbsent(value, v -> new IdList()).add(id);
+            }
+
+            void range(long from, long to, int id) {
+                froms.add(from);
+                tos.add(to);
+                rangeIds.add(id);
+            }
+        }
+    }
+
+    private static final class StringIndex<T> {
+
+        private final Function<? super T, String> extractor;
+        private final Map<String, int[]> equal;
+        private final PrefixTrie prefixes;
+
+        StringIndex(StringField<T> field, Draft draft) {
+            this.extractor = field.extractor;
+            this.equal = HashMap.newHashMap(draft.equal.size());
+            draft.equal.forEach((value, ids) -> equal.put(value, ids.toArray()));
+            this.prefixes = new PrefixTrie(draft.prefixes.toArray(new String[0]), draft.prefixIds.toArray());
+        }
+
+        void match(T record, IntConsumer sink) {
+            String value = extractor.apply(record);
+            if (value == null) {
+                return;
+            }
+            int[] ids = equal.get(value);
+            if (ids != null) {
+                for (int id : ids) {
+                    sink.accept(id);
+                }
+            }
+            prefixes.prefixesOf(value, sink);
+        }
+
+        static final class Draft {
+            final Map<String, IdList> equal = new HashMap<>();
+            final List<String> prefixes = new ArrayList<>();
+            final IdList prefixIds = new IdList();
+
+            void equal(String value, int id) {
+                equal.computeIfAbsent(value, v -> new IdList()).add(id);
+            }
+
+            void prefix(String prefix, int id) {
+                prefixes.add(prefix);
+                prefixIds.add(id);
+            }
+        }
+    }
+
+    private static final class IdList {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * A static character trie that finds every registered prefix of a string in one pass over the
+ * string, however many prefixes are registered. Children are kept in sorted {@code char[]} labels
+ * with a parallel array of nodes, and found by binary search.
+ */
+final class PrefixTrie {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private static final class Node {
+        char[] labels;
+        Node[] children;
+        int[] ids;
+    }
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * Builds a trie in which {@code prefixes[i]} is labelled {@code ids[i]}.
+     */
+    PrefixTrie(String[] prefixes, int[] ids) {
+        this.size = ids.length;
+        Draft draft = new Draft();
+        for (int i = 0; i < prefixes.length; i++) {
+            Draft node = draft;
+            String prefix = prefixes[i];
+            for (int c = 0; c < prefix.length(); c++) {
+                node = node.children.computeIfAbsent(prefix.charAt(c), k -> new Draft());
+            }
+            node.add(ids[i]);
+        }
+        this.root = draft.freeze();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes the id of every registered prefix of {@code value}, including the empty prefix, to {@code sink}.
+     */
+    void prefixesOf(CharSequence value, IntConsumer sink) {
+        Node node = root;
+        for (int c = 0; ; c++) {
+            for (int id : node.ids) {
+                sink.accept(id);
+            }
+            if (c == value.length()) {
+                return;
+            }
+            int child = Arrays.binarySearch(node.labels, value.charAt(c));
+            if (child < 0) {
+                return;
+            }
+            node = node.children[child];
+        }
+    }
+
+    private static final class Draft {
+        final Map<Character, Draft> children = new TreeMap<>();
+        int[] ids = NO_IDS;
+        int count;
+
+        void add(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, count * 2));
+            }
+            ids[count++] = id;
+        }
+
+        Node freeze() {
+            Node node = new Node();
+            node.ids = count == ids.length ? ids : Arrays.copyOf(ids, count);
+            node.labels = new char[children.size()];
+            node.children = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Draft> child : children.entrySet()) {
+                node.labels[i] = child.getKey();
+                node.children[i++] = child.getValue().freeze();
+            }
+            return node;
+        }
+    }
+}
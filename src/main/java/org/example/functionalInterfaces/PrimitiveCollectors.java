@@ -0,0 +1,218 @@
+package org.example.functionalInterfaces;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Grouping collectors keyed by primitive {@code int}, {@code char} and {@code long} values.
+ * <p>
+ * They work like {@link Collectors#groupingBy}, but collect into an {@link IntKeyedMap} or a
+ * {@link LongKeyedMap}, so no key is ever boxed. The plain collectors give each parallel split its
+ * own map and merge the maps afterwards. The {@code Concurrent} variants collect every element of
+ * a parallel stream into one container split into lock-striped sub-maps, so no merge step is
+ * needed. They suit high-cardinality keys. With only a handful of distinct keys, every thread
+ * contends for the same few stripes.
+ */
+public final class PrimitiveCollectors {
+
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 8 - 1) << 1;
+
+    private PrimitiveCollectors() {
+    }
+
+    public static <T> Collector<T, ?, IntKeyedMap<List<T>>> groupingByInt(ToIntFunction<? super T> classifier) {
+        return groupingByInt(classifier, Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, A, D> Collector<T, ?, IntKeyedMap<D>> groupingByInt(ToIntFunction<? super T> classifier,
+                                                                         Collector<? super T, A, D> downstream) {
+        Supplier<A> container = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        BinaryOperator<A> combiner = downstream.combiner();
+        BiConsumer<IntKeyedMap<A>, T> accumulate =
+                (map, element) -> accumulator.accept(map.computeIfAbsent(classifier.applyAsInt(element), container), element);
+        BinaryOperator<IntKeyedMap<A>> merge = (left, right) -> left.merge(right, combiner);
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return (Collector<T, ?, IntKeyedMap<D>>) (Collector<T, ?, ?>) Collector.of(IntKeyedMap<A>::new, accumulate, merge,
+                    Collector.Characteristics.IDENTITY_FINISH);
+        }
+        Function<A, D> finisher = downstream.finisher();
+        return Collector.of(IntKeyedMap<A>::new, accumulate, merge, map -> map.replaceValues(finisher));
+    }
+
+    public static <T> Collector<T, ?, IntKeyedMap<List<T>>> groupingByChar(ToCharFunction<? super T> classifier) {
+        return groupingByChar(classifier, Collectors.toList());
+    }
+
+    /**
+     * Groups by a {@code char} key. The result is keyed by the char's code, so {@code get('A')} works as expected.
+     */
+    public static <T, A, D> Collector<T, ?, IntKeyedMap<D>> groupingByChar(ToCharFunction<? super T> classifier,
+                                                                          Collector<? super T, A, D> downstream) {
+        return groupingByInt(classifier::applyAsChar, downstream);
+    }
+
+    public static <T> Collector<T, ?, LongKeyedMap<List<T>>> groupingByLong(ToLongFunction<? super T> classifier) {
+        return groupingByLong(classifier, Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, A, D> Collector<T, ?, LongKeyedMap<D>> groupingByLong(ToLongFunction<? super T> classifier,
+                                                                           Collector<? super T, A, D> downstream) {
+        Supplier<A> container = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        BinaryOperator<A> combiner = downstream.combiner();
+        BiConsumer<LongKeyedMap<A>, T> accumulate =
+                (map, element) -> accumulator.accept(map.computeIfAbsent(classifier.applyAsLong(element), container), element);
+        BinaryOperator<LongKeyedMap<A>> merge = (left, right) -> left.merge(right, combiner);
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return (Collector<T, ?, LongKeyedMap<D>>) (Collector<T, ?, ?>) Collector.of(LongKeyedMap<A>::new, accumulate, merge,
+                    Collector.Characteristics.IDENTITY_FINISH);
+        }
+        Function<A, D> finisher = downstream.finisher();
+        return Collector.of(LongKeyedMap<A>::new, accumulate, merge, map -> map.replaceValues(finisher));
+    }
+
+    public static <T> Collector<T, ?, IntKeyedMap<List<T>>> groupingByIntConcurrent(ToIntFunction<? super T> classifier) {
+        return groupingByIntConcurrent(classifier, Collectors.toList());
+    }
+
+    /**
+     * A concurrent, unordered {@link #groupingByInt}. Elements of a group are accumulated in the
+     * order they arrive, which for a parallel stream is not encounter order.
+     */
+    public static <T, A, D> Collector<T, ?, IntKeyedMap<D>> groupingByIntConcurrent(ToIntFunction<? super T> classifier,
+                                                                                   Collector<? super T, A, D> downstream) {
+        Supplier<A> container = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        return Collector.of(IntStripes<A>::new,
+                (stripes, element) -> {
+                    int key = classifier.applyAsInt(element);
+                    IntKeyedMap<A> stripe = stripes.stripe(key);
+                    synchronized (stripe) {
+                        accumulator.accept(stripe.computeIfAbsent(key, container), element);
+                    }
+                },
+                (left, right) -> left.merge(right, downstream.combiner()),
+                stripes -> stripes.finish(downstream.finisher()),
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    public static <T> Collector<T, ?, IntKeyedMap<List<T>>> groupingByCharConcurrent(ToCharFunction<? super T> classifier) {
+        return groupingByCharConcurrent(classifier, Collectors.toList());
+    }
+
+    public static <T, A, D> Collector<T, ?, IntKeyedMap<D>> groupingByCharConcurrent(ToCharFunction<? super T> classifier,
+                                                                                    Collector<? super T, A, D> downstream) {
+        return groupingByIntConcurrent(classifier::applyAsChar, downstream);
+    }
+
+    public static <T> Collector<T, ?, LongKeyedMap<List<T>>> groupingByLongConcurrent(ToLongFunction<? super T> classifier) {
+        return groupingByLongConcurrent(classifier, Collectors.toList());
+    }
+
+    public static <T, A, D> Collector<T, ?, LongKeyedMap<D>> groupingByLongConcurrent(ToLongFunction<? super T> classifier,
+                                                                                     Collector<? super T, A, D> downstream) {
+        Supplier<A> container = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        return Collector.of(LongStripes<A>::new,
+                (stripes, element) -> {
+                    long key = classifier.applyAsLong(element);
+                    LongKeyedMap<A> stripe = stripes.stripe(key);
+                    synchronized (stripe) {
+                        accumulator.accept(stripe.computeIfAbsent(key, container), element);
+                    }
+                },
+                (left, right) -> left.merge(right, downstream.combiner()),
+                stripes -> stripes.finish(downstream.finisher()),
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * The shared container of a concurrent int grouping. Each key lives in exactly one stripe,
+     * chosen by a hash independent of the one the stripe's table probes with.
+     */
+    private static final class IntStripes<A> {
+        private final IntKeyedMap<A>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        IntStripes() {
+            stripes = (IntKeyedMap<A>[]) new IntKeyedMap<?>[STRIPES];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new IntKeyedMap<>();
+            }
+        }
+
+        IntKeyedMap<A> stripe(int key) {
+            int h = key;
+            h = (h ^ (h >>> 16)) * 0x85EBCA6B;
+            h = (h ^ (h >>> 13)) * 0xC2B2AE35;
+            return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+        }
+
+        IntStripes<A> merge(IntStripes<A> other, BinaryOperator<A> combiner) {
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = stripes[i].merge(other.stripes[i], combiner);
+            }
+            return this;
+        }
+
+        <D> IntKeyedMap<D> finish(Function<A, D> finisher) {
+            int size = 0;
+            for (IntKeyedMap<A> stripe : stripes) {
+                size += stripe.size();
+            }
+            IntKeyedMap<D> result = new IntKeyedMap<>(size);
+            for (IntKeyedMap<A> stripe : stripes) {
+                stripe.forEach((key, container) -> result.put(key, finisher.apply(container)));
+            }
+            return result;
+        }
+    }
+
+    private static final class LongStripes<A> {
+        private final LongKeyedMap<A>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        LongStripes() {
+            stripes = (LongKeyedMap<A>[]) new LongKeyedMap<?>[STRIPES];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new LongKeyedMap<>();
+            }
+        }
+
+        LongKeyedMap<A> stripe(long key) {
+            long h = key;
+            h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+            h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return stripes[(int) (h ^ (h >>> 33)) & (stripes.length - 1)];
+        }
+
+        LongStripes<A> merge(LongStripes<A> other, BinaryOperator<A> combiner) {
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = stripes[i].merge(other.stripes[i], combiner);
+            }
+            return this;
+        }
+
+        <D> LongKeyedMap<D> finish(Function<A, D> finisher) {
+            int size = 0;
+            for (LongKeyedMap<A> stripe : stripes) {
+                size += stripe.size();
+            }
+            LongKeyedMap<D> result = new LongKeyedMap<>(size);
+            for (LongKeyedMap<A> stripe : stripes) {
+                stripe.forEach((key, container) -> result.put(key, finisher.apply(container)));
+            }
+            return result;
+        }
+    }
+}
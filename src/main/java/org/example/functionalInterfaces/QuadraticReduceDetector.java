@@ -0,0 +1,178 @@
+package org.example.functionalInterfaces;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Scans Java sources for stream reductions that build a {@code String} by concatenation, such as
+ * {@code reduce("", (a, b) -> a + b)} or {@code reduce(String::concat)}.
+ * <p>
+ * Each step of such a reduction copies everything accumulated so far, so it runs in quadratic time.
+ * {@link StringCollectors#joining} does the same job in linear time. The check is textual: it flags
+ * a {@code reduce} whose identity is a string literal and whose accumulator concatenates, and any
+ * {@code reduce} with {@code String::concat}. Comments are ignored.
+ * <p>
+ * Run with source directories as arguments (default {@code src/main/java}). It prints one line per
+ * finding and exits with status 1 if there were any, so it can fail a build step.
+ */
+public final class QuadraticReduceDetector {
+
+    public record Finding(Path file, int line, String expression) {
+
+        @Override
+        public String toString() {
+            return file + ":" + line + ": quadratic String reduce: " + expression;
+        }
+    }
+
+    private static final Pattern REDUCE = Pattern.compile("\\.reduce\\s*\\(");
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"");
+    private static final Pattern CONCATENATION = Pattern.compile("\\+|\\.concat\\s*\\(|String::concat");
+
+    private QuadraticReduceDetector() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> roots = args.length == 0 ? List.of(Path.of("src/main/java")) : Stream.of(args).map(Path::of).toList();
+        List<Finding> findings = new ArrayList<>();
+        for (Path root : roots) {
+            findings.addAll(scan(root));
+        }
+        findings.forEach(System.out::println);
+        if (!findings.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Scans every {@code .java} file under {@code root}.
+     */
+    public static List<Finding> scan(Path root) throws IOException {
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(root)) {
+            sources = files.filter(file -> file.toString().endsWith(".java") && Files.isRegularFile(file)).sorted().toList();
+        }
+        List<Finding> findings = new ArrayList<>();
+        for (Path source : sources) {
+            findings.addAll(scan(source, Files.readString(source)));
+        }
+        return findings;
+    }
+
+    static List<Finding> scan(Path file, String source) {
+        String code = blankComments(source);
+        List<Finding> findings = new ArrayList<>();
+        Matcher matcher = REDUCE.matcher(code);
+        while (matcher.find()) {
+            int end = closingParenthesis(code, matcher.end());
+            if (end < 0) {
+                continue;
+            }
+            List<String> arguments = splitArguments(code.substring(matcher.end(), end));
+            if (isQuadratic(arguments)) {
+                int line = (int) code.substring(0, matcher.start()).chars().filter(c -> c == '\n').count() + 1;
+                String expression = code.substring(matcher.start() + 1, end + 1).replaceAll("\\s+", " ");
+                findings.add(new Finding(file, line, expression));
+            }
+        }
+        return findings;
+    }
+
+    private static boolean isQuadratic(List<String> arguments) {
+        if (arguments.size() == 1) {
+            return arguments.get(0).equals("String::concat");
+        }
+        return arguments.size() >= 2
+                && STRING_LITERAL.matcher(arguments.get(0)).matches()
+                && CONCATENATION.matcher(arguments.get(1)).find();
+    }
+
+    /**
+     * Returns the index of the parenthesis closing the one just before {@code from}, or -1.
+     */
+    private static int closingParenthesis(String code, int from) {
+        int depth = 1;
+        for (int i = from; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = endOfLiteral(code, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> splitArguments(String arguments) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < arguments.length(); i++) {
+            char c = arguments.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = endOfLiteral(arguments, i);
+            } else if (c == '(' || c == '{' || c == '[') {
+                depth++;
+            } else if (c == ')' || c == '}' || c == ']') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                result.add(arguments.substring(start, i).strip());
+                start = i + 1;
+            }
+        }
+        result.add(arguments.substring(start).strip());
+        return result;
+    }
+
+    /**
+     * Replaces comments with spaces, keeping line breaks so line numbers still match.
+     */
+    private static String blankComments(String source) {
+        StringBuilder sb = new StringBuilder(source);
+        for (int i = 0; i < sb.length(); i++) {
+            char c = sb.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = endOfLiteral(source, i);
+            } else if (c == '/' && i + 1 < sb.length() && (sb.charAt(i + 1) == '/' || sb.charAt(i + 1) == '*')) {
+                boolean block = sb.charAt(i + 1) == '*';
+                int end = block ? source.indexOf("*/", i + 2) : source.indexOf('\n', i);
+                end = end < 0 ? sb.length() : block ? end + 2 : end;
+                for (int j = i; j < end; j++) {
+                    if (sb.charAt(j) != '\n') {
+                        sb.setCharAt(j, ' ');
+                    }
+                }
+                i = end - 1;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the index of the quote closing the string, text block or char literal opened at {@code start}.
+     */
+    private static int endOfLiteral(String code, int start) {
+        char quote = code.charAt(start);
+        if (code.startsWith("\"\"\"", start)) {
+            int end = code.indexOf("\"\"\"", start + 3);
+            return end < 0 ? code.length() - 1 : end + 2;
+        }
+        for (int i = start + 1; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote || c == '\n') {
+                return i;
+            }
+        }
+        return code.length() - 1;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.functionalInterfaces;
+
+/**
+ * Stable LSD radix sorts of row indices by primitive keys, eight bits per pass. The histograms for
+ * every pass are built in one scan up front, and passes where all keys share a digit are skipped,
+ * so narrow-ranged keys such as ages cost one or two passes rather than four or eight.
+ */
+final class RadixSort {
+
+    private static final int RADIX = 256;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Returns {@code rows} reordered so that {@code keys[row]} ascends, preserving the order of rows
+     * with equal keys.
+     */
+    static int[] sort(int[] keys, int[] rows) {
+        int n = rows.length;
+        int[] k = new int[n];
+        int[][] counts = new int[4][RADIX];
+        for (int i = 0; i < n; i++) {
+            int key = keys[rows[i]] ^ Integer.MIN_VALUE; // signed order as unsigned
+            k[i] = key;
+            counts[0][key & 0xFF]++;
+            counts[1][(key >>> 8) & 0xFF]++;
+            counts[2][(key >>> 16) & 0xFF]++;
+            counts[3][key >>> 24]++;
+        }
+        int[] idx = rows.clone();
+        int[] kOut = new int[n];
+        int[] idxOut = new int[n];
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = pass * 8;
+            if (n == 0 || counts[pass][(k[0] >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            int[] offsets = offsets(counts[pass]);
+            for (int i = 0; i < n; i++) {
+                int p = offsets[(k[i] >>> shift) & 0xFF]++;
+                kOut[p] = k[i];
+                idxOut[p] = idx[i];
+            }
+            int[] t = k;
+            k = kOut;
+            kOut = t;
+            t = idx;
+            idx = idxOut;
+            idxOut = t;
+        }
+        return idx;
+    }
+
+    static int[] sort(long[] keys, int[] rows) {
+        int n = rows.length;
+        long[] k = new long[n];
+        int[][] counts = new int[8][RADIX];
+        for (int i = 0; i < n; i++) {
+            long key = keys[rows[i]] ^ Long.MIN_VALUE;
+            k[i] = key;
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass][(int) (key >>> (pass * 8)) & 0xFF]++;
+            }
+        }
+        int[] idx = rows.clone();
+        long[] kOut = new long[n];
+        int[] idxOut = new int[n];
+        for (int pass = 0; pass < 8; pass++) {
+            int shift = pass * 8;
+            if (n == 0 || counts[pass][(int) (k[0] >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            int[] offsets = offsets(counts[pass]);
+            for (int i = 0; i < n; i++) {
+                int p = offsets[(int) (k[i] >>> shift) & 0xFF]++;
+                kOut[p] = k[i];
+                idxOut[p] = idx[i];
+            }
+            long[] tk = k;
+            k = kOut;
+            kOut = tk;
+            int[] t = idx;
+            idx = idxOut;
+            idxOut = t;
+        }
+        return idx;
+    }
+
+    private static int[] offsets(int[] counts) {
+        int[] offsets = new int[RADIX];
+        int sum = 0;
+        for (int d = 0; d < RADIX; d++) {
+            offsets[d] = sum;
+            sum += counts[d];
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.functionalInterfaces;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Collectors for the top or bottom few elements of a stream, and for its extremes and totals in one pass.
+ * <p>
+ * {@code sorted(comparator).limit(k)} sorts the whole stream to keep k elements. {@link #topK} keeps a
+ * bounded heap of k elements per split instead and merges the heaps, which is O(n log k) time and
+ * O(k) memory per split. Which of several equal elements are kept is unspecified.
+ */
+public final class RankingCollectors {
+
+    /**
+     * The result of {@link #summarizing}: how many elements there were, the sum of their keys, and
+     * the elements with the smallest and largest keys. {@code min} and {@code max} are {@code null}
+     * if there were no elements. Of several elements sharing the smallest or largest key, the first
+     * encountered is kept.
+     */
+    public record Summary<T>(long count, long sum, T min, long minKey, T max, long maxKey) {
+
+        public double average() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+    }
+
+    private RankingCollectors() {
+    }
+
+    /**
+     * Collects the {@code k} greatest elements according to {@code comparator}, greatest first.
+     */
+    public static <T> Collector<T, ?, List<T>> topK(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        Objects.requireNonNull(comparator);
+        return Collector.of(() -> new BoundedHeap<T>(k, comparator), BoundedHeap::offer, BoundedHeap::merge,
+                BoundedHeap::toSortedList);
+    }
+
+    /**
+     * Collects the {@code k} least elements according to {@code comparator}, least first.
+     */
+    public static <T> Collector<T, ?, List<T>> bottomK(int k, Comparator<? super T> comparator) {
+        return topK(k, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Computes the count, key sum and the elements with the minimum and maximum keys in a single pass.
+     */
+    public static <T> Collector<T, ?, Summary<T>> summarizing(ToLongFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        return Collector.of(() -> new SummaryAccumulator<T>(key), SummaryAccumulator::accept, SummaryAccumulator::combine,
+                SummaryAccumulator::toSummary);
+    }
+
+    private static final class SummaryAccumulator<T> {
+        private final ToLongFunction<? super T> key;
+        private long count;
+        private long sum;
+        private T min;
+        private long minKey;
+        private T max;
+        private long maxKey;
+
+        SummaryAccumulator(ToLongFunction<? super T> key) {
+            this.key = key;
+        }
+
+        void accept(T element) {
+            long value = key.applyAsLong(element);
+            if (count == 0 || value < minKey) {
+                min = element;
+                minKey = value;
+            }
+            if (count == 0 || value > maxKey) {
+                max = element;
+                maxKey = value;
+            }
+            count++;
+            sum += value;
+        }
+
+        SummaryAccumulator<T> combine(SummaryAccumulator<T> right) {
+            if (right.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return right;
+            }
+            if (right.minKey < minKey) {
+                min = right.min;
+                minKey = right.minKey;
+            }
+            if (right.maxKey > maxKey) {
+                max = right.max;
+                maxKey = right.maxKey;
+            }
+            count += right.count;
+            sum += right.sum;
+            return this;
+        }
+
+        Summary<T> toSummary() {
+            return new Summary<>(count, sum, min, minKey, max, maxKey);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.functionalInterfaces;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Accumulates strings by reference and copies their characters only once, when the result is built.
+ * <p>
+ * Appending a string stores a reference to it. Appending another builder links its segments onto
+ * this one without copying anything, which makes this a cheap container for parallel reductions:
+ * combining two halves costs the same however long they are. {@link #toString()} and
+ * {@link #join} hand the parts to a {@link StringJoiner}, which sizes the result exactly and writes
+ * each character straight into the new string's storage, so no intermediate buffer is copied.
+ * <p>
+ * Not thread-safe. Each thread accumulates into its own builder, and the builders are combined afterwards.
+ */
+public final class SegmentedStringBuilder implements CharSequence {
+
+    private static final int FIRST_SEGMENT = 16;
+    private static final int MAX_SEGMENT = 1024;
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static final class Segment {
+        final String[] parts;
+        int size;
+        Segment next;
+
+        Segment(int capacity) {
+            parts = new String[capacity];
+        }
+    }
+
+    private Segment head;
+    private Segment tail;
+    private long length;
+    private int count;
+
+    /**
+     * Appends {@code text}. A mutable sequence such as a {@link StringBuilder} is copied as it is now.
+     */
+    public SegmentedStringBuilder append(CharSequence text) {
+        String part = String.valueOf(text);
+        if (tail == null || tail.size == tail.parts.length) {
+            Segment segment = new Segment(tail == null ? FIRST_SEGMENT : Math.min(tail.parts.length * 2, MAX_SEGMENT));
+            if (tail == null) {
+                head = segment;
+            } else {
+                tail.next = segment;
+            }
+            tail = segment;
+        }
+        tail.parts[tail.size++] = part;
+        length += part.length();
+        count++;
+        return this;
+    }
+
+    /**
+     * Moves the contents of {@code other} to the end of this builder in constant time and leaves
+     * {@code other} empty.
+     */
+    public SegmentedStringBuilder append(SegmentedStringBuilder other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot append a builder to itself");
+        }
+        if (other.head == null) {
+            return this;
+        }
+        if (head == null) {
+            head = other.head;
+        } else {
+            tail.next = other.head;
+        }
+        tail = other.tail;
+        length += other.length;
+        count += other.count;
+        other.head = other.tail = null;
+        other.length = other.count = 0;
+        return this;
+    }
+
+    /**
+     * Returns the number of strings appended.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the total length of the appended strings, with no delimiters.
+     * Throws {@link OutOfMemoryError} if that exceeds the length of the largest possible string.
+     */
+    @Override
+    public int length() {
+        return checkedLength(length);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length());
+        for (Segment segment = head; ; segment = segment.next) {
+            for (int i = 0; i < segment.size; i++) {
+                String part = segment.parts[i];
+                if (index < part.length()) {
+                    return part.charAt(index);
+                }
+                index -= part.length();
+            }
+        }
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    /**
+     * Returns the appended strings separated by {@code delimiter}, between {@code prefix} and {@code suffix}.
+     */
+    public String join(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+        checkedLength(length + prefix.length() + suffix.length() + (long) delimiter.length() * Math.max(count - 1, 0));
+        StringJoiner joiner = new StringJoiner(delimiter, prefix, suffix);
+        for (Segment segment = head; segment != null; segment = segment.next) {
+            for (int i = 0; i < segment.size; i++) {
+                joiner.add(segment.parts[i]);
+            }
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return join("", "", "");
+    }
+
+    private static int checkedLength(long length) {
+        if (length > MAX_LENGTH) {
+            throw new OutOfMemoryError("Joined length " + length + " exceeds the maximum string length");
+        }
+        return (int) length;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.functionalInterfaces;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Supplies Snowflake-style 64-bit IDs: 41 bits of milliseconds since an epoch, a 10-bit node ID
+ * and a 12-bit sequence number. IDs from one generator are unique and strictly increasing. IDs
+ * from generators with different node IDs never collide.
+ * <p>
+ * The timestamp and sequence number live in one {@code AtomicLong}, so a single ID costs one CAS. If
+ * more than 4,096 IDs are requested within a millisecond, or the clock steps backwards, the
+ * generator borrows from the following milliseconds rather than blocking. {@link #fill(long[])}
+ * reserves a whole block of IDs with one CAS, which is the way to take many IDs from many threads
+ * without contending on the counter.
+ */
+public final class SnowflakeIds implements LongSupplier {
+
+    public static final Instant DEFAULT_EPOCH = Instant.parse("2020-01-01T00:00:00Z");
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+
+    private final long epochMillis;
+    private final long node;
+    // (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last ID handed out
+    private final AtomicLong last = new AtomicLong(-1);
+
+    public SnowflakeIds(int nodeId) {
+        this(nodeId, DEFAULT_EPOCH);
+    }
+
+    public SnowflakeIds(int nodeId, Instant epoch) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE + ": " + nodeId);
+        }
+        this.node = nodeId;
+        this.epochMillis = epoch.toEpochMilli();
+    }
+
+    @Override
+    public long getAsLong() {
+        return toId(reserve(1));
+    }
+
+    /**
+     * Fills {@code ids} with consecutive IDs reserved in one step.
+     */
+    public void fill(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        long end = reserve(ids.length);
+        long start = end - ids.length + 1;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = toId(start + i);
+        }
+    }
+
+    /**
+     * Returns the time at which {@code id} was generated, give or take any milliseconds borrowed.
+     */
+    public Instant timestampOf(long id) {
+        return Instant.ofEpochMilli(epochMillis + (id >>> (NODE_BITS + SEQUENCE_BITS)));
+    }
+
+    /**
+     * Claims {@code n} consecutive timestamp-and-sequence values and returns the last one.
+     */
+    private long reserve(int n) {
+        long now = (System.currentTimeMillis() - epochMillis) << SEQUENCE_BITS;
+        while (true) {
+            long previous = last.get();
+            long end = Math.max(previous + n, now + n - 1);
+            if (last.compareAndSet(previous, end)) {
+                return end;
+            }
+        }
+    }
+
+    private long toId(long timeAndSequence) {
+        long millis = timeAndSequence >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (timeAndSequence & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.functionalInterfaces;
+
+import java.util.stream.Collector;
+
+/**
+ * Collectors that build strings with mutable accumulation, to use in place of
+ * {@code reduce("", (a, b) -> a + b)}. That reduction copies the whole string so far on every
+ * element, so its cost grows with the square of the input.
+ * <p>
+ * These collect into a {@link SegmentedStringBuilder}, which keeps references to the elements
+ * until the end and then copies each character once, straight into the result string.
+ * Parallel splits are combined by linking their segments together.
+ */
+public final class StringCollectors {
+
+    private StringCollectors() {
+    }
+
+    public static Collector<CharSequence, ?, String> joining() {
+        return joining("", "", "");
+    }
+
+    public static Collector<CharSequence, ?, String> joining(CharSequence delimiter) {
+        return joining(delimiter, "", "");
+    }
+
+    public static Collector<CharSequence, ?, String> joining(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+        String delimiterString = delimiter.toString();
+        String prefixString = prefix.toString();
+        String suffixString = suffix.toString();
+        return Collector.of(SegmentedStringBuilder::new, SegmentedStringBuilder::append, SegmentedStringBuilder::append,
+                builder -> builder.join(delimiterString, prefixString, suffixString));
+    }
+
+    /**
+     * Collects into a {@link SegmentedStringBuilder}, for callers that keep appending to the result
+     * or combine several of them before building a string.
+     */
+    public static Collector<CharSequence, ?, SegmentedStringBuilder> toSegmentedBuilder() {
+        return Collector.of(SegmentedStringBuilder::new, SegmentedStringBuilder::append, SegmentedStringBuilder::append,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.functionalInterfaces;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A dictionary-encoded column of strings: each distinct value is stored once, and every row holds
+ * an {@code int} code into that dictionary. Predicates are evaluated once per distinct value, and
+ * sorting radix-sorts the codes by the rank of their strings, so neither touches a string per row.
+ * {@code null} is a value like any other and sorts first.
+ */
+public final class StringColumn implements Column {
+
+    private final int[] codes;
+    private final String[] dictionary;
+    private volatile int[] ranks; // rank of each code in string order, computed on first sort
+
+    private StringColumn(int[] codes, String[] dictionary) {
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    public static StringColumn of(List<String> values) {
+        int[] codes = new int[values.size()];
+        Map<String, Integer> lookup = new HashMap<>();
+        for (int row = 0; row < codes.length; row++) {
+            codes[row] = lookup.computeIfAbsent(values.get(row), value -> lookup.size());
+        }
+        String[] dictionary = new String[lookup.size()];
+        lookup.forEach((value, code) -> dictionary[code] = value);
+        return new StringColumn(codes, dictionary);
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    public String get(int row) {
+        return dictionary[codes[row]];
+    }
+
+    /**
+     * Returns the number of distinct values.
+     */
+    public int cardinality() {
+        return dictionary.length;
+    }
+
+    /**
+     * Returns the indices of the rows whose value matches {@code predicate}, in ascending order.
+     */
+    public int[] filter(Predicate<? super String> predicate) {
+        boolean[] matches = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            matches[code] = predicate.test(dictionary[code]);
+        }
+        int[] selected = new int[codes.length];
+        int n = 0;
+        for (int row = 0; row < codes.length; row++) {
+            selected[n] = row;
+            n += matches[codes[row]] ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    public int[] filterEquals(String value) {
+        int code = 0;
+        while (code < dictionary.length && !Objects.equals(dictionary[code], value)) {
+            code++;
+        }
+        if (code == dictionary.length) {
+            return new int[0];
+        }
+        int[] selected = new int[codes.length];
+        int n = 0;
+        for (int row = 0; row < codes.length; row++) {
+            selected[n] = row;
+            n += codes[row] == code ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    @Override
+    public int[] sortedIndex(int[] rows) {
+        int[] rankOfCode = ranks();
+        int[] rowRanks = new int[codes.length];
+        for (int row : rows) {
+            rowRanks[row] = rankOfCode[codes[row]];
+        }
+        return RadixSort.sort(rowRanks, rows);
+    }
+
+    private int[] ranks() {
+        int[] ranks = this.ranks;
+        if (ranks == null) {
+            Integer[] order = new Integer[dictionary.length];
+            Arrays.setAll(order, code -> code);
+            Arrays.sort(order, Comparator.comparing(code -> dictionary[code], Comparator.nullsFirst(Comparator.naturalOrder())));
+            int[] computed = new int[dictionary.length];
+            for (int rank = 0; rank < order.length; rank++) {
+                computed[order[rank]] = rank;
+            }
+            ranks = computed;
+            this.ranks = ranks;
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,334 @@
+package org.example.functionalInterfaces;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs {@link MyFunctionalInterface} tasks on a fixed set of worker threads, passing them through
+ * preallocated ring buffers instead of an executor queue.
+ * <p>
+ * Each worker owns one ring. Producers write into it without locks, and the worker runs whatever
+ * has been published in batches, so handing off a task allocates nothing, neither a wrapper nor a
+ * queue node. {@link #dispatch(MyFunctionalInterface)} spreads a producer's tasks across the workers
+ * round-robin. {@link #dispatch(long, MyFunctionalInterface)} sends every task with the same key to
+ * the same worker, so tasks sharing a key run in dispatch order. When a ring is full, the producer
+ * waits, using the same {@link WaitStrategy} as idle workers. A task cannot wait for its own
+ * worker's ring to drain, so a blocking dispatch from a task to its own full ring is rejected.
+ * <p>
+ * A task that throws is counted as a failure and logged. It does not stop its worker.
+ */
+public final class TaskDispatcher implements AutoCloseable {
+
+    /**
+     * What a thread does while it waits: a worker with an empty ring, or a producer facing a full one.
+     */
+    public enum WaitStrategy {
+        /** Busy-spin. Lowest latency, but each worker keeps a core fully busy. */
+        SPIN,
+        /** Spin briefly, then yield the core to other threads between checks. */
+        YIELD,
+        /** Spin and yield briefly, then park until a producer wakes the worker. Uses no CPU when idle. */
+        PARK
+    }
+
+    /**
+     * A snapshot of the dispatcher's counters. {@code depth} is the number of tasks dispatched but
+     * not yet run. The batch figures cover the time workers took to run each batch.
+     */
+    public record Stats(long dispatched, long executed, long failed, long depth,
+                        long batches, double meanBatchNanos, long maxBatchNanos) {
+    }
+
+    public static final int DEFAULT_CAPACITY = 16 * 1024;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final Logger logger = Logger.getLogger(TaskDispatcher.class.getName());
+    private static final ThreadLocal<int[]> NEXT_WORKER = ThreadLocal.withInitial(() -> new int[1]);
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+
+    private final Worker[] workers;
+    private final WaitStrategy waitStrategy;
+    private final int batchSize;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+    private final LongAccumulator maxBatchNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean closed;
+
+    private TaskDispatcher(int workers, int capacity, int batchSize, WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        this.batchSize = batchSize;
+        this.workers = new Worker[workers];
+        for (int i = 0; i < workers; i++) {
+            this.workers[i] = new Worker(i, new TaskRing(capacity));
+        }
+        for (Worker worker : this.workers) {
+            worker.thread.start();
+        }
+    }
+
+    public static TaskDispatcher start(int workers) {
+        return start(workers, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, WaitStrategy.PARK);
+    }
+
+    /**
+     * Starts {@code workers} worker threads, each with a ring of {@code capacity} slots (a power of
+     * two) from which it runs up to {@code batchSize} tasks at a time.
+     */
+    public static TaskDispatcher start(int workers, int capacity, int batchSize, WaitStrategy waitStrategy) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be positive: " + workers);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        return new TaskDispatcher(workers, capacity, batchSize, waitStrategy);
+    }
+
+    /**
+     * Queues {@code task} on the next worker in this thread's rotation, waiting if its ring is full.
+     *
+     * @throws RejectedExecutionException if the dispatcher is closed, or if called from a task on
+     *         that worker while its ring is full
+     */
+    public void dispatch(MyFunctionalInterface task) {
+        int[] next = NEXT_WORKER.get();
+        int index = (next[0]++ & Integer.MAX_VALUE) % workers.length;
+        dispatch(workers[index], task);
+    }
+
+    /**
+     * Queues {@code task} on the worker that {@code key} maps to, waiting if its ring is full.
+     *
+     * @throws RejectedExecutionException if the dispatcher is closed, or if called from a task on
+     *         that worker while its ring is full
+     */
+    public void dispatch(long key, MyFunctionalInterface task) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        dispatch(workers[(int) ((h >>> 32) * workers.length >>> 32)], task);
+    }
+
+    /**
+     * Queues {@code task} unless the chosen worker's ring is full.
+     *
+     * @throws RejectedExecutionException if the dispatcher is closed
+     */
+    public boolean tryDispatch(MyFunctionalInterface task) {
+        int[] next = NEXT_WORKER.get();
+        Worker worker = workers[(next[0]++ & Integer.MAX_VALUE) % workers.length];
+        ensureOpen();
+        ensureAlive(worker);
+        if (!worker.ring.offer(task)) {
+            return false;
+        }
+        published(worker);
+        return true;
+    }
+
+    public WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    public Stats stats() {
+        long dispatched = 0;
+        long executed = 0;
+        for (Worker worker : workers) {
+            // Read the consumer position first so depth can never come out negative.
+            long consumed = worker.ring.consumed();
+            executed += consumed;
+            dispatched += worker.ring.claimed();
+        }
+        long batchCount = batches.sum();
+        return new Stats(dispatched, executed, failed.sum(), dispatched - executed,
+                batchCount, batchCount == 0 ? 0 : (double) batchNanos.sum() / batchCount, maxBatchNanos.get());
+    }
+
+    /**
+     * Stops accepting tasks, runs everything already dispatched, and waits for the workers to exit.
+     * Called from a task, it waits for every worker but the one running that task.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+        for (Worker worker : workers) {
+            if (worker.thread != Thread.currentThread()) {
+                worker.awaitExit();
+            }
+        }
+    }
+
+    private void dispatch(Worker worker, MyFunctionalInterface task) {
+        ensureOpen();
+        ensureAlive(worker);
+        for (int attempt = 0; !worker.ring.offer(task); attempt++) {
+            if (closed) {
+                throw new RejectedExecutionException("Dispatcher is closed");
+            }
+            ensureAlive(worker);
+            if (worker.thread == Thread.currentThread()) {
+                // Only this thread can drain the ring, so waiting here would never end.
+                throw new RejectedExecutionException("Ring of " + worker.thread.getName() + " is full");
+            }
+            backOff(attempt);
+        }
+        published(worker);
+    }
+
+    private void published(Worker worker) {
+        if (closed) {
+            // Raced with close(): the worker may already have exited without seeing this task.
+            worker.runIfExited();
+        } else if (waitStrategy == WaitStrategy.PARK && worker.sleeping.get() && worker.sleeping.compareAndSet(true, false)) {
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new RejectedExecutionException("Dispatcher is closed");
+        }
+    }
+
+    private static void ensureAlive(Worker worker) {
+        if (worker.dead) {
+            throw new RejectedExecutionException(worker.thread.getName() + " died and runs no more tasks");
+        }
+    }
+
+    private void backOff(int attempt) {
+        if (waitStrategy == WaitStrategy.SPIN || attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (waitStrategy == WaitStrategy.YIELD || attempt < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(10_000);
+        }
+    }
+
+    private final class Worker {
+        final TaskRing ring;
+        final Thread thread;
+        final AtomicBoolean sleeping = new AtomicBoolean();
+        /** Set when a {@link VirtualMachineError} killed the thread, so producers stop waiting on it. */
+        volatile boolean dead;
+        private boolean exited; // guarded by this
+
+        Worker(int index, TaskRing ring) {
+            this.ring = ring;
+            this.thread = Thread.ofPlatform().daemon().name("task-dispatcher-" + index).unstarted(this::run);
+        }
+
+        private void run() {
+            int idle = 0;
+            try {
+                while (true) {
+                    if (runBatch() > 0) {
+                        idle = 0;
+                    } else if (closed && exitIfEmpty()) {
+                        return;
+                    } else {
+                        waitForWork(idle++);
+                    }
+                }
+            } catch (VirtualMachineError e) {
+                dead = true;
+                logger.log(Level.SEVERE, e, () -> thread.getName() + " died");
+                throw e;
+            }
+        }
+
+        /**
+         * Makes the worker's final emptiness check under the lock that {@link #runIfExited} takes, so a
+         * task published before that check is seen here, and one published after it is run there.
+         */
+        private synchronized boolean exitIfEmpty() {
+            if (!ring.isEmpty()) {
+                return false;
+            }
+            exited = true;
+            return true;
+        }
+
+        /**
+         * Runs tasks left behind after the worker exited, for producers that raced with close().
+         * Does nothing while the worker is still running, since it will run them itself.
+         */
+        synchronized void runIfExited() {
+            if (!exited) {
+                return;
+            }
+            while (runBatch() > 0 || !ring.isEmpty()) {
+                Thread.onSpinWait();
+            }
+        }
+
+        void awaitExit() {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private int runBatch() {
+            int n = ring.available(batchSize);
+            if (n == 0) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                MyFunctionalInterface task = ring.take(i);
+                try {
+                    task.execute();
+                } catch (VirtualMachineError e) {
+                    // Not safe to carry on; give back the slots already run and let the worker die.
+                    failed.increment();
+                    ring.release(i + 1);
+                    throw e;
+                } catch (Throwable e) {
+                    failed.increment();
+                    logger.log(Level.WARNING, e, () -> "Task failed on " + Thread.currentThread().getName());
+                }
+            }
+            ring.release(n);
+            long elapsed = System.nanoTime() - start;
+            batches.increment();
+            batchNanos.add(elapsed);
+            maxBatchNanos.accumulate(elapsed);
+            return n;
+        }
+
+        private void waitForWork(int idle) {
+            if (waitStrategy == WaitStrategy.SPIN || idle < SPINS) {
+                Thread.onSpinWait();
+            } else if (waitStrategy == WaitStrategy.YIELD || idle < SPINS + YIELDS) {
+                Thread.yield();
+            } else {
+                sleeping.set(true);
+                // Recheck after announcing the sleep, so a task published in between is not missed.
+                if (ring.isEmpty() && !closed) {
+                    LockSupport.parkNanos(1_000_000);
+                }
+                sleeping.set(false);
+            }
+        }
+    }
+}
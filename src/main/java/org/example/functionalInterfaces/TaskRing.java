@@ -0,0 +1,92 @@
+package org.example.functionalInterfaces;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, preallocated multi-producer single-consumer ring of tasks.
+ * <p>
+ * Producers claim a sequence number by advancing {@code tail}, store the task in the slot, and
+ * then publish the sequence number in that slot. The consumer runs published slots in sequence
+ * order and advances {@code head} once per batch, which is what frees the slots for reuse.
+ * No method allocates.
+ */
+final class TaskRing {
+
+    private final MyFunctionalInterface[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    TaskRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two of at least 2: " + capacity);
+        }
+        this.slots = new MyFunctionalInterface[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds {@code task} unless the ring is full.
+     */
+    boolean offer(MyFunctionalInterface task) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        int slot = (int) sequence & mask;
+        slots[slot] = task;
+        published.set(slot, sequence);
+        return true;
+    }
+
+    /**
+     * Returns how many tasks, up to {@code max}, are published and ready to run in sequence order.
+     * Consumer only.
+     */
+    int available(int max) {
+        long next = head.get();
+        int n = 0;
+        while (n < max && published.get((int) (next + n) & mask) == next + n) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Takes the {@code index}-th of the tasks counted by {@link #available}. Consumer only.
+     */
+    MyFunctionalInterface take(int index) {
+        int slot = (int) (head.get() + index) & mask;
+        MyFunctionalInterface task = slots[slot];
+        slots[slot] = null;
+        return task;
+    }
+
+    /**
+     * Frees the slots of the first {@code n} available tasks. Consumer only.
+     */
+    void release(int n) {
+        head.set(head.get() + n);
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    long claimed() {
+        return tail.get();
+    }
+
+    long consumed() {
+        return head.get();
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.functionalInterfaces;
+
+/**
+ * A function that produces a primitive {@code char}, the counterpart of {@link java.util.function.ToIntFunction}
+ * that the JDK does not provide.
+ *
+ * @param <T> the type of the input to the function
+ */
+@FunctionalInterface
+public interface ToCharFunction<T> {
+
+    char applyAsChar(T value);
+}
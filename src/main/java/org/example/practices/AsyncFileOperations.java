@@ -0,0 +1,199 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Non-blocking counterparts of the {@link FileAndDirectoryOperations} methods.
+ * <p>
+ * Each call returns a {@link CompletableFuture} completed by a task on the configured executor
+ * (one virtual thread per operation by default). Operations that touch the same path run in
+ * submission order, even if an earlier one fails. Operations on different paths run concurrently.
+ * Cancelling a future skips the operation if it has not started yet. If it is already running,
+ * its thread is interrupted, and later operations on the same paths still wait for it to return.
+ */
+public final class AsyncFileOperations implements AutoCloseable {
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final Map<Path, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public AsyncFileOperations() {
+        this(Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    public AsyncFileOperations(Executor executor) {
+        this(executor, false);
+    }
+
+    private AsyncFileOperations(Executor executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public CompletableFuture<Void> createFile(Path file) {
+        return run(() -> FileAndDirectoryOperations.createFile(file), file);
+    }
+
+    public CompletableFuture<Void> writeFile(Path file, String content) {
+        return run(() -> FileAndDirectoryOperations.writeFile(file, content), file);
+    }
+
+    public CompletableFuture<Void> appendToFile(Path file, String content) {
+        return run(() -> FileAndDirectoryOperations.appendToFile(file, content), file);
+    }
+
+    /**
+     * Reads the lines of a UTF-8 file. Unlike {@link FileAndDirectoryOperations#readFile(Path)}, the
+     * lines are returned instead of printed.
+     */
+    public CompletableFuture<List<String>> readFile(Path file) {
+        return submit(() -> {
+            try (Stream<CharSequence> lines = FileAndDirectoryOperations.readFileMapped(file)) {
+                return lines.map(CharSequence::toString).toList();
+            }
+        }, file);
+    }
+
+    public CompletableFuture<Optional<List<Path>>> listFiles(Path directory) {
+        return submit(() -> FileAndDirectoryOperations.listFiles(directory).map(Stream::toList), directory);
+    }
+
+    public CompletableFuture<Optional<List<Path>>> listDirectories(Path directory) {
+        return submit(() -> FileAndDirectoryOperations.listDirectories(directory).map(Stream::toList), directory);
+    }
+
+    public CompletableFuture<Void> renameFile(Path source, Path target) {
+        return run(() -> FileAndDirectoryOperations.renameFile(source, target), source, target);
+    }
+
+    public CompletableFuture<Void> copyFile(Path source, Path target) {
+        return run(() -> FileAndDirectoryOperations.copyFile(source, target), source, target);
+    }
+
+    public CompletableFuture<Void> moveFile(Path source, Path target) {
+        return run(() -> FileAndDirectoryOperations.moveFile(source, target), source, target);
+    }
+
+    public CompletableFuture<Void> createDirectory(Path directory) {
+        return run(() -> FileAndDirectoryOperations.createDirectory(directory), directory);
+    }
+
+    public CompletableFuture<Void> renameDirectory(Path source, Path target) {
+        return run(() -> FileAndDirectoryOperations.renameDirectory(source, target), source, target);
+    }
+
+    /**
+     * Copies a directory tree. Ordering applies to the two root paths, not to the files below them.
+     */
+    public CompletableFuture<CopyResult> copyDirectory(Path source, Path target, int maxInFlight) {
+        return submit(() -> FileAndDirectoryOperations.copyDirectory(source, target, maxInFlight), source, target);
+    }
+
+    public CompletableFuture<Void> moveDirectory(Path source, Path target) {
+        return run(() -> FileAndDirectoryOperations.moveDirectory(source, target), source, target);
+    }
+
+    /**
+     * Waits for submitted operations to finish and shuts down the executor, if this instance created it.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            ((ExecutorService) executor).close();
+        }
+    }
+
+    private CompletableFuture<Void> run(Runnable operation, Path... paths) {
+        return submit(() -> {
+            operation.run();
+            return null;
+        }, paths);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation, Path... paths) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Successors wait on this rather than on result: cancelling result completes it at once,
+        // while the operation may still be running.
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        List<CompletableFuture<?>> predecessors = new ArrayList<>(paths.length);
+        List<Path> keys = new ArrayList<>(paths.length);
+        // Install the new tail for all paths at once, so two operations over the same pair of paths
+        // can never each end up waiting for the other.
+        synchronized (tails) {
+            for (Path path : paths) {
+                Path key = path.toAbsolutePath().normalize();
+                keys.add(key);
+                CompletableFuture<?> previous = tails.put(key, finished);
+                if (previous != null && previous != finished) {
+                    predecessors.add(previous);
+                }
+            }
+        }
+        finished.whenComplete((ignored, failure) -> {
+            for (Path key : keys) {
+                tails.remove(key, finished);
+            }
+        });
+
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        CompletableFuture.allOf(predecessors.toArray(CompletableFuture<?>[]::new))
+                .thenRunAsync(() -> execute(operation, result, finished, runner), executor)
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        // The executor rejected the task, so execute never ran.
+                        result.completeExceptionally(failure);
+                        finished.complete(null);
+                    }
+                });
+
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                synchronized (runner) {
+                    Thread thread = runner.getAndSet(null);
+                    if (thread != null) {
+                        thread.interrupt();
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    private static <T> void execute(Supplier<T> operation, CompletableFuture<T> result, CompletableFuture<Void> finished,
+                                    AtomicReference<Thread> runner) {
+        try {
+            if (result.isDone()) {
+                return; // Cancelled before it started.
+            }
+            Thread current = Thread.currentThread();
+            runner.set(current);
+            try {
+                result.complete(operation.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            } finally {
+                // Holding the lock means a concurrent cancel has either delivered its interrupt already
+                // or will find no thread, so no interrupt can reach the executor's thread after this.
+                synchronized (runner) {
+                    if (!runner.compareAndSet(current, null)) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        } finally {
+            finished.complete(null);
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Gzip files written as independently compressed blocks, so that both compression and
+ * decompression run on all cores, in the manner of pigz.
+ * <p>
+ * Every {@link #BLOCK_SIZE} bytes of input become one complete gzip member. Members are deflated
+ * in parallel on virtual threads and written in order. Standard gzip readers decompress a series
+ * of members as one stream, so the files work with {@code gzip -d}, {@code zcat} and
+ * {@link GZIPInputStream}. After the data members come a block index and a fixed-size footer
+ * that points to it. Both are empty gzip members that carry their payload in the header's extra
+ * field, so gzip readers see them as zero bytes of data. {@link #open} uses the index to
+ * decompress blocks ahead of the reader in parallel, and to seek on {@code skip}.
+ * <p>
+ * Appending adds data members, then an index segment that lists only the new blocks and links
+ * to the previous segment. After {@link #MAX_SEGMENTS} links, the whole index is rewritten as
+ * one segment. Old index members stay in the file as empty members. If an append fails, the file
+ * is truncated back to its previous length.
+ */
+final class BlockGzip {
+
+    static final int BLOCK_SIZE = 1024 * 1024;
+    static final int MAX_SEGMENTS = 32;
+
+    private static final int MAX_IN_FLIGHT = 2 * Runtime.getRuntime().availableProcessors() + 2;
+    private static final int HEADER_SIZE = 10;
+    private static final int TRAILER_SIZE = 8;
+    private static final int FLG_FEXTRA = 4;
+    private static final byte[] EMPTY_DEFLATE = {3, 0};
+    private static final int SUBFIELD_HEADER = 4;
+    private static final int ENTRY_SIZE = 16; // offset, compressed length, length
+    private static final int SEGMENT_HEADER = 12; // previous segment offset, depth
+    private static final int ENTRIES_PER_MEMBER = (0xFFFF - SUBFIELD_HEADER - SEGMENT_HEADER) / ENTRY_SIZE;
+    private static final int FOOTER_PAYLOAD = 8;
+    private static final int FOOTER_SIZE = HEADER_SIZE + 2 + SUBFIELD_HEADER + FOOTER_PAYLOAD + EMPTY_DEFLATE.length + TRAILER_SIZE;
+
+    /** Uncompressed and compressed byte counts of one write. */
+    record Written(long bytes, long compressedBytes) {
+    }
+
+    private BlockGzip() {
+    }
+
+    /**
+     * Compresses everything {@code source} yields into {@code file}, replacing its contents or, with
+     * {@code append}, adding to a file previously written by this class.
+     */
+    static Written write(Path file, InputStream source, boolean append) throws IOException {
+        try (FileChannel channel = append
+                ? FileChannel.open(file, READ, WRITE, CREATE)
+                : FileChannel.open(file, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            long start = channel.size();
+            Index previous = start == 0 ? Index.EMPTY : Index.read(channel);
+            if (previous == null) {
+                throw new ZipException("Not a block-compressed gzip file: " + file);
+            }
+            try {
+                return append(channel, source, previous, start);
+            } catch (IOException | RuntimeException e) {
+                channel.truncate(start);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Opens {@code file} for reading its uncompressed contents. Files written by this class are
+     * decompressed in parallel and {@link InputStream#skip} seeks through the block index; any other
+     * gzip file is read sequentially.
+     */
+    static InputStream open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, READ);
+        try {
+            Index index = Index.read(channel);
+            if (index != null) {
+                return new BlockInputStream(file, channel, index);
+            }
+            channel.close();
+            return new GZIPInputStream(Files.newInputStream(file), 64 * 1024);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the uncompressed size of a file written by this class, read from its index.
+     */
+    static long uncompressedSize(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            Index index = Index.read(channel);
+            if (index == null) {
+                throw new ZipException("Not a block-compressed gzip file: " + file);
+            }
+            return index.size();
+        }
+    }
+
+    private static Written append(FileChannel channel, InputStream source, Index previous, long start) throws IOException {
+        long position = start;
+        long bytes = 0;
+        List<long[]> blocks = new ArrayList<>(); // offset, compressed length, length
+        Deque<Future<byte[]>> window = new ArrayDeque<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                while (true) {
+                    byte[] block = source.readNBytes(BLOCK_SIZE);
+                    if (block.length == 0) {
+                        break;
+                    }
+                    bytes += block.length;
+                    window.add(executor.submit(() -> compress(block)));
+                    if (window.size() >= MAX_IN_FLIGHT) {
+                        position = writeMember(channel, await(window.poll()), position, blocks);
+                    }
+                }
+                while (!window.isEmpty()) {
+                    position = writeMember(channel, await(window.poll()), position, blocks);
+                }
+            } finally {
+                window.forEach(future -> future.cancel(false));
+            }
+        }
+        if (blocks.isEmpty() && start > 0) {
+            return new Written(0, 0);
+        }
+
+        // Link to the previous segment, or fold the whole chain into one when it gets long.
+        long[][] entries;
+        long previousSegment;
+        int depth;
+        if (previous.depth() + 1 >= MAX_SEGMENTS) {
+            entries = concat(previous.entries(), blocks.toArray(new long[0][]));
+            previousSegment = -1;
+            depth = 0;
+        } else {
+            entries = blocks.toArray(new long[0][]);
+            previousSegment = previous.segment();
+            depth = previous.segment() < 0 ? 0 : previous.depth() + 1;
+        }
+        long segment = position;
+        int i = 0;
+        do {
+            int count = Math.min(ENTRIES_PER_MEMBER, entries.length - i);
+            ByteBuffer payload = ByteBuffer.allocate(SEGMENT_HEADER + count * ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            payload.putLong(previousSegment).putInt(depth);
+            for (int j = i; j < i + count; j++) {
+                payload.putLong(entries[j][0]).putInt((int) entries[j][1]).putInt((int) entries[j][2]);
+            }
+            position = writeFully(channel, emptyMember('B', 'I', payload.array()), position);
+            i += count;
+        } while (i < entries.length);
+        ByteBuffer footer = ByteBuffer.allocate(FOOTER_PAYLOAD).order(ByteOrder.LITTLE_ENDIAN).putLong(segment);
+        position = writeFully(channel, emptyMember('B', 'F', footer.array()), position);
+        return new Written(bytes, position - start);
+    }
+
+    private static long writeMember(FileChannel channel, byte[] member, long position, List<long[]> blocks) throws IOException {
+        int length = ByteBuffer.wrap(member, member.length - 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        blocks.add(new long[]{position, member.length, length});
+        return writeFully(channel, member, position);
+    }
+
+    private static long writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Deflates {@code data} into one complete gzip member.
+     */
+    static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            // Room for the header, incompressible data with its stored-block overhead, and the trailer.
+            byte[] out = new byte[HEADER_SIZE + data.length + data.length / 16_000 * 5 + 64 + TRAILER_SIZE];
+            int n = HEADER_SIZE;
+            while (!deflater.finished()) {
+                if (n == out.length - TRAILER_SIZE) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                n += deflater.deflate(out, n, out.length - TRAILER_SIZE - n);
+            }
+            writeHeader(out, 0);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            ByteBuffer.wrap(out, n, TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt((int) crc.getValue())
+                    .putInt(data.length);
+            return Arrays.copyOf(out, n + TRAILER_SIZE);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflates one member written by {@link #compress}, checking its length and CRC.
+     */
+    static byte[] decompress(byte[] member, int length) throws IOException {
+        if (member.length < HEADER_SIZE + TRAILER_SIZE || (member[0] & 0xFF) != 0x1F || (member[1] & 0xFF) != 0x8B
+                || member[2] != Deflater.DEFLATED || member[3] != 0) {
+            throw new ZipException("Not a block written by this writer");
+        }
+        ByteBuffer trailer = ByteBuffer.wrap(member, member.length - TRAILER_SIZE, TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int expectedCrc = trailer.getInt();
+        if (trailer.getInt() != length) {
+            throw new ZipException("Block length does not match the index");
+        }
+        byte[] data = new byte[length];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(member, HEADER_SIZE, member.length - HEADER_SIZE - TRAILER_SIZE);
+            int n = 0;
+            while (n < length && !inflater.finished()) {
+                int inflated = inflater.inflate(data, n, length - n);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += inflated;
+            }
+            if (n != length) {
+                throw new ZipException("Block is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt block: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new ZipException("Block CRC mismatch");
+        }
+        return data;
+    }
+
+    private static void writeHeader(byte[] out, int flags) {
+        out[0] = 0x1F;
+        out[1] = (byte) 0x8B;
+        out[2] = Deflater.DEFLATED;
+        out[3] = (byte) flags;
+        // MTIME 0, XFL 0
+        out[9] = (byte) 0xFF; // OS unknown
+    }
+
+    /**
+     * A gzip member with no data whose extra field holds one subfield {@code si1 si2} with {@code payload}.
+     */
+    private static byte[] emptyMember(char si1, char si2, byte[] payload) {
+        int extra = SUBFIELD_HEADER + payload.length;
+        byte[] member = new byte[HEADER_SIZE + 2 + extra + EMPTY_DEFLATE.length + TRAILER_SIZE];
+        writeHeader(member, FLG_FEXTRA);
+        ByteBuffer buffer = ByteBuffer.wrap(member, HEADER_SIZE, member.length - HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putShort((short) extra).put((byte) si1).put((byte) si2).putShort((short) payload.length).put(payload);
+        buffer.put(EMPTY_DEFLATE).putInt(0).putInt(0);
+        return member;
+    }
+
+    private static long[][] concat(long[][] a, long[][] b) {
+        long[][] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new ZipException("Unexpected end of file at offset " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * The blocks of a file in order, with where each starts in the compressed and uncompressed data.
+     */
+    private record Index(long[][] entries, long[] starts, long segment, int depth) {
+
+        static final Index EMPTY = new Index(new long[0][], new long[]{0}, -1, 0);
+
+        long size() {
+            return starts[starts.length - 1];
+        }
+
+        /**
+         * Returns the block containing uncompressed {@code position}, or the block count at the end.
+         */
+        int blockAt(long position) {
+            int i = Arrays.binarySearch(starts, position);
+            i = i >= 0 ? i : -(i + 1) - 1;
+            while (i < entries.length && starts[i + 1] <= position) {
+                i++; // Skip empty blocks.
+            }
+            return i;
+        }
+
+        /**
+         * Reads the index through the footer at the end of the file, or returns {@code null} if the
+         * file has no footer.
+         */
+        static Index read(FileChannel channel) throws IOException {
+            long size = channel.size();
+            if (size < FOOTER_SIZE) {
+                return null;
+            }
+            ByteBuffer footer = readAt(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            Long segment = subfield(footer, 'B', 'F', FOOTER_PAYLOAD);
+            if (segment == null) {
+                return null;
+            }
+            long newest = segment;
+            int newestDepth = -1;
+            List<long[][]> segments = new ArrayList<>();
+            for (int depth = 0; segment >= 0; depth++) {
+                if (depth > MAX_SEGMENTS || segment > size - FOOTER_SIZE) {
+                    throw new ZipException("Corrupt block index");
+                }
+                List<long[]> entries = new ArrayList<>();
+                long position = segment;
+                long previous = -1;
+                while (true) {
+                    ByteBuffer header = readAt(channel, position, HEADER_SIZE + 2 + SUBFIELD_HEADER);
+                    header.position(HEADER_SIZE);
+                    int extra = Short.toUnsignedInt(header.getShort());
+                    char si1 = (char) header.get();
+                    char si2 = (char) header.get();
+                    if (si1 == 'B' && si2 == 'F') {
+                        break;
+                    }
+                    if (si1 != 'B' || si2 != 'I' || (header.get(3) & FLG_FEXTRA) == 0) {
+                        throw new ZipException("Corrupt block index at offset " + position);
+                    }
+                    ByteBuffer payload = readAt(channel, position + HEADER_SIZE + 2 + SUBFIELD_HEADER, extra - SUBFIELD_HEADER);
+                    previous = payload.getLong();
+                    int segmentDepth = payload.getInt();
+                    if (newestDepth < 0) {
+                        newestDepth = segmentDepth;
+                    }
+                    while (payload.remaining() >= ENTRY_SIZE) {
+                        entries.add(new long[]{payload.getLong(), Integer.toUnsignedLong(payload.getInt()), Integer.toUnsignedLong(payload.getInt())});
+                    }
+                    position += HEADER_SIZE + 2 + extra + EMPTY_DEFLATE.length + TRAILER_SIZE;
+                }
+                segments.add(entries.toArray(new long[0][]));
+                segment = previous;
+            }
+            long[][] entries = new long[0][];
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                entries = concat(entries, segments.get(i));
+            }
+            long[] starts = new long[entries.length + 1];
+            for (int i = 0; i < entries.length; i++) {
+                starts[i + 1] = starts[i] + entries[i][2];
+            }
+            return new Index(entries, starts, newest, Math.max(newestDepth, 0));
+        }
+
+        /**
+         * Returns the 8-byte payload of an empty member with subfield {@code si1 si2}, or {@code null}
+         * if {@code member} is not one.
+         */
+        private static Long subfield(ByteBuffer member, char si1, char si2, int payloadLength) {
+            if ((member.get(0) & 0xFF) != 0x1F || (member.get(1) & 0xFF) != 0x8B || member.get(3) != FLG_FEXTRA
+                    || Short.toUnsignedInt(member.getShort(HEADER_SIZE)) != SUBFIELD_HEADER + payloadLength
+                    || member.get(HEADER_SIZE + 2) != si1 || member.get(HEADER_SIZE + 3) != si2) {
+                return null;
+            }
+            return member.getLong(HEADER_SIZE + 2 + SUBFIELD_HEADER);
+        }
+    }
+
+    /**
+     * Reads a block-compressed file, keeping up to {@link #MAX_IN_FLIGHT} blocks decompressing ahead
+     * of the reader. {@link #skip} jumps to the block holding the target position.
+     */
+    private static final class BlockInputStream extends InputStream {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final Index index;
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Deque<Future<byte[]>> window = new ArrayDeque<>();
+        private int nextBlock; // first block not yet scheduled
+        private byte[] current = new byte[0];
+        private int offset;
+        private long position;
+
+        BlockInputStream(Path file, FileChannel channel, Index index) {
+            this.file = file;
+            this.channel = channel;
+            this.index = index;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            position++;
+            return current[offset++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - offset);
+            System.arraycopy(current, offset, b, off, n);
+            offset += n;
+            position += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            long target = Math.min(index.size(), position + n);
+            if (target - position <= current.length - offset) {
+                offset += (int) (target - position);
+            } else {
+                cancelWindow();
+                int block = index.blockAt(target);
+                nextBlock = block;
+                current = new byte[0];
+                offset = 0;
+                if (block < index.entries().length) {
+                    current = await(schedule());
+                    offset = (int) (target - index.starts()[block]);
+                }
+            }
+            long skipped = target - position;
+            position = target;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return current.length - offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            cancelWindow();
+            executor.shutdownNow();
+            executor.close();
+            channel.close();
+        }
+
+        private boolean fill() throws IOException {
+            while (offset == current.length) {
+                if (window.isEmpty() && nextBlock == index.entries().length) {
+                    return false;
+                }
+                while (window.size() < MAX_IN_FLIGHT && nextBlock < index.entries().length) {
+                    window.add(schedule());
+                }
+                current = await(window.poll());
+                offset = 0;
+            }
+            return true;
+        }
+
+        private Future<byte[]> schedule() {
+            long[] entry = index.entries()[nextBlock++];
+            return executor.submit(() -> {
+                ByteBuffer member = readAt(channel, entry[0], (int) entry[1]);
+                try {
+                    return decompress(member.array(), (int) entry[2]);
+                } catch (ZipException e) {
+                    throw new ZipException(e.getMessage() + " in " + file + " at offset " + entry[0]);
+                }
+            });
+        }
+
+        private void cancelWindow() {
+            // Without interrupting: an interrupted positional read closes the shared channel.
+            window.forEach(future -> future.cancel(false));
+            window.clear();
+        }
+    }
+}
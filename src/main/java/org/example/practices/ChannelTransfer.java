@@ -0,0 +1,116 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Large-file copy and move built on {@link FileChannel#transferTo}, so the bytes stay in the kernel
+ * (sendfile/copy_file_range on Linux, which may also reflink on filesystems that support it)
+ * instead of being pumped through a heap buffer.
+ */
+final class ChannelTransfer {
+
+    /** Upper bound for a single transferTo call; some kernels cap a single transfer at 2 GiB anyway. */
+    static final long CHUNK_SIZE = 64L * 1024 * 1024;
+
+    private ChannelTransfer() {
+    }
+
+    /**
+     * Copies {@code source} over {@code target} in chunks and returns the number of bytes copied.
+     * The bytes go to a temporary file next to the target, which is renamed over the target once
+     * complete, so a failed copy leaves an existing target untouched. Like
+     * {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}, the copy gets the source's POSIX
+     * permissions but a fresh modification time.
+     */
+    static long copy(Path source, Path target) throws IOException {
+        return copy(source, target, false);
+    }
+
+    private static long copy(Path source, Path target, boolean keepLastModified) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            // Copying a file onto itself is a no-op, as in Files.copy.
+            return Files.size(source);
+        }
+        try (FileChannel in = FileChannel.open(source, READ)) {
+            Path directory = target.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, "." + target.getFileName(), ".tmp");
+            try {
+                long copied;
+                try (FileChannel out = FileChannel.open(temp, WRITE)) {
+                    copied = transfer(in, out, source);
+                }
+                copyAttributes(source, temp, keepLastModified);
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return copied;
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+    }
+
+    private static long transfer(FileChannel in, FileChannel out, Path source) throws IOException {
+        long size = in.size();
+        long position = 0;
+        while (position < size) {
+            long count = Math.min(CHUNK_SIZE, size - position);
+            long transferred = in.transferTo(position, count, out);
+            if (transferred == 0) {
+                transferred = out.transferFrom(in, position, count);
+            }
+            if (transferred == 0) {
+                throw new IOException("No progress copying " + source + " at offset " + position);
+            }
+            position += transferred;
+        }
+        return position;
+    }
+
+    private static void copyAttributes(Path source, Path target, boolean keepLastModified) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (view != null) {
+            Files.setPosixFilePermissions(target, view.readAttributes().permissions());
+        }
+        if (keepLastModified) {
+            Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+        }
+    }
+
+    /**
+     * Moves {@code source} to {@code target}. When both live on the same file store this is a single
+     * atomic rename; otherwise, or if the provider refuses the atomic move, it falls back to a chunked
+     * copy followed by deleting the source, which keeps the POSIX permissions and modification time
+     * as {@link Files#move} does. Returns {@code true} if the move was a rename.
+     */
+    static boolean move(Path source, Path target) throws IOException {
+        if (sameFileStore(source, target)) {
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (AtomicMoveNotSupportedException e) {
+                // Fall through to copy and delete.
+            }
+        }
+        copy(source, target, true);
+        Files.delete(source);
+        return false;
+    }
+
+    private static boolean sameFileStore(Path source, Path target) throws IOException {
+        Path targetDirectory = target.toAbsolutePath().getParent();
+        return targetDirectory != null
+                && Files.getFileStore(source).equals(Files.getFileStore(targetDirectory));
+    }
+}
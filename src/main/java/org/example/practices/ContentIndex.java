@@ -0,0 +1,121 @@
+package org.example.practices;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * SHA-256 digests from a previous duplicate scan, stored as hash → paths in a small binary file in
+ * the scanned root. A path's digest is reused only while its size and modification time are
+ * unchanged, so a rescan reads just the files that were added or modified since.
+ */
+final class ContentIndex {
+
+    static final String FILE_NAME = ".content-index";
+    static final String TEMP_FILE_NAME = FILE_NAME + ".tmp";
+    private static final Logger logger = Logger.getLogger(ContentIndex.class.getName());
+    private static final int MAGIC = 0x43494458; // "CIDX"
+    private static final int VERSION = 1;
+
+    record Entry(long size, long modifiedMillis, byte[] hash) {
+    }
+
+    private final Map<String, Entry> entries;
+
+    private ContentIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    static ContentIndex empty() {
+        return new ContentIndex(Map.of());
+    }
+
+    /**
+     * Reads the index in {@code root}. Returns an empty one if there is none yet, or if it cannot be
+     * read, is corrupt or was written by another version: the index only saves work, so the scan
+     * then hashes every candidate and writes a fresh one.
+     */
+    static ContentIndex load(Path root) {
+        Path file = root.resolve(FILE_NAME);
+        Map<String, Entry> entries = new HashMap<>();
+        if (Files.notExists(file)) {
+            return new ContentIndex(entries);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unrecognized content index: " + file);
+            }
+            int hashes = in.readInt();
+            for (int i = 0; i < hashes; i++) {
+                byte[] hash = new byte[in.readUnsignedShort()];
+                in.readFully(hash);
+                int paths = in.readInt();
+                for (int j = 0; j < paths; j++) {
+                    String path = in.readUTF();
+                    entries.put(path, new Entry(in.readLong(), in.readLong(), hash));
+                }
+            }
+        } catch (IOException e) {
+            logger.warning(() -> "Ignoring content index " + file + ": " + e);
+            return empty();
+        }
+        return new ContentIndex(entries);
+    }
+
+    /** Returns the recorded digest of {@code path} if the file still has the recorded size and modification time. */
+    byte[] hash(String path, long size, long modifiedMillis) {
+        Entry entry = entries.get(path);
+        return entry != null && entry.size() == size && entry.modifiedMillis() == modifiedMillis ? entry.hash() : null;
+    }
+
+    /**
+     * Replaces the index with {@code current}, writing to a temporary file first so a crash never
+     * leaves a torn index. A failure is logged rather than thrown: losing the index only costs the
+     * next scan some hashing, while the scan that produced it has already done its work.
+     */
+    static void store(Path root, Map<String, Entry> current) {
+        Map<String, List<Map.Entry<String, Entry>>> byHash = new HashMap<>();
+        for (Map.Entry<String, Entry> e : current.entrySet()) {
+            byHash.computeIfAbsent(HexFormat.of().formatHex(e.getValue().hash()), h -> new ArrayList<>()).add(e);
+        }
+        Path file = root.resolve(FILE_NAME);
+        Path temp = root.resolve(TEMP_FILE_NAME);
+        try {
+            write(temp, byHash);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning(() -> "Could not store content index " + file + ": " + e);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // The next scan skips the temporary file and overwrites it.
+            }
+        }
+    }
+
+    private static void write(Path temp, Map<String, List<Map.Entry<String, Entry>>> byHash) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(byHash.size());
+            for (List<Map.Entry<String, Entry>> paths : byHash.values()) {
+                byte[] hash = paths.getFirst().getValue().hash();
+                out.writeShort(hash.length);
+                out.write(hash);
+                out.writeInt(paths.size());
+                for (Map.Entry<String, Entry> e : paths) {
+                    out.writeUTF(e.getKey());
+                    out.writeLong(e.getValue().size());
+                    out.writeLong(e.getValue().modifiedMillis());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a bulk copy: how much was copied, how long it took and which files failed.
+ * A copy that hits errors keeps going and reports them here instead of throwing.
+ */
+public record CopyResult(long files, long bytes, Duration elapsed, List<Failure> failures) {
+
+    public CopyResult {
+        failures = List.copyOf(failures);
+    }
+
+    /**
+     * A single path that could not be copied, with the exception that stopped it.
+     */
+    public record Failure(Path path, Exception cause) {
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    public double bytesPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0.0 : bytes * 1_000_000_000.0 / nanos;
+    }
+
+    public double filesPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0.0 : files * 1_000_000_000.0 / nanos;
+    }
+}
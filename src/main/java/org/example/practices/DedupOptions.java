@@ -0,0 +1,17 @@
+package org.example.practices;
+
+/**
+ * How {@link FileAndDirectoryOperations#findDuplicates} remembers digests between runs and what it
+ * does with the duplicates it finds.
+ *
+ * @param useIndex        keep a hash → paths index in the scanned root and reuse digests of files
+ *                        whose size and modification time have not changed since the last scan;
+ *                        off by default, since it writes a file into the tree being scanned
+ * @param linkDuplicates  replace every duplicate with a hard link to the first copy in path order,
+ *                        instead of only reporting it
+ */
+public record DedupOptions(boolean useIndex, boolean linkDuplicates) {
+
+    public static final DedupOptions DEFAULT = new DedupOptions(false, false);
+    public static final DedupOptions INDEXED = new DedupOptions(true, false);
+}
@@ -0,0 +1,19 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A path found by a directory listing, together with the attributes read for it during the walk,
+ * so callers can check type, size or timestamps without another stat call.
+ */
+public record DirectoryEntry(Path path, BasicFileAttributes attributes) {
+
+    public boolean isDirectory() {
+        return attributes.isDirectory();
+    }
+
+    public boolean isRegularFile() {
+        return attributes.isRegularFile();
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Brings a target directory up to date with a source directory, copying only files whose size,
+ * modification time or (optionally) content differ from what the previous sync recorded in its
+ * {@link SyncManifest}. Files are compared and copied in parallel.
+ */
+final class DirectorySync {
+
+    private static final int MAX_IN_FLIGHT = 16;
+
+    private final Path source;
+    private final Path target;
+    private final SyncOptions options;
+    private final SyncManifest previous;
+    private final Map<String, SyncManifest.Entry> current = new ConcurrentHashMap<>();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final LongAdder copied = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Queue<CopyResult.Failure> failures = new ConcurrentLinkedQueue<>();
+
+    private DirectorySync(Path source, Path target, SyncOptions options, SyncManifest previous) {
+        this.source = source;
+        this.target = target;
+        this.options = options;
+        this.previous = previous;
+    }
+
+    static SyncResult sync(Path source, Path target, SyncOptions options) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(target);
+        DirectorySync sync = new DirectorySync(source, target, options, SyncManifest.load(target));
+
+        Path manifest = source.resolve(SyncManifest.FILE_NAME);
+        Queue<DirectoryEntry> files = new ConcurrentLinkedQueue<>();
+        Queue<Path> directories = new ConcurrentLinkedQueue<>();
+        Queue<Path> unsupported = new ConcurrentLinkedQueue<>();
+        ParallelDirectoryLister.walk(source, Integer.MAX_VALUE, FileAndDirectoryOperations.LISTING_PARALLELISM,
+                (path, attrs) -> !path.equals(manifest),
+                entry -> {
+                    if (entry.attributes().isRegularFile()) {
+                        files.add(entry);
+                    } else if (entry.attributes().isDirectory()) {
+                        directories.add(entry.path());
+                    } else {
+                        unsupported.add(entry.path());
+                    }
+                });
+
+        // Mirror every directory, so empty ones are kept too.
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        for (Path directory : directories) {
+            String key = sync.key(directory);
+            seen.add(key);
+            try {
+                Files.createDirectories(target.resolve(key));
+            } catch (IOException e) {
+                sync.failures.add(new CopyResult.Failure(directory, e));
+            }
+        }
+        // Links and special files are not copied, and whatever is at their place in the target is left alone.
+        List<Path> notCopied = new ArrayList<>();
+        for (Path path : unsupported) {
+            String key = sync.key(path);
+            seen.add(key);
+            notCopied.add(Path.of(key));
+        }
+        notCopied.sort(null);
+
+        try (ForkScope scope = new ForkScope()) {
+            // Schedule from inside the scope so it cannot drain to zero before every file is queued.
+            scope.fork(() -> {
+                for (DirectoryEntry file : files) {
+                    seen.add(sync.key(file.path()));
+                    sync.inFlight.acquireUninterruptibly();
+                    scope.fork(() -> sync.syncFile(file.path(), file.attributes()));
+                }
+            });
+            scope.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while syncing " + source, e);
+        }
+
+        List<Path> orphans = sync.handleOrphans(seen);
+        SyncManifest.store(target, sync.current);
+        return new SyncResult(sync.copied.sum(), sync.skipped.sum(), sync.bytes.sum(), orphans, options.deleteOrphans(),
+                notCopied, new ArrayList<>(sync.failures), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private String key(Path file) {
+        return source.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    private void syncFile(Path file, BasicFileAttributes attrs) {
+        String key = key(file);
+        SyncManifest.Entry old = previous.get(key);
+        Path destination = target.resolve(key);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+        try {
+            byte[] hash = null;
+            boolean unchanged;
+            if (options.verifyContent()) {
+                hash = sha256(file);
+                unchanged = old != null && old.sameHash(hash);
+            } else {
+                unchanged = old != null && old.sameMetadata(size, modified);
+            }
+            if (unchanged && intact(destination, size)) {
+                skipped.increment();
+            } else {
+                Files.createDirectories(destination.getParent());
+                Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                copied.increment();
+                bytes.add(size);
+            }
+            current.put(key, SyncManifest.entry(size, modified, hash));
+        } catch (IOException e) {
+            failures.add(new CopyResult.Failure(file, e));
+            if (old != null) {
+                current.put(key, old);
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /** Guards against the target copy having been deleted or truncated since the last sync. */
+    private static boolean intact(Path destination, long expectedSize) throws IOException {
+        try {
+            return Files.readAttributes(destination, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).size() == expectedSize;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Finds files, directories and links at the target with no counterpart in the source, whether or
+     * not an earlier sync copied them, and deletes them if asked to. Deletion goes in reverse path
+     * order, so an orphaned directory is emptied before it is removed.
+     */
+    private List<Path> handleOrphans(Set<String> seen) throws IOException {
+        Path manifest = target.resolve(SyncManifest.FILE_NAME);
+        Path manifestTemp = target.resolve(SyncManifest.FILE_NAME + ".tmp");
+        Queue<Path> candidates = new ConcurrentLinkedQueue<>();
+        ParallelDirectoryLister.walk(target, Integer.MAX_VALUE, FileAndDirectoryOperations.LISTING_PARALLELISM,
+                (path, attrs) -> !path.equals(manifest) && !path.equals(manifestTemp),
+                entry -> candidates.add(entry.path()));
+
+        List<Path> orphans = new ArrayList<>();
+        for (Path path : candidates) {
+            String key = target.relativize(path).toString().replace(File.separatorChar, '/');
+            if (!seen.contains(key)) {
+                orphans.add(Path.of(key));
+            }
+        }
+        orphans.sort(null);
+        if (options.deleteOrphans()) {
+            for (Path orphan : orphans.reversed()) {
+                Path path = target.resolve(orphan);
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    failures.add(new CopyResult.Failure(path, e));
+                }
+            }
+        }
+        return orphans;
+    }
+
+    private static byte[] sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+}
@@ -0,0 +1,352 @@
+package org.example.practices;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Finds files with identical content below a directory, reading as little as possible. Files are
+ * first grouped by size, which costs nothing beyond the walk. Within a size group, large files are
+ * compared by a CRC of their first and last {@link #PARTIAL_BLOCK} bytes, and only those that still
+ * collide are hashed in full with SHA-256, through memory mappings for large files. Partial and
+ * full hashes are computed in parallel on virtual threads.
+ */
+final class DuplicateFinder {
+
+    static final int PARTIAL_BLOCK = 16 * 1024;
+    private static final int MAX_IN_FLIGHT = 16;
+    /** Files smaller than this are hashed with ordinary reads; larger ones through mappings. */
+    private static final long MAP_THRESHOLD = 1024 * 1024;
+    private static final long MAP_REGION = 64 * 1024 * 1024;
+    private static final String LINK_SUFFIX = ".dedup-link";
+
+    private final Path root;
+    private final ContentIndex previous;
+    private final Map<String, ContentIndex.Entry> current = new ConcurrentHashMap<>();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final LongAdder filesHashed = new LongAdder();
+    private final LongAdder bytesHashed = new LongAdder();
+    private final Queue<CopyResult.Failure> failures = new ConcurrentLinkedQueue<>();
+    private long linked;
+
+    /** One file, reachable through one or more paths that are hard links to each other. */
+    private static final class Candidate {
+        final List<Path> paths = new ArrayList<>(1);
+        final long size;
+        final long modified;
+        long partial;
+        byte[] hash;
+        /** Whether {@link #hash} was taken from the index rather than computed from the content. */
+        boolean indexed;
+        boolean failed;
+
+        Candidate(long size, long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+
+        Path path() {
+            return paths.getFirst();
+        }
+    }
+
+    private interface Step {
+        void apply(Candidate candidate) throws IOException;
+    }
+
+    private DuplicateFinder(Path root, ContentIndex previous) {
+        this.root = root;
+        this.previous = previous;
+    }
+
+    static DuplicateReport find(Path root, DedupOptions options) throws IOException {
+        long start = System.nanoTime();
+        DuplicateFinder finder = new DuplicateFinder(root, options.useIndex() ? ContentIndex.load(root) : ContentIndex.empty());
+
+        Path indexFile = root.resolve(ContentIndex.FILE_NAME);
+        Path indexTemp = root.resolve(ContentIndex.TEMP_FILE_NAME);
+        Queue<DirectoryEntry> files = new ConcurrentLinkedQueue<>();
+        // Skip the index, and the temporary files an interrupted run may have left behind.
+        ParallelDirectoryLister.walk(root, Integer.MAX_VALUE, FileAndDirectoryOperations.LISTING_PARALLELISM,
+                (path, attrs) -> attrs.isRegularFile() && attrs.size() > 0 && !path.equals(indexFile)
+                        && !path.equals(indexTemp) && !path.getFileName().toString().endsWith(LINK_SUFFIX),
+                files::add);
+
+        List<List<Candidate>> groups = finder.groupBySize(files);
+        groups = finder.refine(groups, true);
+        groups = finder.refine(groups, false);
+        if (options.linkDuplicates()) {
+            groups = finder.verify(groups);
+            groups.forEach(finder::link);
+        }
+        groups.sort(Comparator.comparingLong((List<Candidate> group) -> group.getFirst().size * (group.size() - 1)).reversed());
+        if (options.useIndex()) {
+            ContentIndex.store(root, finder.current);
+        }
+
+        List<DuplicateReport.Group> report = new ArrayList<>(groups.size());
+        for (List<Candidate> group : groups) {
+            Candidate first = group.getFirst();
+            List<Path> paths = group.stream().flatMap(candidate -> candidate.paths.stream()).sorted().toList();
+            report.add(new DuplicateReport.Group(HexFormat.of().formatHex(first.hash), first.size, group.size(), paths));
+        }
+        return new DuplicateReport(files.size(), finder.filesHashed.sum(), finder.bytesHashed.sum(), report, finder.linked,
+                new ArrayList<>(finder.failures), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private String key(Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Merges paths that are hard links to the same file, picks up digests from the index, and
+     * returns the size groups holding more than one file.
+     */
+    private List<List<Candidate>> groupBySize(Iterable<DirectoryEntry> files) {
+        Map<Object, Candidate> byFileKey = new HashMap<>();
+        Map<Long, List<Candidate>> bySize = new HashMap<>();
+        for (DirectoryEntry file : files) {
+            BasicFileAttributes attrs = file.attributes();
+            Object fileKey = attrs.fileKey();
+            Candidate candidate = fileKey == null ? null : byFileKey.get(fileKey);
+            if (candidate == null) {
+                candidate = new Candidate(attrs.size(), attrs.lastModifiedTime().toMillis());
+                candidate.hash = previous.hash(key(file.path()), candidate.size, candidate.modified);
+                candidate.indexed = candidate.hash != null;
+                if (fileKey != null) {
+                    byFileKey.put(fileKey, candidate);
+                }
+                bySize.computeIfAbsent(candidate.size, size -> new ArrayList<>()).add(candidate);
+            }
+            candidate.paths.add(file.path());
+        }
+        List<List<Candidate>> groups = new ArrayList<>();
+        for (List<Candidate> group : bySize.values()) {
+            group.forEach(candidate -> candidate.paths.sort(null));
+            group.sort(Comparator.comparing(Candidate::path));
+            // Keep the digests of files that are unique for now, in case a copy turns up later.
+            group.stream().filter(candidate -> candidate.hash != null).forEach(this::remember);
+            if (group.size() > 1) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Computes partial or full hashes for the candidates that still need them, then splits each group
+     * by hash, dropping candidates that failed and subgroups left with a single file. Groups of small
+     * files, or whose digests all came from the index, skip the partial pass.
+     */
+    private List<List<Candidate>> refine(List<List<Candidate>> groups, boolean partial) throws IOException {
+        Step step = partial ? this::partialHash : this::fullHash;
+        Function<Candidate, Object> key = partial
+                ? candidate -> candidate.partial
+                : candidate -> HexFormat.of().formatHex(candidate.hash);
+        List<Candidate> pending = new ArrayList<>();
+        List<List<Candidate>> skipped = new ArrayList<>();
+        List<List<Candidate>> stepped = new ArrayList<>();
+        for (List<Candidate> group : groups) {
+            if (partial && (group.getFirst().size <= 2L * PARTIAL_BLOCK
+                    || group.stream().allMatch(candidate -> candidate.hash != null))) {
+                skipped.add(group);
+                continue;
+            }
+            stepped.add(group);
+            for (Candidate candidate : group) {
+                if (partial || candidate.hash == null) {
+                    pending.add(candidate);
+                }
+            }
+        }
+        forEachParallel(pending, step);
+
+        List<List<Candidate>> refined = new ArrayList<>(skipped);
+        for (List<Candidate> group : stepped) {
+            Map<Object, List<Candidate>> split = new HashMap<>();
+            for (Candidate candidate : group) {
+                if (!candidate.failed) {
+                    split.computeIfAbsent(key.apply(candidate), k -> new ArrayList<>()).add(candidate);
+                }
+            }
+            for (List<Candidate> subgroup : split.values()) {
+                if (subgroup.size() > 1) {
+                    refined.add(subgroup);
+                }
+            }
+        }
+        return refined;
+    }
+
+    /**
+     * Hashes every candidate whose digest came from the index and splits the groups again. A file can
+     * be rewritten without changing its size or modification time, so the index may decide what gets
+     * reported but never which files are replaced by links.
+     */
+    private List<List<Candidate>> verify(List<List<Candidate>> groups) throws IOException {
+        boolean any = false;
+        for (List<Candidate> group : groups) {
+            for (Candidate candidate : group) {
+                if (candidate.indexed) {
+                    candidate.hash = null;
+                    candidate.indexed = false;
+                    any = true;
+                }
+            }
+        }
+        return any ? refine(groups, false) : groups;
+    }
+
+    private void forEachParallel(List<Candidate> candidates, Step step) throws IOException {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        try (ForkScope scope = new ForkScope()) {
+            // Schedule from inside the scope so it cannot drain to zero before every candidate is queued.
+            scope.fork(() -> {
+                for (Candidate candidate : candidates) {
+                    inFlight.acquireUninterruptibly();
+                    scope.fork(() -> {
+                        try {
+                            step.apply(candidate);
+                        } catch (IOException e) {
+                            candidate.failed = true;
+                            failures.add(new CopyResult.Failure(candidate.path(), e));
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            });
+            scope.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while hashing files in " + root, e);
+        }
+    }
+
+    private void partialHash(Candidate candidate) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(2 * PARTIAL_BLOCK);
+        try (FileChannel channel = FileChannel.open(candidate.path(), StandardOpenOption.READ)) {
+            readFully(channel, buffer.limit(PARTIAL_BLOCK), 0);
+            readFully(channel, buffer.limit(2 * PARTIAL_BLOCK), candidate.size - PARTIAL_BLOCK);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.flip());
+        candidate.partial = crc.getValue();
+    }
+
+    private void fullHash(Candidate candidate) throws IOException {
+        MessageDigest digest = sha256();
+        long size;
+        try (FileChannel channel = FileChannel.open(candidate.path(), StandardOpenOption.READ)) {
+            size = channel.size();
+            if (size < MAP_THRESHOLD) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                readFully(channel, buffer, 0);
+                digest.update(buffer.flip());
+            } else {
+                for (long position = 0; position < size; position += MAP_REGION) {
+                    digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_REGION, size - position)));
+                }
+            }
+        }
+        candidate.hash = digest.digest();
+        filesHashed.increment();
+        bytesHashed.add(size);
+        remember(candidate);
+    }
+
+    private void remember(Candidate candidate) {
+        for (Path path : candidate.paths) {
+            current.put(key(path), new ContentIndex.Entry(candidate.size, candidate.modified, candidate.hash));
+        }
+    }
+
+    /**
+     * Replaces every path of every candidate after the first with a hard link to the first. Each link
+     * is made under a temporary name and renamed over the duplicate, so a path never goes missing.
+     */
+    private void link(List<Candidate> group) {
+        Candidate original = group.getFirst();
+        if (changed(original.path(), original)) {
+            return;
+        }
+        for (Candidate duplicate : group.subList(1, group.size())) {
+            for (Path path : duplicate.paths) {
+                if (changed(path, duplicate)) {
+                    continue;
+                }
+                Path temp = path.resolveSibling(path.getFileName() + LINK_SUFFIX);
+                try {
+                    Files.createLink(temp, original.path());
+                    try {
+                        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        Files.deleteIfExists(temp);
+                        throw e;
+                    }
+                    linked++;
+                    current.put(key(path), new ContentIndex.Entry(original.size, original.modified, original.hash));
+                } catch (IOException | UnsupportedOperationException e) {
+                    failures.add(new CopyResult.Failure(path, e));
+                }
+            }
+        }
+    }
+
+    /** Records a failure if {@code path} was modified after it was hashed. */
+    private boolean changed(Path path, Candidate candidate) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (attrs.size() == candidate.size && attrs.lastModifiedTime().toMillis() == candidate.modified) {
+                return false;
+            }
+            failures.add(new CopyResult.Failure(path, new IOException("Modified since it was hashed: " + path)));
+        } catch (IOException e) {
+            failures.add(new CopyResult.Failure(path, e));
+        }
+        return true;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return; // Truncated since the walk; the hash will simply not match.
+            }
+            position += read;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a duplicate scan. {@code filesHashed} and {@code bytesHashed} count only the files
+ * that had to be read in full; the rest were ruled out by size or partial hash, or taken from the
+ * index. {@code linked} is the number of paths replaced with hard links.
+ */
+public record DuplicateReport(long filesScanned, long filesHashed, long bytesHashed, List<Group> groups, long linked,
+                              List<CopyResult.Failure> failures, Duration elapsed) {
+
+    public DuplicateReport {
+        groups = List.copyOf(groups);
+        failures = List.copyOf(failures);
+    }
+
+    /**
+     * Paths with identical content, in path order. Paths that were already hard links to one another
+     * count as a single file in {@code files}.
+     */
+    public record Group(String sha256, long size, int files, List<Path> paths) {
+
+        public Group {
+            paths = List.copyOf(paths);
+        }
+
+        /** Bytes freed by keeping one copy of the content. */
+        public long reclaimableBytes() {
+            return size * (files - 1);
+        }
+    }
+
+    public long reclaimableBytes() {
+        return groups.stream().mapToLong(Group::reclaimableBytes).sum();
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
@@ -1,9 +1,24 @@
 package org.example.practices;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -11,6 +26,14 @@ public class FileAndDirectoryOperations {
 
     private static final Logger logger = Logger.getLogger(FileAndDirectoryOperations.class.getName());
 
+    /** Files at least this large are copied and moved through {@link java.nio.channels.FileChannel} transfers. */
+    public static final long LARGE_FILE_THRESHOLD = 8L * 1024 * 1024;
+
+    /** Maximum number of directories {@link #listTree} reads at the same time. */
+    public static final int LISTING_PARALLELISM = 16;
+
+    private static volatile FileMetadataCache metadataCache;
+
   public static void main(String[] args) {
     // File paths
     Path exampleFile = Paths.get("src/main/resources/ExampleFile.txt");
@@ -42,105 +65,287 @@ public class FileAndDirectoryOperations {
     listDirectories(movedDirectory).ifPresent(dirs -> dirs.forEach(System.out::println)); // List subdirectories in the moved directory
 }
     public static void createFile(Path file) {
+        OperationTimer timer = OperationTimer.start(FileOperation.CREATE_FILE, file);
         try {
-            if (checkExists(file, true)) {
+            boolean created = checkExists(file, true);
+            if (created) {
                 Files.createFile(file);
-                logger.info("File created: " + file);
+                invalidateCached(file);
+                logger.info(() -> "File created: " + file);
             }
+            timer.success(0, created ? 1 : 0);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error creating file: " + file, e);
         }
     }
 
     public static void writeFile(Path file, String content) {
+        OperationTimer timer = OperationTimer.start(FileOperation.WRITE_FILE, file);
         try {
-            Files.writeString(file, content, StandardOpenOption.WRITE);
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            Files.write(file, bytes, StandardOpenOption.WRITE);
+            invalidateCached(file);
+            timer.success(bytes.length, 1);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error writing to file: " + file, e);
         }
     }
 
     public static void appendToFile(Path file, String content) {
+        OperationTimer timer = OperationTimer.start(FileOperation.APPEND_TO_FILE, file);
         try {
-            Files.writeString(file, content, StandardOpenOption.APPEND);
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            Files.write(file, bytes, StandardOpenOption.APPEND);
+            invalidateCached(file);
+            timer.success(bytes.length, 1);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error appending to file: " + file, e);
         }
     }
 
+    /**
+     * Opens a long-lived {@link FileAppender} for callers that append many times; each
+     * {@link #appendToFile(Path, String)} call opens and closes the file.
+     */
+    public static FileAppender openAppender(Path file) {
+        return FileAppender.open(file);
+    }
+
     public static void readFile(Path file) {
-        if (Files.exists(file)) {
+        OperationTimer timer = OperationTimer.start(FileOperation.READ_FILE, file);
+        if (exists(file)) {
             try (Stream<String> lines = Files.lines(file)) {
+                long bytes = Files.size(file);
                 lines.forEach(System.out::println);
+                timer.success(bytes, 1);
             } catch (IOException e) {
+                timer.failure(e);
+                throw new FileOperationException("Error reading file: " + file, e);
+            }
+        } else {
+            timer.success(0, 0);
+            logger.warning(() -> "File does not exist: " + file);
+        }
+    }
+
+    /**
+     * Returns the lines of a UTF-8 file as a lazy stream backed by memory-mapped regions.
+     * ASCII lines are views over the mapping rather than new Strings, so copy them with
+     * {@code toString()} if they need to outlive the stream. The stream splits by byte range when
+     * run in parallel and must be closed, e.g. with try-with-resources. Listeners see the read when
+     * the stream is closed, with the size of the mapped file.
+     */
+    public static Stream<CharSequence> readFileMapped(Path file) {
+        OperationTimer timer = OperationTimer.start(FileOperation.READ_FILE, file);
+        try {
+            long size = Files.size(file);
+            return MappedLineSpliterator.lines(file).onClose(() -> timer.success(size, 1));
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error reading file: " + file, e);
+        }
+    }
+
+    /**
+     * Writes {@code content} as a gzip file compressed in independent 1 MiB blocks on all cores,
+     * replacing the file's contents. Any gzip reader can decompress it; {@link #openCompressed}
+     * also decompresses it in parallel. Listeners see the uncompressed byte count.
+     */
+    public static void writeFileCompressed(Path file, String content) {
+        OperationTimer timer = OperationTimer.start(FileOperation.WRITE_FILE, file);
+        try {
+            BlockGzip.Written written = BlockGzip.write(file, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), false);
+            invalidateCached(file);
+            timer.success(written.bytes(), 1);
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error writing to file: " + file, e);
+        }
+    }
+
+    /**
+     * Appends {@code content} to a file written by {@link #writeFileCompressed}, creating it if it
+     * does not exist. The existing blocks are not recompressed.
+     */
+    public static void appendToFileCompressed(Path file, String content) {
+        OperationTimer timer = OperationTimer.start(FileOperation.APPEND_TO_FILE, file);
+        try {
+            BlockGzip.Written written = BlockGzip.write(file, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), true);
+            invalidateCached(file);
+            timer.success(written.bytes(), 1);
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error appending to file: " + file, e);
+        }
+    }
+
+    /**
+     * Prints the lines of a gzip file, like {@link #readFile} does for plain files.
+     */
+    public static void readFileCompressed(Path file) {
+        OperationTimer timer = OperationTimer.start(FileOperation.READ_FILE, file);
+        if (exists(file)) {
+            try (CountingInputStream in = new CountingInputStream(BlockGzip.open(file));
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                reader.lines().forEach(System.out::println);
+                timer.success(in.count, 1);
+            } catch (IOException | UncheckedIOException e) {
+                timer.failure(e);
                 throw new FileOperationException("Error reading file: " + file, e);
             }
         } else {
-            logger.warning("File does not exist: " + file);
+            timer.success(0, 0);
+            logger.warning(() -> "File does not exist: " + file);
+        }
+    }
+
+    /**
+     * Opens a gzip file for reading its uncompressed bytes. Files written by
+     * {@link #writeFileCompressed} are decompressed several blocks ahead of the reader, and
+     * {@link InputStream#skip} seeks without decompressing the skipped blocks. The stream must be
+     * closed; listeners see the read then, with the number of uncompressed bytes read.
+     */
+    public static InputStream openCompressed(Path file) {
+        OperationTimer timer = OperationTimer.start(FileOperation.READ_FILE, file);
+        try {
+            return new CountingInputStream(BlockGzip.open(file), timer);
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error reading file: " + file, e);
+        }
+    }
+
+    /**
+     * Copies {@code source} to {@code target} as a block-compressed gzip file. The two must be
+     * different files, since the target is truncated before the source is read.
+     */
+    public static void copyFileCompressed(Path source, Path target) {
+        OperationTimer timer = OperationTimer.start(FileOperation.COPY_FILE, source);
+        try (InputStream in = Files.newInputStream(source)) {
+            if (Files.exists(target) && Files.isSameFile(source, target)) {
+                throw new FileSystemException(source.toString(), target.toString(), "Source and target are the same file");
+            }
+            BlockGzip.Written written = BlockGzip.write(target, in, false);
+            invalidateCached(target);
+            timer.success(written.bytes(), 1);
+            logger.info(() -> "File compressed from " + source + " to " + target + " ("
+                    + written.bytes() + " -> " + written.compressedBytes() + " bytes)");
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error copying file: " + source, e);
         }
     }
 
     public static Optional<Stream<Path>> listFiles(Path directory) {
-        if (Files.exists(directory)) {
+        OperationTimer timer = OperationTimer.start(FileOperation.LIST_FILES, directory);
+        if (exists(directory)) {
             try {
-                return Optional.of(Files.list(directory));
+                List<DirectoryEntry> children = listChildren(directory);
+                timer.success(0, children.size());
+                return Optional.of(children.stream().map(DirectoryEntry::path));
             } catch (IOException e) {
+                timer.failure(e);
                 throw new FileOperationException("Error listing files in directory: " + directory, e);
             }
         }
+        timer.success(0, 0);
         return Optional.empty();
     }
 
     public static void renameFile(Path source, Path target) {
+        OperationTimer timer = OperationTimer.start(FileOperation.RENAME_FILE, source);
         try {
             Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
-            logger.info("File renamed from " + source + " to " + target);
+            invalidateCached(source, target);
+            timer.success(0, 1);
+            logger.info(() -> "File renamed from " + source + " to " + target);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error renaming file: " + source, e);
         }
     }
 
     public static void copyFile(Path source, Path target) {
+        OperationTimer timer = OperationTimer.start(FileOperation.COPY_FILE, source);
         try {
+            long size = Files.size(source);
+            if (size >= LARGE_FILE_THRESHOLD) {
+                long bytes = ChannelTransfer.copy(source, target);
+                invalidateCached(target);
+                timer.success(bytes, 1);
+                logger.info(() -> "Large file copied from " + source + " to " + target + " (" + bytes + " bytes)");
+                return;
+            }
             Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-            logger.info("File copied from " + source + " to " + target);
+            invalidateCached(target);
+            timer.success(size, 1);
+            logger.info(() -> "File copied from " + source + " to " + target);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error copying file: " + source, e);
         }
     }
 
     public static void moveFile(Path source, Path target) {
+        OperationTimer timer = OperationTimer.start(FileOperation.MOVE_FILE, source);
         try {
+            long size = Files.size(source);
+            if (size >= LARGE_FILE_THRESHOLD) {
+                boolean renamed = ChannelTransfer.move(source, target);
+                invalidateCached(source, target);
+                timer.success(renamed ? 0 : size, 1);
+                logger.info(() -> "Large file moved from " + source + " to " + target + (renamed ? " (renamed)" : " (copied)"));
+                return;
+            }
             Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
-            logger.info("File moved from " + source + " to " + target);
+            invalidateCached(source, target);
+            timer.success(0, 1);
+            logger.info(() -> "File moved from " + source + " to " + target);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error moving file: " + source, e);
         }
     }
 
     public static void createDirectory(Path directory) {
+        OperationTimer timer = OperationTimer.start(FileOperation.CREATE_DIRECTORY, directory);
         try {
-            if (checkExists(directory, false)) {
+            boolean created = checkExists(directory, false);
+            if (created) {
                 Files.createDirectory(directory);
-                logger.info("Directory created: " + directory);
+                invalidateCached(directory);
+                logger.info(() -> "Directory created: " + directory);
             }
+            timer.success(0, created ? 1 : 0);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error creating directory: " + directory, e);
         }
     }
 
     public static void renameDirectory(Path source, Path target) {
+        OperationTimer timer = OperationTimer.start(FileOperation.RENAME_DIRECTORY, source);
         try {
             Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
-            logger.info("Directory renamed from " + source + " to " + target);
+            invalidateCachedTree(source, target);
+            timer.success(0, 1);
+            logger.info(() -> "Directory renamed from " + source + " to " + target);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error renaming directory: " + source, e);
         }
     }
 
     public static void copyDirectory(Path source, Path target) {
+        OperationTimer timer = OperationTimer.start(FileOperation.COPY_DIRECTORY, source);
         try {
-            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            var visitor = new SimpleFileVisitor<Path>() {
+                long files;
+                long bytes;
+
                 @Override
                 public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
                     Path targetDir = target.resolve(source.relativize(dir));
@@ -151,38 +356,304 @@ public class FileAndDirectoryOperations {
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
                     Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                    files++;
+                    bytes += attrs.size();
                     return FileVisitResult.CONTINUE;
                 }
-            });
-            logger.info("Directory copied from " + source + " to " + target);
+            };
+            Files.walkFileTree(source, visitor);
+            invalidateCachedTree(target);
+            timer.success(visitor.bytes, visitor.files);
+            logger.info(() -> "Directory copied from " + source + " to " + target);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error copying directory: " + source, e);
         }
     }
 
+    /**
+     * Copies a directory tree in parallel on virtual threads, keeping at most {@code maxInFlight}
+     * file copies running at once. Unlike {@link #copyDirectory(Path, Path)} this does not stop at
+     * the first error; per-file failures are reported in the returned {@link CopyResult}.
+     */
+    public static CopyResult copyDirectory(Path source, Path target, int maxInFlight) {
+        OperationTimer timer = OperationTimer.start(FileOperation.COPY_DIRECTORY, source);
+        CopyResult result;
+        try {
+            result = ParallelTreeCopier.copy(source, target, maxInFlight);
+        } catch (RuntimeException e) {
+            timer.failure(e);
+            throw e;
+        }
+        invalidateCachedTree(target);
+        timer.completed(result.bytes(), result.files(), result.failures());
+        logger.info(() -> "Directory copied from " + source + " to " + target + ": " + result.files() + " files, "
+                + result.bytes() + " bytes, " + result.failures().size() + " failures in " + result.elapsed());
+        return result;
+    }
+
+    /**
+     * Incrementally mirrors {@code source} into {@code target}, copying only files that changed since
+     * the last sync and recreating every directory. Symbolic links are reported rather than copied. A
+     * manifest of what was copied is kept in the target root between runs.
+     */
+    public static SyncResult syncDirectory(Path source, Path target, SyncOptions options) {
+        OperationTimer timer = OperationTimer.start(FileOperation.SYNC_DIRECTORY, source);
+        try {
+            SyncResult result = DirectorySync.sync(source, target, options);
+            invalidateCachedTree(target);
+            timer.completed(result.bytesCopied(), result.copied(), result.failures());
+            logger.info(() -> "Directory synced from " + source + " to " + target + ": " + result.copied() + " copied, "
+                    + result.skipped() + " unchanged, " + result.orphans().size() + " orphans, "
+                    + result.notCopied().size() + " not copied, " + result.failures().size() + " failures in " + result.elapsed());
+            return result;
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error syncing directory: " + source, e);
+        }
+    }
+
+    /**
+     * Finds files below {@code root} with identical content. Candidates are narrowed by size and a
+     * partial hash before any file is read in full. With {@link DedupOptions#useIndex()} digests are
+     * kept in an index in the root between runs. With {@link DedupOptions#linkDuplicates()} every duplicate is replaced by a hard
+     * link to one copy; per-file failures are reported in the returned {@link DuplicateReport}.
+     */
+    public static DuplicateReport findDuplicates(Path root, DedupOptions options) {
+        OperationTimer timer = OperationTimer.start(FileOperation.FIND_DUPLICATES, root);
+        try {
+            DuplicateReport result = DuplicateFinder.find(root, options);
+            if (result.linked() > 0) {
+                invalidateCachedTree(root);
+            }
+            timer.completed(result.bytesHashed(), result.filesScanned(), result.failures());
+            logger.info(() -> "Duplicates found in " + root + ": " + result.groups().size() + " groups, "
+                    + result.reclaimableBytes() + " bytes reclaimable, " + result.linked() + " linked, "
+                    + result.filesHashed() + " of " + result.filesScanned() + " files hashed, "
+                    + result.failures().size() + " failures in " + result.elapsed());
+            return result;
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error finding duplicates in: " + root, e);
+        }
+    }
+
     public static void moveDirectory(Path source, Path target) {
+        OperationTimer timer = OperationTimer.start(FileOperation.MOVE_DIRECTORY, source);
         try {
             Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
-            logger.info("Directory moved from " + source + " to " + target);
+            invalidateCachedTree(source, target);
+            timer.success(0, 1);
+            logger.info(() -> "Directory moved from " + source + " to " + target);
         } catch (IOException e) {
+            timer.failure(e);
             throw new FileOperationException("Error moving directory: " + source, e);
         }
     }
 
     public static Optional<Stream<Path>> listDirectories(Path directory) {
-        if (Files.exists(directory)) {
+        OperationTimer timer = OperationTimer.start(FileOperation.LIST_DIRECTORIES, directory);
+        if (exists(directory)) {
             try {
-                return Optional.of(Files.list(directory).filter(Files::isDirectory));
+                // Entry attributes do not follow links, so only symbolic links need another stat
+                // to keep listing links to directories, as Files::isDirectory did.
+                List<Path> directories = listChildren(directory).stream()
+                        .filter(entry -> entry.isDirectory()
+                                || entry.attributes().isSymbolicLink() && Files.isDirectory(entry.path()))
+                        .map(DirectoryEntry::path)
+                        .toList();
+                timer.success(0, directories.size());
+                return Optional.of(directories.stream());
             } catch (IOException e) {
+                timer.failure(e);
                 throw new FileOperationException("Error listing directories in: " + directory, e);
             }
         }
+        timer.success(0, 0);
         return Optional.empty();
     }
 
+    /**
+     * Recursively lists {@code root} down to {@code maxDepth} levels (1 lists only its children),
+     * returning the entries that match {@code filter}. Subdirectories are listed in parallel and
+     * each entry's attributes are read exactly once.
+     */
+    public static List<DirectoryEntry> listTree(Path root, int maxDepth, BiPredicate<Path, BasicFileAttributes> filter) {
+        Queue<DirectoryEntry> entries = new ConcurrentLinkedQueue<>();
+        listTree(root, maxDepth, filter, entries::add);
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Like {@link #listTree(Path, int, BiPredicate)}, keeping entries whose path relative to
+     * {@code root} matches {@code glob}, e.g. {@code "**.log"}.
+     */
+    public static List<DirectoryEntry> listTree(Path root, int maxDepth, String glob) {
+        PathMatcher matcher = root.getFileSystem().getPathMatcher("glob:" + glob);
+        return listTree(root, maxDepth, (path, attrs) -> matcher.matches(root.relativize(path)));
+    }
+
+    /**
+     * Streaming form of {@link #listTree(Path, int, BiPredicate)}: matching entries are handed to
+     * {@code sink} as they are found, from several threads at once.
+     */
+    public static void listTree(Path root, int maxDepth, BiPredicate<Path, BasicFileAttributes> filter,
+                                Consumer<DirectoryEntry> sink) {
+        OperationTimer timer = OperationTimer.start(FileOperation.LIST_TREE, root);
+        LongAdder entries = new LongAdder();
+        try {
+            ParallelDirectoryLister.walk(root, maxDepth, LISTING_PARALLELISM, filter, entry -> {
+                entries.increment();
+                sink.accept(entry);
+            });
+            timer.success(0, entries.sum());
+        } catch (IOException e) {
+            timer.failure(e);
+            throw new FileOperationException("Error listing directory tree: " + root, e);
+        }
+    }
+
+    /**
+     * Registers a listener that is told about every operation this class performs, e.g. a
+     * {@link FileOperationMetrics}. Operations are also recorded as {@code org.example.FileOperation}
+     * Flight Recorder events whenever that event is enabled.
+     */
+    public static void addListener(FileOperationListener listener) {
+        OperationTimer.LISTENERS.add(listener);
+    }
+
+    public static void removeListener(FileOperationListener listener) {
+        OperationTimer.LISTENERS.remove(listener);
+    }
+
+    /**
+     * Turns on a shared {@link FileMetadataCache} for the existence checks and directory listings made
+     * by this class, replacing any cache enabled earlier. Changes made through this class invalidate it
+     * immediately; changes made elsewhere are picked up from watch events or after {@code ttl}.
+     */
+    public static FileMetadataCache enableMetadataCache(int maxEntries, Duration ttl) {
+        FileMetadataCache cache = FileMetadataCache.create(maxEntries, ttl);
+        FileMetadataCache previous = metadataCache;
+        metadataCache = cache;
+        if (previous != null) {
+            previous.close();
+        }
+        return cache;
+    }
+
+    public static void disableMetadataCache() {
+        FileMetadataCache previous = metadataCache;
+        metadataCache = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    private static boolean exists(Path path) {
+        FileMetadataCache cache = metadataCache;
+        return cache != null ? cache.exists(path) : Files.exists(path);
+    }
+
+    private static List<DirectoryEntry> listChildren(Path directory) throws IOException {
+        FileMetadataCache cache = metadataCache;
+        if (cache != null) {
+            return cache.list(directory);
+        }
+        List<DirectoryEntry> children = new ArrayList<>();
+        ParallelDirectoryLister.walk(directory, 1, 1, (path, attrs) -> true, children::add);
+        return children;
+    }
+
+    private static void invalidateCached(Path... paths) {
+        FileMetadataCache cache = metadataCache;
+        if (cache != null) {
+            for (Path path : paths) {
+                cache.invalidate(path);
+            }
+        }
+    }
+
+    private static void invalidateCachedTree(Path... paths) {
+        FileMetadataCache cache = metadataCache;
+        if (cache != null) {
+            for (Path path : paths) {
+                cache.invalidateTree(path);
+            }
+        }
+    }
+
+    /** Counts the bytes read through it, such as the decompressed bytes of a gzip file. */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final OperationTimer timer; // reported on close, if any
+        private IOException failure;
+        private boolean closed;
+        long count;
+
+        CountingInputStream(InputStream in) {
+            this(in, null);
+        }
+
+        CountingInputStream(InputStream in, OperationTimer timer) {
+            super(in);
+            this.timer = timer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int b = super.read();
+                if (b >= 0) {
+                    count++;
+                }
+                return b;
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    count += n;
+                }
+                return n;
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+                throw e;
+            } finally {
+                if (timer != null) {
+                    if (failure == null) {
+                        timer.success(count, 1);
+                    } else {
+                        timer.failure(failure);
+                    }
+                }
+            }
+        }
+    }
+
     private static boolean checkExists(Path path, boolean isFile) {
-        if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
-            logger.info((isFile ? "File" : "Directory") + " already exists: " + path);
+        FileMetadataCache cache = metadataCache;
+        if (cache != null ? cache.exists(path) : Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            logger.info(() -> (isFile ? "File" : "Directory") + " already exists: " + path);
             return false;
         }
         return true;
@@ -0,0 +1,294 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A long-lived, thread-safe handle for appending text to a file.
+ * <p>
+ * Producers hand records to a lock-free queue and return immediately. A single writer thread
+ * encodes them into a direct buffer and writes the buffer to a {@link FileChannel} when it fills up,
+ * when {@code flushInterval} has passed since the last write, or when {@link #force()} is called.
+ * Whether each write is also fsynced is controlled by the {@link FsyncPolicy}.
+ */
+public final class FileAppender implements AutoCloseable {
+
+    /**
+     * When the appender calls {@link FileChannel#force(boolean)}.
+     */
+    public enum FsyncPolicy {
+        /** Only when {@link #force()} is called or the appender is closed. */
+        ON_FORCE,
+        /** After every write of the buffer to the channel. */
+        ON_FLUSH
+    }
+
+    /**
+     * A snapshot of the appender's counters.
+     */
+    public record Stats(long records, long bytes, long flushes, long fsyncs) {
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(100);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final long flushIntervalNanos;
+    private final FsyncPolicy fsyncPolicy;
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writerWaiting = new AtomicBoolean();
+    private final Thread writer;
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private volatile long records;
+    private volatile long bytes;
+    private volatile long flushes;
+    private volatile long fsyncs;
+    private long lastFlush = System.nanoTime();
+
+    private FileAppender(Path file, int bufferSize, Duration flushInterval, FsyncPolicy fsyncPolicy) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.fsyncPolicy = fsyncPolicy;
+        this.writer = Thread.ofPlatform().daemon().name("file-appender-" + file.getFileName()).unstarted(this::drain);
+        this.writer.start();
+    }
+
+    public static FileAppender open(Path file) {
+        return open(file, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL, FsyncPolicy.ON_FORCE);
+    }
+
+    public static FileAppender open(Path file, int bufferSize, Duration flushInterval, FsyncPolicy fsyncPolicy) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize must be at least 16 bytes: " + bufferSize);
+        }
+        try {
+            return new FileAppender(file, bufferSize, flushInterval, fsyncPolicy);
+        } catch (IOException e) {
+            throw new FileOperationException("Error opening file for appending: " + file, e);
+        }
+    }
+
+    /**
+     * Queues {@code content} to be appended. Returns without waiting for it to reach the file.
+     */
+    public void append(String content) {
+        ensureUsable();
+        enqueue(content);
+    }
+
+    /**
+     * Blocks until everything appended before this call has been written and fsynced.
+     */
+    public void force() {
+        ensureUsable();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(done);
+        await(done);
+    }
+
+    public FsyncPolicy fsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public Stats stats() {
+        return new Stats(records, bytes, flushes, fsyncs);
+    }
+
+    /**
+     * Writes and fsyncs everything still queued, then closes the file.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileOperationException("Interrupted while closing appender: " + file, e);
+        }
+        if (failure != null) {
+            throw new FileOperationException("Error appending to file: " + file, failure);
+        }
+    }
+
+    private void ensureUsable() {
+        if (failure != null) {
+            throw new FileOperationException("Error appending to file: " + file, failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Appender is closed: " + file);
+        }
+    }
+
+    private void enqueue(Object item) {
+        queue.offer(item);
+        if (writerWaiting.get() && writerWaiting.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+        // close() or a failed write may have stopped the writer since ensureUsable(). Take the item
+        // back if it is still queued so it is rejected rather than silently dropped; if the writer
+        // already took it, it is written as usual. Removing an equal record instead of this one
+        // leaves the same content in the file.
+        if ((closed || failure != null) && queue.remove(item)) {
+            ensureUsable();
+        }
+    }
+
+    private void await(CompletableFuture<Void> done) {
+        try {
+            // Poll so a force() that raced with close() cannot wait on a writer that has already exited.
+            while (true) {
+                try {
+                    done.get(100, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    if (!writer.isAlive() && !done.isDone()) {
+                        ensureUsable();
+                        throw new IllegalStateException("Appender is closed: " + file);
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new FileOperationException("Error forcing file: " + file, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileOperationException("Interrupted while forcing file: " + file, e);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Object item = queue.poll();
+                if (item != null) {
+                    handle(item);
+                    continue;
+                }
+                if (buffer.position() > 0 && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                    flush(fsyncPolicy == FsyncPolicy.ON_FLUSH);
+                }
+                if (closed) {
+                    if (queue.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                waitForWork();
+            }
+            flush(true);
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    private void waitForWork() {
+        writerWaiting.set(true);
+        if (!queue.isEmpty() || closed) {
+            writerWaiting.set(false);
+            return;
+        }
+        if (buffer.position() > 0) {
+            LockSupport.parkNanos(this, Math.max(0, flushIntervalNanos - (System.nanoTime() - lastFlush)));
+        } else {
+            LockSupport.park(this);
+        }
+        writerWaiting.set(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(Object item) throws IOException {
+        if (item instanceof String content) {
+            encode(content);
+            records++;
+        } else {
+            CompletableFuture<Void> done = (CompletableFuture<Void>) item;
+            try {
+                flush(true);
+                done.complete(null);
+            } catch (IOException e) {
+                done.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private void encode(String content) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(content);
+        encoder.reset();
+        CoderResult result;
+        while ((result = encoder.encode(chars, buffer, true)).isOverflow()) {
+            flush(fsyncPolicy == FsyncPolicy.ON_FLUSH);
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            flush(fsyncPolicy == FsyncPolicy.ON_FLUSH);
+        }
+    }
+
+    private void flush(boolean fsync) throws IOException {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bytes += channel.write(buffer);
+            }
+            buffer.clear();
+            flushes++;
+        }
+        lastFlush = System.nanoTime();
+        if (fsync) {
+            channel.force(false);
+            fsyncs++;
+        }
+    }
+
+    private void fail(IOException e) {
+        failure = e;
+        // Nothing more will be written; release anyone blocked in force().
+        Object item;
+        while ((item = queue.poll()) != null) {
+            if (item instanceof CompletableFuture<?> done) {
+                done.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * A bounded LRU cache of file attributes and directory listings.
+ * <p>
+ * The directory containing each cached path is registered with a {@link WatchService}, and a
+ * background thread drops entries as change events arrive. Entries also expire after a fixed TTL,
+ * which covers file systems without watch support and changes that slip past the watcher.
+ */
+public final class FileMetadataCache implements AutoCloseable {
+
+    /**
+     * A snapshot of the cache's counters.
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        Object load() throws IOException;
+    }
+
+    private record Key(Path path, boolean listing) {
+    }
+
+    private record Cached(Object value, long loadedAt) {
+    }
+
+    /** A value being read outside the lock. It is not cached if its key is invalidated meanwhile. */
+    private static final class Load {
+        final Key key;
+        boolean stale; // guarded by entries
+
+        Load(Key key) {
+            this.key = key;
+        }
+    }
+
+    private static final Object MISSING = new Object();
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Cached> entries; // guarded by itself
+    private final List<Load> loading = new ArrayList<>(); // guarded by entries
+    private final Map<Path, WatchKey> watchedDirectories = new ConcurrentHashMap<>();
+    private final WatchService watchService;
+    private final Thread watcher;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private FileMetadataCache(int maxEntries, Duration ttl, WatchService watchService) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Cached> eldest) {
+                if (size() > FileMetadataCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.watchService = watchService;
+        if (watchService != null) {
+            this.watcher = Thread.ofPlatform().daemon().name("file-metadata-cache-watcher").unstarted(this::watch);
+            this.watcher.start();
+        } else {
+            this.watcher = null;
+        }
+    }
+
+    public static FileMetadataCache create(int maxEntries, Duration ttl) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            watchService = null; // TTL only
+        }
+        return new FileMetadataCache(maxEntries, ttl, watchService);
+    }
+
+    /**
+     * Returns whether {@code path} exists, following links like {@link Files#exists}. Only the
+     * target of a link is read from the file system each time.
+     */
+    public boolean exists(Path path) {
+        Optional<BasicFileAttributes> attrs = attributes(path);
+        return attrs.isPresent() && (!attrs.get().isSymbolicLink() || Files.exists(path));
+    }
+
+    /**
+     * Returns the attributes of {@code path}, read without following links, or empty if it does
+     * not exist or cannot be read.
+     */
+    public Optional<BasicFileAttributes> attributes(Path path) {
+        Path normalized = normalize(path);
+        try {
+            Object value = lookup(new Key(normalized, false), normalized.getParent(), () -> {
+                try {
+                    return Files.readAttributes(normalized, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    return MISSING;
+                }
+            });
+            return value == MISSING ? Optional.empty() : Optional.of((BasicFileAttributes) value);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the immediate children of {@code directory} with their attributes.
+     */
+    @SuppressWarnings("unchecked")
+    public List<DirectoryEntry> list(Path directory) throws IOException {
+        Path normalized = normalize(directory);
+        return (List<DirectoryEntry>) lookup(new Key(normalized, true), normalized, () -> {
+            List<DirectoryEntry> children = new ArrayList<>();
+            ParallelDirectoryLister.walk(normalized, 1, 1, (path, attrs) -> true, children::add);
+            return List.copyOf(children);
+        });
+    }
+
+    /**
+     * Drops what is cached about {@code path} and its parent directory's listing.
+     */
+    public void invalidate(Path path) {
+        Path normalized = normalize(path);
+        Path parent = normalized.getParent();
+        synchronized (entries) {
+            remove(new Key(normalized, false));
+            remove(new Key(normalized, true));
+            if (parent != null) {
+                remove(new Key(parent, false));
+                remove(new Key(parent, true));
+            }
+        }
+    }
+
+    /**
+     * Drops everything cached at or below {@code path}, as well as its parent directory's listing.
+     */
+    public void invalidateTree(Path path) {
+        Path normalized = normalize(path);
+        invalidate(normalized);
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.path().startsWith(normalized) && countInvalidation());
+            loading.forEach(load -> load.stale |= load.key.path().startsWith(normalized));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.add(entries.size());
+            entries.clear();
+            loading.forEach(load -> load.stale = true);
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size);
+    }
+
+    @Override
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                throw new FileOperationException("Error closing watch service", e);
+            }
+        }
+        invalidateAll();
+    }
+
+    private Object lookup(Key key, Path watchDirectory, Loader loader) throws IOException {
+        synchronized (entries) {
+            Cached cached = entries.get(key);
+            if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+                hits.increment();
+                return cached.value();
+            }
+        }
+        misses.increment();
+        // Watch before reading so no change after the read can go unnoticed, and only keep the
+        // result if this key was not invalidated while it was being read.
+        register(watchDirectory);
+        Load load = new Load(key);
+        synchronized (entries) {
+            loading.add(load);
+        }
+        long loadedAt = System.nanoTime();
+        Object value;
+        try {
+            value = loader.load();
+        } finally {
+            synchronized (entries) {
+                loading.remove(load);
+            }
+        }
+        synchronized (entries) {
+            if (!load.stale) {
+                entries.put(key, new Cached(value, loadedAt));
+            }
+        }
+        return value;
+    }
+
+    private void register(Path directory) {
+        if (watchService == null || directory == null || watchedDirectories.containsKey(directory)
+                || watchedDirectories.size() >= maxEntries) {
+            return;
+        }
+        try {
+            watchedDirectories.computeIfAbsent(directory, dir -> {
+                try {
+                    return dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                } catch (IOException e) {
+                    throw new FileOperationException("Error watching directory: " + dir, e);
+                }
+            });
+        } catch (FileOperationException | ClosedWatchServiceException e) {
+            // Not watchable (missing, unsupported, or closing): rely on the TTL.
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        invalidateTree(directory);
+                    } else {
+                        invalidate(directory.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) {
+                    watchedDirectories.remove(directory);
+                    invalidateTree(directory);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Cache closed.
+        }
+    }
+
+    private void remove(Key key) {
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+        loading.forEach(load -> load.stale |= load.key.equals(key));
+    }
+
+    private boolean countInvalidation() {
+        invalidations.increment();
+        return true;
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.practices;
+
+/**
+ * The operations of {@link FileAndDirectoryOperations} that report to a {@link FileOperationListener}.
+ */
+public enum FileOperation {
+    CREATE_FILE,
+    WRITE_FILE,
+    APPEND_TO_FILE,
+    READ_FILE,
+    LIST_FILES,
+    RENAME_FILE,
+    COPY_FILE,
+    MOVE_FILE,
+    CREATE_DIRECTORY,
+    RENAME_DIRECTORY,
+    COPY_DIRECTORY,
+    SYNC_DIRECTORY,
+    FIND_DUPLICATES,
+    MOVE_DIRECTORY,
+    LIST_DIRECTORIES,
+    LIST_TREE
+}
@@ -0,0 +1,35 @@
+package org.example.practices;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for a {@link FileOperation}, recorded whenever a recording is running,
+ * e.g. with {@code -XX:StartFlightRecording}. Costs nothing when no recording is active.
+ */
+@Name("org.example.FileOperation")
+@Label("File Operation")
+@Category({"Application", "File Operations"})
+@StackTrace(false)
+final class FileOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Files")
+    long files;
+
+    @Label("Failure")
+    String failure;
+}
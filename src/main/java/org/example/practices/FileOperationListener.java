@@ -0,0 +1,21 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+
+/**
+ * Receives one callback per completed {@link FileOperation}, on the thread that ran it.
+ * Implementations must be thread-safe and cheap, since they run inline with the operation.
+ */
+@FunctionalInterface
+public interface FileOperationListener {
+
+    /**
+     * @param operation     what was done
+     * @param path          the path the operation acted on (the source, for copies and moves)
+     * @param durationNanos wall-clock time the operation took
+     * @param bytes         bytes read, written or copied, or 0 where that does not apply
+     * @param files         files or directory entries affected
+     * @param failure       the cause if the operation failed, otherwise {@code null}
+     */
+    void onOperation(FileOperation operation, Path path, long durationNanos, long bytes, long files, Throwable failure);
+}
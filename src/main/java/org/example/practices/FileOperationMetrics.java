@@ -0,0 +1,74 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link FileOperationListener} that aggregates, per {@link FileOperation}, a latency histogram
+ * in nanoseconds, byte and file totals, and error counts by exception type.
+ * Register it with {@link FileAndDirectoryOperations#addListener(FileOperationListener)}.
+ */
+public final class FileOperationMetrics implements FileOperationListener {
+
+    /**
+     * Everything recorded for one operation.
+     */
+    public record Summary(LatencyHistogram.Snapshot latencyNanos, long bytes, long files, long errors,
+                          Map<String, Long> errorsByCause) {
+    }
+
+    private static final class Counters {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder files = new LongAdder();
+        final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+    }
+
+    private final Map<FileOperation, Counters> counters = new EnumMap<>(FileOperation.class);
+
+    public FileOperationMetrics() {
+        for (FileOperation operation : FileOperation.values()) {
+            counters.put(operation, new Counters());
+        }
+    }
+
+    @Override
+    public void onOperation(FileOperation operation, Path path, long durationNanos, long bytes, long files, Throwable failure) {
+        Counters c = counters.get(operation);
+        c.latency.record(durationNanos);
+        c.bytes.add(bytes);
+        c.files.add(files);
+        if (failure != null) {
+            c.errorsByCause.computeIfAbsent(failure.getClass().getName(), cause -> new LongAdder()).increment();
+        }
+    }
+
+    public Summary summary(FileOperation operation) {
+        Counters c = counters.get(operation);
+        Map<String, Long> errorsByCause = new TreeMap<>();
+        long errors = 0;
+        for (Map.Entry<String, LongAdder> entry : c.errorsByCause.entrySet()) {
+            long count = entry.getValue().sum();
+            errorsByCause.put(entry.getKey(), count);
+            errors += count;
+        }
+        return new Summary(c.latency.snapshot(), c.bytes.sum(), c.files.sum(), errors, errorsByCause);
+    }
+
+    /**
+     * Summaries of every operation that has been recorded at least once.
+     */
+    public Map<FileOperation, Summary> summaries() {
+        Map<FileOperation, Summary> summaries = new EnumMap<>(FileOperation.class);
+        for (FileOperation operation : FileOperation.values()) {
+            if (counters.get(operation).latency.count() > 0) {
+                summaries.put(operation, summary(operation));
+            }
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.practices;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a tree of tasks on virtual threads, where tasks may fork further tasks, and waits until
+ * every task in the tree has finished. Used by the parallel directory walkers.
+ * <p>
+ * A task that throws does not stop the others: the scope still drains, then {@link #join} rethrows
+ * the first failure with any later ones attached as suppressed exceptions.
+ */
+final class ForkScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong pending = new AtomicLong();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    void fork(Runnable task) {
+        pending.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                if (!failure.compareAndSet(null, e)) {
+                    failure.get().addSuppressed(e);
+                }
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    done.countDown();
+                }
+            }
+        });
+    }
+
+    /**
+     * Blocks until all forked tasks, including those forked by other tasks, have completed, then
+     * rethrows the first exception any of them threw. At least one task must have been forked.
+     */
+    void join() throws InterruptedException {
+        done.await();
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.practices;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, log-linear histogram of non-negative values, in the style of HdrHistogram.
+ * <p>
+ * Values below 32 get their own bucket. Every power of two above that is split into 32 equal
+ * sub-buckets, so any recorded value is reported to within about 3%. Recording is a single atomic
+ * increment, and the whole {@code long} range fits in under 2,000 buckets.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Summary of the histogram at the time {@link #snapshot()} was called.
+     */
+    public record Snapshot(long count, double mean, long max, long p50, long p90, long p99, long p999) {
+    }
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        total.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the smallest bucket upper bound at or below which {@code percentile} percent of the
+     * recorded values fall, or 0 if nothing has been recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        return valueAtPercentile(copyCounts(), percentile);
+    }
+
+    public Snapshot snapshot() {
+        long[] snapshot = copyCounts();
+        long n = total.sum();
+        return new Snapshot(n, n == 0 ? 0.0 : (double) sum.sum() / n, max.get(),
+                valueAtPercentile(snapshot, 50), valueAtPercentile(snapshot, 90),
+                valueAtPercentile(snapshot, 99), valueAtPercentile(snapshot, 99.9));
+    }
+
+    private long[] copyCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    private long valueAtPercentile(long[] snapshot, double percentile) {
+        long recorded = 0;
+        for (long count : snapshot) {
+            recorded += count;
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + subBucket) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Splits a UTF-8 file into lines by scanning memory-mapped regions of it.
+ * <p>
+ * Each spliterator owns a byte range that starts at a line start and ends just after a newline
+ * (or at end of file), so splitting never cuts a line in half. A line that runs past the end of the
+ * current region is re-read from a larger region that starts at the line. Pure ASCII lines are
+ * returned as {@link AsciiSequence} views over the mapping; other lines are decoded into a String.
+ */
+final class MappedLineSpliterator implements Spliterator<CharSequence> {
+
+    static final int REGION_SIZE = 64 * 1024 * 1024;
+    private static final long MIN_SPLIT_SIZE = 1024 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long end;
+    private long position;
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    private MappedLineSpliterator(Path file, FileChannel channel, long start, long end) {
+        this.file = file;
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+    }
+
+    /**
+     * Opens {@code file} and returns a lazy stream of its lines. The stream must be closed to
+     * release the file handle; the mappings themselves are released once no line refers to them.
+     */
+    static Stream<CharSequence> lines(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedLineSpliterator spliterator = new MappedLineSpliterator(file, channel, 0, channel.size());
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new FileOperationException("Error closing file: " + file, e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super CharSequence> action) {
+        if (position >= end) {
+            return false;
+        }
+        try {
+            action.accept(nextLine());
+        } catch (IOException e) {
+            throw new FileOperationException("Error reading file: " + file, e);
+        }
+        return true;
+    }
+
+    private CharSequence nextLine() throws IOException {
+        long wanted = 1;
+        while (true) {
+            mapFrom(position, wanted);
+            int from = (int) (position - regionStart);
+            int limit = region.capacity();
+            boolean ascii = true;
+            for (int i = from; i < limit; i++) {
+                byte b = region.get(i);
+                if (b == '\n') {
+                    position = regionStart + i + 1;
+                    return decode(from, i, ascii);
+                }
+                ascii &= b >= 0;
+            }
+            if (regionStart + limit >= end) {
+                position = end;
+                return decode(from, limit, ascii);
+            }
+            // The line runs past this region: map a bigger one that starts at the line.
+            wanted = Math.min(2L * (limit - from), Integer.MAX_VALUE);
+            if (wanted <= limit - from) {
+                throw new IOException("Line at offset " + position + " is longer than " + Integer.MAX_VALUE + " bytes");
+            }
+        }
+    }
+
+    private void mapFrom(long start, long minLength) throws IOException {
+        if (region != null && start >= regionStart && start + minLength <= regionStart + region.capacity()) {
+            return;
+        }
+        long size = Math.min(Math.max(REGION_SIZE, minLength), end - start);
+        region = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        regionStart = start;
+    }
+
+    private CharSequence decode(int from, int to, boolean ascii) {
+        if (to > from && region.get(to - 1) == '\r') {
+            to--;
+        }
+        if (ascii) {
+            return new AsciiSequence(region, from, to - from);
+        }
+        byte[] bytes = new byte[to - from];
+        region.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Spliterator<CharSequence> trySplit() {
+        long remaining = end - position;
+        if (remaining < 2 * MIN_SPLIT_SIZE) {
+            return null;
+        }
+        try {
+            long boundary = nextLineStart(position + remaining / 2);
+            if (boundary <= position || boundary >= end) {
+                return null;
+            }
+            MappedLineSpliterator prefix = new MappedLineSpliterator(file, channel, position, boundary);
+            position = boundary;
+            return prefix;
+        } catch (IOException e) {
+            throw new FileOperationException("Error reading file: " + file, e);
+        }
+    }
+
+    /** Returns the offset just after the first newline at or after {@code from}, or {@code end}. */
+    private long nextLineStart(long from) throws IOException {
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long offset = from;
+        while (offset < end) {
+            scan.clear().limit((int) Math.min(SCAN_BUFFER_SIZE, end - offset));
+            int read = channel.read(scan, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return end;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Times one {@link FileOperation}, then reports it to the registered listeners and, when enabled,
+ * as a {@link FileOperationEvent}.
+ */
+final class OperationTimer {
+
+    static final List<FileOperationListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final Logger logger = Logger.getLogger(OperationTimer.class.getName());
+
+    private final FileOperation operation;
+    private final Path path;
+    private final long startNanos;
+    private final FileOperationEvent event;
+
+    private OperationTimer(FileOperation operation, Path path) {
+        this.operation = operation;
+        this.path = path;
+        this.event = new FileOperationEvent();
+        this.event.begin();
+        this.startNanos = System.nanoTime();
+    }
+
+    static OperationTimer start(FileOperation operation, Path path) {
+        return new OperationTimer(operation, path);
+    }
+
+    void success(long bytes, long files) {
+        finish(bytes, files, null);
+    }
+
+    void failure(Throwable cause) {
+        finish(0, 0, cause);
+    }
+
+    /**
+     * Reports a bulk operation that carries on past per-file errors: what it did get through, and
+     * the cause of the first failure if there was any, so listeners do not count it as a success.
+     */
+    void completed(long bytes, long files, List<CopyResult.Failure> failures) {
+        finish(bytes, files, failures.isEmpty() ? null : failures.getFirst().cause());
+    }
+
+    private void finish(long bytes, long files, Throwable failure) {
+        long duration = System.nanoTime() - startNanos;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.path = String.valueOf(path);
+            event.bytes = bytes;
+            event.files = files;
+            event.failure = failure == null ? null : failure.getClass().getName();
+            event.commit();
+        }
+        // A broken listener must neither fail the operation nor keep the others from hearing about it.
+        for (FileOperationListener listener : LISTENERS) {
+            try {
+                listener.onOperation(operation, path, duration, bytes, files, failure);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, e, () -> "File operation listener " + listener + " failed on " + operation + " " + path);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+/**
+ * Lists a directory tree with one virtual thread per directory. Attributes are read once per
+ * entry, without following links, and the filter is applied before an entry is handed to the sink.
+ * At most {@code parallelism} directories are open at any time, and every handle is closed before
+ * {@link #walk} returns.
+ */
+final class ParallelDirectoryLister {
+
+    private final int maxDepth;
+    private final BiPredicate<Path, BasicFileAttributes> filter;
+    private final Consumer<DirectoryEntry> sink;
+    private final Semaphore openDirectories;
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private final ForkScope scope = new ForkScope();
+
+    private ParallelDirectoryLister(int maxDepth, int parallelism, BiPredicate<Path, BasicFileAttributes> filter,
+                                    Consumer<DirectoryEntry> sink) {
+        this.maxDepth = maxDepth;
+        this.filter = filter;
+        this.sink = sink;
+        this.openDirectories = new Semaphore(parallelism);
+    }
+
+    /**
+     * Hands every entry below {@code root}, down to {@code maxDepth} levels, that matches
+     * {@code filter} to {@code sink}. The sink is called concurrently from several threads.
+     * If any directory cannot be read, or the filter or sink throws, the walk still completes, then
+     * the first error is thrown.
+     */
+    static void walk(Path root, int maxDepth, int parallelism, BiPredicate<Path, BasicFileAttributes> filter,
+                     Consumer<DirectoryEntry> sink) throws IOException {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth must be positive: " + maxDepth);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        ParallelDirectoryLister lister = new ParallelDirectoryLister(maxDepth, parallelism, filter, sink);
+        try (ForkScope scope = lister.scope) {
+            scope.fork(() -> lister.list(root, 1));
+            scope.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while listing " + root, e);
+        }
+        IOException e = lister.failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private void list(Path dir, int depth) {
+        openDirectories.acquireUninterruptibly();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (NoSuchFileException e) {
+                    continue; // Deleted since the directory was read.
+                }
+                if (filter.test(entry, attrs)) {
+                    sink.accept(new DirectoryEntry(entry, attrs));
+                }
+                if (attrs.isDirectory() && depth < maxDepth) {
+                    scope.fork(() -> list(entry, depth + 1));
+                }
+            }
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        } catch (DirectoryIteratorException e) {
+            failure.compareAndSet(null, e.getCause());
+        } finally {
+            openDirectories.release();
+        }
+    }
+}
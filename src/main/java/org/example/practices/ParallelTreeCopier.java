@@ -0,0 +1,98 @@
+package org.example.practices;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Copies a directory tree with one virtual thread per directory and per file.
+ * Each directory is created before any of its children are scheduled, and at most
+ * {@code maxInFlight} file copies run at once. Failures are collected rather than thrown.
+ */
+final class ParallelTreeCopier {
+
+    private final Path source;
+    private final Path target;
+    private final Semaphore inFlight;
+    private final LongAdder files = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Queue<CopyResult.Failure> failures = new ConcurrentLinkedQueue<>();
+    private final ForkScope scope = new ForkScope();
+
+    private ParallelTreeCopier(Path source, Path target, int maxInFlight) {
+        this.source = source;
+        this.target = target;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    static CopyResult copy(Path source, Path target, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        if (!Files.isDirectory(source)) {
+            throw new FileOperationException("Error copying directory: " + source,
+                    new NotDirectoryException(source.toString()));
+        }
+        return new ParallelTreeCopier(source, target, maxInFlight).run();
+    }
+
+    private CopyResult run() {
+        long start = System.nanoTime();
+        try (scope) {
+            scope.fork(() -> copyTree(source));
+            scope.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileOperationException("Interrupted while copying directory: " + source, e);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new CopyResult(files.sum(), bytes.sum(), elapsed, new ArrayList<>(failures));
+    }
+
+    private void copyTree(Path dir) {
+        try {
+            Files.createDirectories(target.resolve(source.relativize(dir)));
+        } catch (IOException e) {
+            failures.add(new CopyResult.Failure(dir, e));
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    failures.add(new CopyResult.Failure(entry, e));
+                    continue;
+                }
+                if (attrs.isDirectory()) {
+                    scope.fork(() -> copyTree(entry));
+                } else {
+                    // Blocking here is the backpressure: the walk cannot run ahead of the copies.
+                    inFlight.acquireUninterruptibly();
+                    scope.fork(() -> copyFile(entry, attrs.size()));
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            failures.add(new CopyResult.Failure(dir, e));
+        }
+    }
+
+    private void copyFile(Path file, long size) {
+        try {
+            Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+            files.increment();
+            bytes.add(size);
+        } catch (IOException e) {
+            failures.add(new CopyResult.Failure(file, e));
+        } finally {
+            inFlight.release();
+        }
+    }
+}
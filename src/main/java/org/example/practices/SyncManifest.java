@@ -0,0 +1,98 @@
+package org.example.practices;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * What a previous sync copied: size, modification time and optionally a SHA-256 digest per
+ * source-relative path. Stored as a small binary file in the target root.
+ */
+final class SyncManifest {
+
+    static final String FILE_NAME = ".sync-manifest";
+    private static final Logger logger = Logger.getLogger(SyncManifest.class.getName());
+    private static final int MAGIC = 0x53594E43; // "SYNC"
+    private static final int VERSION = 1;
+    private static final byte[] NO_HASH = new byte[0];
+
+    record Entry(long size, long modifiedMillis, byte[] hash) {
+
+        boolean sameMetadata(long otherSize, long otherModifiedMillis) {
+            return size == otherSize && modifiedMillis == otherModifiedMillis;
+        }
+
+        boolean sameHash(byte[] otherHash) {
+            return hash.length > 0 && Arrays.equals(hash, otherHash);
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    private SyncManifest(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Reads the manifest in {@code targetRoot}. Returns an empty one if there is none yet, or if it
+     * cannot be read, is corrupt or was written by another version: every file is then copied again.
+     */
+    static SyncManifest load(Path targetRoot) {
+        Path file = targetRoot.resolve(FILE_NAME);
+        Map<String, Entry> entries = new HashMap<>();
+        if (Files.notExists(file)) {
+            return new SyncManifest(entries);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unrecognized sync manifest: " + file);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long modified = in.readLong();
+                byte[] hash = new byte[in.readUnsignedShort()];
+                in.readFully(hash);
+                entries.put(path, new Entry(size, modified, hash));
+            }
+        } catch (IOException e) {
+            logger.warning(() -> "Ignoring sync manifest " + file + ": " + e);
+            return new SyncManifest(new HashMap<>());
+        }
+        return new SyncManifest(entries);
+    }
+
+    Entry get(String path) {
+        return entries.get(path);
+    }
+
+    /** Replaces the manifest with {@code current}, writing to a temporary file first so a crash never leaves a torn manifest. */
+    static void store(Path targetRoot, Map<String, Entry> current) throws IOException {
+        Path file = targetRoot.resolve(FILE_NAME);
+        Path temp = targetRoot.resolve(FILE_NAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(current.size());
+            for (Map.Entry<String, Entry> e : current.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.size());
+                out.writeLong(entry.modifiedMillis());
+                out.writeShort(entry.hash().length);
+                out.write(entry.hash());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Entry entry(long size, long modifiedMillis, byte[] hash) {
+        return new Entry(size, modifiedMillis, hash == null ? NO_HASH : hash);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.practices;
+
+/**
+ * How {@link FileAndDirectoryOperations#syncDirectory} decides what to copy and what to do with
+ * files at the target whose source has disappeared.
+ *
+ * @param verifyContent compare SHA-256 digests as well as size and modification time, catching
+ *                      changes that keep both and skipping files that were only touched
+ * @param deleteOrphans delete orphaned target files instead of only reporting them
+ */
+public record SyncOptions(boolean verifyContent, boolean deleteOrphans) {
+
+    public static final SyncOptions DEFAULT = new SyncOptions(false, false);
+}
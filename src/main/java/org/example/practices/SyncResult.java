@@ -0,0 +1,25 @@
+package org.example.practices;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of an incremental sync. {@code orphans} are the files, directories and links at the
+ * target, relative to the target root, that have no counterpart in the source, sorted; they were
+ * deleted if {@code orphansDeleted} is set. {@code notCopied} are the symbolic links and special
+ * files in the source, relative to the source root and sorted, which a sync does not copy.
+ */
+public record SyncResult(long copied, long skipped, long bytesCopied, List<Path> orphans, boolean orphansDeleted,
+                         List<Path> notCopied, List<CopyResult.Failure> failures, Duration elapsed) {
+
+    public SyncResult {
+        orphans = List.copyOf(orphans);
+        notCopied = List.copyOf(notCopied);
+        failures = List.copyOf(failures);
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnTableTest {
+
+    private record Person(String city, int age, long id) {
+    }
+
+    private static final String[] CITIES = {"Oslo", "Lima", "Pune", "Kyiv", "Graz"};
+    private static final List<Person> PEOPLE = people(5_000);
+    private static final ColumnTable TABLE = ColumnTable.<Person>builder()
+            .stringColumn("city", Person::city)
+            .intColumn("age", Person::age)
+            .longColumn("id", Person::id)
+            .build(PEOPLE);
+
+    @Test
+    void sortsByColumnsInOrderOfSignificanceAndKeepsTiesStable() {
+        int[] sorted = TABLE.sortedIndex("city", "age");
+
+        Comparator<Integer> byCityThenAge = Comparator.<Integer, String>comparing(row -> PEOPLE.get(row).city())
+                .thenComparingInt(row -> PEOPLE.get(row).age())
+                .thenComparingInt(row -> row);
+        int[] expected = IntStream.range(0, PEOPLE.size()).boxed().sorted(byCityThenAge).mapToInt(Integer::intValue).toArray();
+        assertThat(sorted).isEqualTo(expected);
+    }
+
+    @Test
+    void sortsNegativeNumbers() {
+        int[] byId = TABLE.sortedIndex("id");
+        int[] byAge = TABLE.sortedIndex("age");
+
+        assertThat(IntStream.of(byId).mapToLong(row -> PEOPLE.get(row).id()).toArray()).isSorted();
+        assertThat(IntStream.of(byAge).map(row -> PEOPLE.get(row).age()).toArray()).isSorted();
+    }
+
+    @Test
+    void filtersMatchAStreamFilter() {
+        int[] adults = TABLE.intColumn("age").between(18, 65);
+        int[] lima = TABLE.stringColumn("city").filterEquals("Lima");
+        int[] adultsInLima = TABLE.intColumn("age").filter(age -> age >= 18 && age <= 65, lima);
+
+        assertThat(adults).isEqualTo(rows(p -> p.age() >= 18 && p.age() <= 65));
+        assertThat(lima).isEqualTo(rows(p -> p.city().equals("Lima")));
+        assertThat(adultsInLima).isEqualTo(rows(p -> p.city().equals("Lima") && p.age() >= 18 && p.age() <= 65));
+        assertThat(TABLE.longColumn("id").filter(id -> id < 0)).isEqualTo(rows(p -> p.id() < 0));
+        assertThat(TABLE.stringColumn("city").filter(city -> city.startsWith("K"))).isEqualTo(rows(p -> p.city().equals("Kyiv")));
+        assertThat(TABLE.stringColumn("city").filterEquals("Nowhere")).isEmpty();
+        assertThat(TABLE.stringColumn("city").cardinality()).isEqualTo(CITIES.length);
+    }
+
+    @Test
+    void rowsReadValuesFromTheColumns() {
+        ColumnTable.Row row = TABLE.row(7);
+        Person person = PEOPLE.get(7);
+
+        assertThat(row.getString("city")).isEqualTo(person.city());
+        assertThat(row.getInt("age")).isEqualTo(person.age());
+        assertThat(row.getLong("id")).isEqualTo(person.id());
+        assertThat(row).hasToString("Row[7, city=" + person.city() + ", age=" + person.age() + ", id=" + person.id() + "]");
+        assertThat(TABLE.rows(new int[]{3, 1}).map(ColumnTable.Row::index)).containsExactly(3, 1);
+        assertThat(TABLE.rows()).hasSize(PEOPLE.size());
+    }
+
+    @Test
+    void rejectsMismatchedColumns() {
+        assertThatThrownBy(() -> TABLE.intColumn("city")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TABLE.sortedIndex("missing")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ColumnTable.of(Map.of("a", IntColumn.wrap(new int[2]), "b", LongColumn.wrap(new long[3]))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ColumnTable.<Person>builder().intColumn("age", Person::age).intColumn("age", Person::age))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int[] rows(Predicate<Person> predicate) {
+        return IntStream.range(0, PEOPLE.size()).filter(row -> predicate.test(PEOPLE.get(row))).toArray();
+    }
+
+    private static List<Person> people(int count) {
+        Random random = new Random(42);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Person(CITIES[random.nextInt(CITIES.length)], random.nextInt(200) - 50, random.nextLong()))
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FastSuppliersTest {
+
+    @Test
+    void boundedValuesStayInRange() {
+        IntSupplier ints = FastSuppliers.ints(10);
+        int[] counts = new int[10];
+        for (int i = 0; i < 10_000; i++) {
+            counts[ints.getAsInt()]++;
+        }
+        assertThat(Arrays.stream(counts).boxed()).allMatch(count -> count > 0);
+
+        int[] filled = new int[1_000];
+        FastSuppliers.fill(filled, 3);
+        assertThat(Arrays.stream(filled).boxed()).allMatch(value -> value >= 0 && value < 3);
+
+        double[] doubles = new double[1_000];
+        FastSuppliers.fill(doubles);
+        assertThat(Arrays.stream(doubles).boxed()).allMatch(value -> value >= 0.0 && value < 1.0);
+
+        assertThatThrownBy(() -> FastSuppliers.ints(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void uuidsAreVersion7AndOrderedByMillisecond() throws InterruptedException {
+        Supplier<UUID> uuids = FastSuppliers.uuidV7();
+        UUID first = uuids.get();
+        Thread.sleep(2);
+        UUID second = uuids.get();
+
+        for (UUID uuid : new UUID[]{first, second}) {
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+        }
+        assertThat(second.getMostSignificantBits() >>> 16).isGreaterThan(first.getMostSignificantBits() >>> 16);
+        assertThat(second.getMostSignificantBits() >>> 16).isLessThanOrEqualTo(System.currentTimeMillis());
+    }
+
+    @Test
+    @Timeout(60)
+    void threadPerTaskExecutorsGetDistinctValues() {
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        Set<Long> longs = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10_000; i++) {
+                executor.execute(() -> {
+                    uuids.add(FastSuppliers.uuidV7().get());
+                    longs.add(FastSuppliers.longs().getAsLong());
+                });
+            }
+        }
+        assertThat(uuids).hasSize(10_000);
+        assertThat(longs).hasSize(10_000);
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FusedFunctionTest {
+
+    @Test
+    void longChainsStayFlatAndApplyInOrder() {
+        FusedFunction<Integer, Integer> chain = FusedFunction.identity();
+        for (int i = 0; i < 200; i++) {
+            int step = i;
+            chain = chain.andThen(n -> n * 31 + step);
+        }
+
+        int expected = 7;
+        for (int i = 0; i < 200; i++) {
+            expected = expected * 31 + i;
+        }
+        assertThat(chain.depth()).isEqualTo(200);
+        assertThat(chain.apply(7)).isEqualTo(expected);
+    }
+
+    @Test
+    void composeAndAndThenSpliceFusedChains() {
+        FusedFunction<String, Integer> length = FusedFunction.of(String::length);
+        FusedFunction<Integer, String> describe = FusedFunction.<Integer, Integer>of(n -> n * 2).andThen(n -> "=" + n);
+        Function<String, String> trim = String::trim;
+
+        FusedFunction<String, String> combined = length.andThen(describe).compose(trim);
+
+        assertThat(combined.depth()).isEqualTo(4);
+        assertThat(combined.apply("  abc ")).isEqualTo("=6");
+    }
+
+    @Test
+    void ofReturnsAFusedFunctionUnchanged() {
+        FusedFunction<Integer, Integer> fused = FusedFunction.of(n -> n + 1);
+
+        assertThat(FusedFunction.of(fused)).isSameAs(fused);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FusedPredicateTest {
+
+    @Test
+    void chainsOfTheSameOperatorStayFlat() {
+        FusedPredicate<Integer> predicate = FusedPredicate.<Integer>of(n -> n > 0);
+        for (int i = 0; i < 100; i++) {
+            int limit = 1000 - i;
+            predicate = predicate.and(n -> n < limit);
+        }
+
+        assertThat(predicate.width()).isEqualTo(101);
+        assertThat(predicate.test(5)).isTrue();
+        assertThat(predicate.test(950)).isFalse();
+        assertThat(predicate.test(-1)).isFalse();
+    }
+
+    @Test
+    void mixedOperatorsKeepLeftToRightPrecedence() {
+        Predicate<Integer> even = n -> n % 2 == 0;
+        Predicate<Integer> positive = n -> n > 0;
+        Predicate<Integer> large = n -> n > 100;
+
+        Predicate<Integer> fused = FusedPredicate.of(even).and(positive).or(large).negate();
+        Predicate<Integer> plain = even.and(positive).or(large).negate();
+
+        for (int n = -300; n <= 300; n++) {
+            assertThat(fused.test(n)).as("n = %d", n).isEqualTo(plain.test(n));
+        }
+    }
+
+    @Test
+    void shortCircuitsLikePredicateComposition() {
+        List<String> calls = new ArrayList<>();
+        Predicate<String> first = s -> calls.add("first") && false;
+        Predicate<String> second = s -> calls.add("second");
+
+        assertThat(FusedPredicate.allOf(first, second).test("x")).isFalse();
+        assertThat(calls).containsExactly("first");
+
+        calls.clear();
+        assertThat(FusedPredicate.anyOf(second, first).test("x")).isTrue();
+        assertThat(calls).containsExactly("second");
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImmutableKeyedMapsTest {
+
+    @Test
+    void intMapAgreesWithATreeMap() {
+        Random random = new Random(42);
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        expected.put(Integer.MIN_VALUE, "min");
+        expected.put(Integer.MAX_VALUE, "max");
+        while (expected.size() < 10_000) {
+            int key = random.nextInt(1_000_000) - 500_000;
+            expected.put(key, "v" + key);
+        }
+        ImmutableIntMap<String> map = ImmutableIntMap.copyOf(expected);
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map.toMap()).containsExactlyEntriesOf(expected);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(1_100_000) - 550_000;
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+        assertThat(map.get(Integer.MIN_VALUE)).isEqualTo("min");
+        assertThat(map.footprint().bytes()).isLessThan(map.footprint().hashMapBytes());
+        assertThat(map.firstKey()).isEqualTo(Integer.MIN_VALUE);
+        assertThat(map.lastKey()).isEqualTo(Integer.MAX_VALUE);
+
+        ImmutableIntMap<String> view = map.subMap(-1_000, 1_000);
+        assertThat(view.toMap()).containsExactlyEntriesOf(expected.subMap(-1_000, 1_000));
+        assertThat(view.tailMap(0).toMap()).containsExactlyEntriesOf(expected.subMap(0, 1_000));
+        assertThat(map.headMap(0).keys().toArray()).isEqualTo(expected.headMap(0).keySet().stream().mapToInt(Integer::intValue).toArray());
+        int outside = expected.ceilingKey(1_000);
+        assertThat(view.containsKey(outside)).isFalse();
+        assertThat(map.containsKey(outside)).isTrue();
+    }
+
+    @Test
+    void longMapAgreesWithATreeMapAcrossTheWholeRange() {
+        Random random = new Random(7);
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        expected.put(Long.MIN_VALUE, 0L);
+        expected.put(Long.MAX_VALUE, 0L);
+        while (expected.size() < 10_000) {
+            long key = random.nextLong();
+            expected.put(key, key / 2);
+        }
+        ImmutableLongMap.Builder<Long> builder = ImmutableLongMap.builder();
+        expected.descendingMap().forEach(builder::put);
+        ImmutableLongMap<Long> map = builder.build();
+
+        assertThat(map.toMap()).containsExactlyEntriesOf(expected);
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+            assertThat(map.get(entry.getKey() + 1)).isEqualTo(expected.get(entry.getKey() + 1));
+        }
+        assertThat(map.tailMap(0).toMap()).containsExactlyEntriesOf(expected.tailMap(0L));
+        assertThat(map.values().toList()).isEqualTo(expected.values().stream().toList());
+    }
+
+    @Test
+    void emptyMapsAndInvalidInput() {
+        ImmutableIntMap<String> empty = ImmutableIntMap.of();
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.get(0)).isNull();
+        assertThat(empty.getOrDefault(0, "none")).isEqualTo("none");
+        assertThatThrownBy(empty::firstKey).isInstanceOf(NoSuchElementException.class);
+        assertThat(ImmutableLongMap.<String>of().get(0)).isNull();
+
+        assertThatThrownBy(() -> ImmutableIntMap.<String>builder().put(1, "a").put(1, "b").build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImmutableIntMap.<String>builder().put(1, null)).isInstanceOf(NullPointerException.class);
+        ImmutableIntMap<String> map = ImmutableIntMap.<String>builder().put(2, "b").put(1, "a").build();
+        assertThatThrownBy(() -> map.subMap(2, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map).hasToString("{1=a, 2=b}");
+    }
+}
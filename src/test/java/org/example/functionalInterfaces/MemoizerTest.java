@@ -0,0 +1,126 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoizerTest {
+
+    @Test
+    void repeatedInputsAreLoadedOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Memoizer.MemoizedFunction<Integer, Integer> square = Memoizer.memoize(n -> {
+            loads.incrementAndGet();
+            return n * n;
+        });
+
+        for (int round = 0; round < 3; round++) {
+            for (int n = 0; n < 10; n++) {
+                assertThat(square.apply(n)).isEqualTo(n * n);
+            }
+        }
+
+        assertThat(loads).hasValue(10);
+        assertThat(square.stats().misses()).isEqualTo(10);
+        assertThat(square.stats().hits()).isEqualTo(20);
+    }
+
+    @Test
+    void concurrentMissesOnOneKeyShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Memoizer.MemoizedFunction<String, Integer> slow = Memoizer.memoize(key -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return key.length();
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> slow.apply("shared")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isEqualTo(6);
+            }
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void boundedCacheEvictsAndInvalidateForcesAReload() {
+        AtomicInteger loads = new AtomicInteger();
+        Memoizer.MemoizedFunction<Integer, Integer> identity = Memoizer.memoize(n -> {
+            loads.incrementAndGet();
+            return n;
+        }, 8, Duration.ZERO);
+
+        for (int n = 0; n < 100; n++) {
+            identity.apply(n);
+        }
+        assertThat(identity.stats().size()).isLessThanOrEqualTo(16);
+        assertThat(identity.stats().evictions()).isPositive();
+
+        identity.apply(99);
+        int before = loads.get();
+        identity.invalidate(99);
+        identity.apply(99);
+        assertThat(loads.get()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @Timeout(30)
+    void sneakilyThrownCheckedExceptionsReleaseWaitersAndAreNotCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Memoizer.MemoizedFunction<String, Integer> failing = Memoizer.memoize(key -> {
+            if (loads.incrementAndGet() == 1) {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw MemoizerTest.<RuntimeException>sneaky(new IOException("checked"));
+            }
+            return key.length();
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> owner = executor.submit(() -> failing.apply("key"));
+            loading.await();
+            Future<Integer> waiter = executor.submit(() -> failing.apply("key"));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThatThrownBy(owner::get).hasCauseInstanceOf(IOException.class);
+            assertThatThrownBy(waiter::get).hasRootCauseInstanceOf(IOException.class);
+        }
+        assertThat(failing.apply("key")).isEqualTo(3);
+        assertThat(loads).hasValue(2);
+    }
+
+    @SuppressWarnings("unchecked") // Rethrows a checked exception without declaring it, like a sneaky-throwing library would.
+    private static <T extends Throwable> T sneaky(Throwable t) throws T {
+        throw (T) t;
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelineScopeTest {
+
+    @Test
+    @Timeout(30)
+    void stagesKeepInputOrderAndTheirConcurrencyLimit() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        try (PipelineScope scope = PipelineScope.open()) {
+            PipelineScope.Stage<Integer, Integer> square = scope.stage(3, n -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return n * n;
+            });
+            PipelineScope.Stage<Integer, String> format = scope.stage(1, n -> "#" + n);
+
+            CompletableFuture<List<Integer>> squares = square.submitAll(IntStream.range(0, 50).boxed().toList());
+            CompletableFuture<String> formatted = format.submitAfter(square.submit(12));
+            scope.join();
+
+            assertThat(squares.get()).isEqualTo(IntStream.range(0, 50).map(n -> n * n).boxed().toList());
+            assertThat(formatted.get()).isEqualTo("#144");
+            assertThat(maxInFlight.get()).isBetween(1, 3);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void aFailingTaskCancelsItsSiblings() throws Exception {
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        try (PipelineScope scope = PipelineScope.open()) {
+            CompletableFuture<Object> sibling = scope.fork(() -> {
+                siblingStarted.countDown();
+                Thread.sleep(60_000);
+                return "never";
+            });
+            siblingStarted.await();
+            scope.fork(() -> {
+                throw new IllegalStateException("boom");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isInstanceOf(IllegalStateException.class).hasMessage("boom");
+            assertThat(sibling).isCompletedExceptionally();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void theDeadlineCancelsWhatIsStillRunning() {
+        try (PipelineScope scope = PipelineScope.open(Duration.ofMillis(100))) {
+            CompletableFuture<Object> slow = scope.fork(() -> {
+                Thread.sleep(60_000);
+                return "never";
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(TimeoutException.class);
+            assertThat(slow).isCompletedExceptionally();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void closeStopsRunningTasksAndRejectsNewOnes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        PipelineScope scope = PipelineScope.open();
+        CompletableFuture<Object> task = scope.fork(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return "never";
+        });
+        CompletableFuture<Boolean> virtual = scope.fork(() -> Thread.currentThread().isVirtual());
+        started.await();
+        assertThat(virtual.get()).isTrue();
+
+        scope.close();
+
+        assertThat(task).isCompletedExceptionally();
+        assertThat(interrupted).hasValue(1);
+        assertThatThrownBy(() -> scope.fork(() -> 1)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PredicateIndexTest {
+
+    private record Order(long amount, String customer) {
+    }
+
+    @Test
+    void matchesTheSamePredicatesAsTestingEachOne() {
+        Random random = new Random(7);
+        PredicateIndex<Order> index = PredicateIndex.create();
+        PredicateIndex.LongField<Order> amount = index.longField("amount", Order::amount);
+        PredicateIndex.StringField<Order> customer = index.stringField("customer", Order::customer);
+
+        List<Predicate<? super Order>> predicates = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long a = random.nextInt(1_000);
+            long b = a + random.nextInt(200);
+            Predicate<Order> predicate = switch (i % 9) {
+                case 0 -> amount.equalTo(a);
+                case 1 -> amount.greaterThan(a);
+                case 2 -> amount.atLeast(a);
+                case 3 -> amount.lessThan(a);
+                case 4 -> amount.atMost(a);
+                case 5 -> amount.between(a, b);
+                case 6 -> customer.equalTo(name(random));
+                case 7 -> customer.startsWith(prefix(random));
+                default -> order -> order.amount() % 97 == a % 97;
+            };
+            assertThat(index.register(predicate)).isEqualTo(i);
+            predicates.add(predicate);
+        }
+        predicates.add(customer.length().between(2, 3));
+        index.register(predicates.get(predicates.size() - 1));
+
+        for (int i = 0; i < 500; i++) {
+            Order order = new Order(random.nextInt(1_200) - 100, random.nextInt(20) == 0 ? null : name(random));
+            assertThat(index.match(order)).as("%s", order).containsExactly(bruteForce(predicates, order));
+        }
+    }
+
+    @Test
+    void unregisteredPredicatesNoLongerMatch() {
+        PredicateIndex<Order> index = PredicateIndex.create();
+        PredicateIndex.LongField<Order> amount = index.longField("amount", Order::amount);
+        int small = index.register(amount.lessThan(100));
+        int any = index.register(order -> true);
+        Order order = new Order(5, "x");
+
+        assertThat(index.match(order)).containsExactly(small, any);
+        assertThat(index.unregister(small)).isTrue();
+        assertThat(index.unregister(small)).isFalse();
+        assertThat(index.match(order)).containsExactly(any);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private static int[] bruteForce(List<Predicate<? super Order>> predicates, Order order) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < predicates.size(); id++) {
+            if (predicates.get(id).test(order)) {
+                ids.add(id);
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String prefix(Random random) {
+        String name = name(random);
+        return name.substring(0, 1 + random.nextInt(name.length()));
+    }
+
+    private static String name(Random random) {
+        char[] name = new char[1 + random.nextInt(4)];
+        for (int c = 0; c < name.length; c++) {
+            name[c] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(name);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitiveCollectorsTest {
+
+    private static final List<String> WORDS = IntStream.range(0, 5_000)
+            .mapToObj(i -> Integer.toString(i * 7919 % 10_007, 36))
+            .toList();
+
+    @Test
+    void groupingByIntMatchesGroupingBy() {
+        IntKeyedMap<List<String>> grouped = WORDS.stream().collect(PrimitiveCollectors.groupingByInt(String::length));
+
+        assertThat(grouped.toMap()).isEqualTo(WORDS.stream().collect(Collectors.groupingBy(String::length)));
+    }
+
+    @Test
+    void groupingByCharAppliesTheDownstreamCollector() {
+        IntKeyedMap<Long> counts = WORDS.stream()
+                .collect(PrimitiveCollectors.groupingByChar(word -> word.charAt(0), Collectors.counting()));
+
+        Map<Integer, Long> expected = WORDS.stream()
+                .collect(Collectors.groupingBy(word -> (int) word.charAt(0), Collectors.counting()));
+        assertThat(counts.toMap()).isEqualTo(expected);
+    }
+
+    @Test
+    void concurrentGroupingOverAParallelStreamMatchesSequential() {
+        IntKeyedMap<Long> ints = WORDS.parallelStream()
+                .collect(PrimitiveCollectors.groupingByIntConcurrent(String::hashCode, Collectors.counting()));
+        assertThat(ints.toMap())
+                .isEqualTo(WORDS.stream().collect(Collectors.groupingBy(String::hashCode, Collectors.counting())));
+
+        LongKeyedMap<List<Long>> longs = LongStream.range(0, 20_000).boxed().parallel()
+                .collect(PrimitiveCollectors.groupingByLongConcurrent(n -> n % 97 * 1_000_000_007L));
+        Map<Long, List<Long>> expected = LongStream.range(0, 20_000).boxed()
+                .collect(Collectors.groupingBy(n -> n % 97 * 1_000_000_007L));
+        assertThat(longs.toMap().keySet()).isEqualTo(expected.keySet());
+        longs.toMap().forEach((key, values) ->
+                assertThat(values).containsExactlyInAnyOrderElementsOf(expected.get(key)));
+    }
+
+    @Test
+    void groupingByLongKeepsEncounterOrderWithinGroups() {
+        LongKeyedMap<List<Long>> grouped = LongStream.range(0, 1_000).boxed()
+                .collect(PrimitiveCollectors.groupingByLong(n -> n % 3));
+
+        assertThat(grouped.toMap()).isEqualTo(LongStream.range(0, 1_000).boxed()
+                .collect(Collectors.groupingBy(n -> n % 3)));
+    }
+}
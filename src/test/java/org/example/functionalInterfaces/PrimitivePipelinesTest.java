@@ -0,0 +1,85 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitivePipelinesTest {
+
+    private static final int[] INTS = new Random(42).ints(10_000, -1_000, 1_000).toArray();
+    private static final long[] LONGS = new Random(42).longs(10_000, -1_000_000, 1_000_000).toArray();
+
+    @Test
+    void intPipelinesMatchIntStreams() {
+        IntPipeline pipeline = IntPipeline.identity()
+                .map(n -> n + 1).map(n -> n * 3)
+                .filter(n -> n % 2 == 0).filter(n -> n > -500)
+                .map(n -> n / 2);
+
+        int[] expected = IntStream.of(INTS)
+                .map(n -> n + 1).map(n -> n * 3)
+                .filter(n -> n % 2 == 0).filter(n -> n > -500)
+                .map(n -> n / 2).toArray();
+        assertThat(pipeline.toArray(INTS)).isEqualTo(expected);
+        assertThat(pipeline.sum(INTS)).isEqualTo(IntStream.of(expected).sum());
+        assertThat(pipeline.count(INTS)).isEqualTo(expected.length);
+        assertThat(pipeline.reduce(INTS, Integer.MIN_VALUE, Math::max)).isEqualTo(IntStream.of(expected).max().orElseThrow());
+    }
+
+    @Test
+    void intPipelinesAreImmutableAndCanWriteInPlace() {
+        IntPipeline evens = IntPipeline.identity().filter(n -> n % 2 == 0);
+        IntPipeline squares = evens.map(n -> n * n);
+        evens.filter(n -> n > 0); // fuses into a new stage, leaving evens as it was
+
+        assertThat(evens.toArray(new int[]{1, 2, 3, 4})).containsExactly(2, 4);
+        assertThat(IntPipeline.identity().toArray(new int[]{1, 2, 3})).containsExactly(1, 2, 3);
+        int[] values = {1, 2, 3, 4, 5, 6};
+        int written = squares.into(values, values);
+        assertThat(Arrays.copyOf(values, written)).containsExactly(4, 16, 36);
+    }
+
+    @Test
+    void longPipelinesMatchLongStreams() {
+        LongPipeline pipeline = LongPipeline.identity()
+                .filter(n -> n % 3 != 0)
+                .map(n -> n * n).map(n -> n - 7)
+                .filter(n -> n < 500_000_000_000L);
+
+        long[] expected = LongStream.of(LONGS)
+                .filter(n -> n % 3 != 0)
+                .map(n -> n * n).map(n -> n - 7)
+                .filter(n -> n < 500_000_000_000L).toArray();
+        assertThat(pipeline.toArray(LONGS)).isEqualTo(expected);
+        assertThat(pipeline.sum(LONGS)).isEqualTo(LongStream.of(expected).sum());
+        assertThat(pipeline.count(LONGS)).isEqualTo(expected.length);
+        assertThat(pipeline.reduce(LONGS, 0, (a, b) -> a ^ b)).isEqualTo(LongStream.of(expected).reduce(0, (a, b) -> a ^ b));
+    }
+
+    @Test
+    void operatorsAndConditionsCompose() {
+        IntOperator plusOne = n -> n + 1;
+        IntOperator twice = n -> n * 2;
+        assertThat(plusOne.andThen(twice).applyAsInt(3)).isEqualTo(8);
+        assertThat(plusOne.compose(twice).applyAsInt(3)).isEqualTo(7);
+        assertThat(IntOperator.identity().applyAsInt(5)).isEqualTo(5);
+
+        IntCondition positive = n -> n > 0;
+        IntCondition even = n -> n % 2 == 0;
+        assertThat(positive.and(even).test(2)).isTrue();
+        assertThat(positive.and(even).test(3)).isFalse();
+        assertThat(positive.or(even).test(-2)).isTrue();
+        assertThat(positive.negate().test(1)).isFalse();
+        assertThat(even.compose(plusOne).test(3)).isTrue();
+
+        IntBiOperator sum = Integer::sum;
+        assertThat(sum.andThen(twice).applyAsInt(2, 3)).isEqualTo(10);
+        DoubleOperator half = x -> x / 2;
+        assertThat(half.andThen(x -> x + 1).applyAsDouble(4)).isEqualTo(3.0);
+    }
+}
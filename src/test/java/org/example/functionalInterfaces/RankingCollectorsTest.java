@@ -0,0 +1,57 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankingCollectorsTest {
+
+    private static final List<Integer> VALUES = new Random(42).ints(100_000, 0, 1_000_000).boxed().toList();
+
+    @Test
+    void topAndBottomKMatchAFullSort() {
+        for (int k : new int[]{0, 1, 10, 1_000}) {
+            List<Integer> top = VALUES.parallelStream().collect(RankingCollectors.topK(k, Comparator.naturalOrder()));
+            List<Integer> bottom = VALUES.stream().collect(RankingCollectors.bottomK(k, Comparator.naturalOrder()));
+
+            assertThat(top).isEqualTo(VALUES.stream().sorted(Comparator.reverseOrder()).limit(k).toList());
+            assertThat(bottom).isEqualTo(VALUES.stream().sorted().limit(k).toList());
+        }
+    }
+
+    @Test
+    void kLargerThanTheStreamKeepsEverything() {
+        assertThat(Stream.of(3, 1, 2).collect(RankingCollectors.topK(10, Comparator.naturalOrder())))
+                .containsExactly(3, 2, 1);
+        assertThat(Stream.<Integer>empty().collect(RankingCollectors.topK(10, Comparator.naturalOrder()))).isEmpty();
+        assertThatThrownBy(() -> RankingCollectors.topK(-1, Comparator.naturalOrder()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void summarizingFindsTheExtremesInOnePass() {
+        RankingCollectors.Summary<String> summary = IntStream.range(0, 10_000).parallel()
+                .mapToObj(i -> "item-" + i)
+                .collect(RankingCollectors.summarizing(s -> Long.parseLong(s.substring(5)) % 1_000));
+
+        assertThat(summary.count()).isEqualTo(10_000);
+        assertThat(summary.sum()).isEqualTo(10L * 999 * 1_000 / 2);
+        assertThat(summary.minKey()).isZero();
+        assertThat(summary.min()).isEqualTo("item-0");
+        assertThat(summary.maxKey()).isEqualTo(999);
+        assertThat(summary.max()).isEqualTo("item-999");
+        assertThat(summary.average()).isEqualTo(499.5);
+
+        RankingCollectors.Summary<String> empty = Stream.<String>empty().collect(RankingCollectors.summarizing(String::length));
+        assertThat(empty.count()).isZero();
+        assertThat(empty.min()).isNull();
+        assertThat(empty.average()).isZero();
+    }
+}
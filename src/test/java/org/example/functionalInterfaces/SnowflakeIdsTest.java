@@ -0,0 +1,89 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdsTest {
+
+    @Test
+    @Timeout(30)
+    void idsFromManyThreadsAreUniqueAndIncreasingPerThread() throws Exception {
+        SnowflakeIds ids = new SnowflakeIds(7);
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                boolean filling = t % 2 == 0;
+                results.add(executor.submit(() -> {
+                    long[] taken = new long[20_000];
+                    if (filling) {
+                        long[] block = new long[100];
+                        for (int i = 0; i < taken.length; i += block.length) {
+                            ids.fill(block);
+                            System.arraycopy(block, 0, taken, i, block.length);
+                        }
+                    } else {
+                        for (int i = 0; i < taken.length; i++) {
+                            taken[i] = ids.getAsLong();
+                        }
+                    }
+                    return taken;
+                }));
+            }
+        }
+
+        Set<Long> unique = new HashSet<>();
+        for (Future<long[]> result : results) {
+            long[] taken = result.get();
+            for (int i = 0; i < taken.length; i++) {
+                if (i > 0) {
+                    assertThat(taken[i]).isGreaterThan(taken[i - 1]);
+                }
+                unique.add(taken[i]);
+            }
+        }
+        assertThat(unique).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void moreThan4096IdsInAMillisecondBorrowFromTheNextOnes() {
+        SnowflakeIds ids = new SnowflakeIds(1);
+        long[] block = new long[10_000];
+        ids.fill(block);
+        long next = ids.getAsLong();
+
+        for (int i = 1; i < block.length; i++) {
+            assertThat(block[i]).isGreaterThan(block[i - 1]);
+        }
+        assertThat(next).isGreaterThan(block[block.length - 1]);
+        // 10,000 sequence numbers cannot fit in fewer than three milliseconds.
+        assertThat(ChronoUnit.MILLIS.between(ids.timestampOf(block[0]), ids.timestampOf(block[block.length - 1])))
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void timestampAndNodeCanBeReadBackFromAnId() {
+        Instant epoch = Instant.parse("2024-01-01T00:00:00Z");
+        SnowflakeIds ids = new SnowflakeIds(1023, epoch);
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        long id = ids.getAsLong();
+        Instant after = Instant.now();
+
+        assertThat(ids.timestampOf(id)).isBetween(before, after);
+        assertThat((id >>> 12) & 1023).isEqualTo(1023);
+        assertThat(new SnowflakeIds(3, epoch).getAsLong()).isNotEqualTo(new SnowflakeIds(4, epoch).getAsLong());
+        assertThatThrownBy(() -> new SnowflakeIds(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringCollectorsTest {
+
+    private static final List<String> WORDS = IntStream.range(0, 10_000).mapToObj(i -> "w" + i).toList();
+
+    @Test
+    void joiningMatchesCollectorsJoiningSequentiallyAndInParallel() {
+        String expected = WORDS.stream().collect(Collectors.joining(", ", "[", "]"));
+
+        assertThat(WORDS.stream().collect(StringCollectors.joining(", ", "[", "]"))).isEqualTo(expected);
+        assertThat(WORDS.parallelStream().collect(StringCollectors.joining(", ", "[", "]"))).isEqualTo(expected);
+        assertThat(WORDS.parallelStream().collect(StringCollectors.joining())).isEqualTo(String.join("", WORDS));
+    }
+
+    @Test
+    void emptyInputGivesPrefixAndSuffix() {
+        assertThat(List.<String>of().stream().collect(StringCollectors.joining(",", "<", ">"))).isEqualTo("<>");
+    }
+
+    @Test
+    void appendingABuilderMovesItsSegments() {
+        SegmentedStringBuilder left = new SegmentedStringBuilder();
+        SegmentedStringBuilder right = new SegmentedStringBuilder();
+        for (int i = 0; i < 100; i++) {
+            left.append("a" + i);
+            right.append(new StringBuilder("b").append(i));
+        }
+
+        left.append(right);
+
+        assertThat(right.isEmpty()).isTrue();
+        assertThat(left.count()).isEqualTo(200);
+        String joined = left.toString();
+        assertThat(left.length()).isEqualTo(joined.length());
+        assertThat(left.charAt(joined.length() - 1)).isEqualTo(joined.charAt(joined.length() - 1));
+        assertThat(left.subSequence(0, 4)).hasToString("a0a1");
+        assertThatThrownBy(() -> left.append(left)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.functionalInterfaces;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskDispatcherTest {
+
+    @Test
+    @Timeout(30)
+    void tasksWithTheSameKeyRunInDispatchOrder() {
+        List<List<Integer>> seen = new ArrayList<>();
+        for (int key = 0; key < 8; key++) {
+            seen.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        try (TaskDispatcher dispatcher = TaskDispatcher.start(4, 64, 16, TaskDispatcher.WaitStrategy.PARK)) {
+            for (int i = 0; i < 10_000; i++) {
+                int key = i % 8;
+                int value = i;
+                dispatcher.dispatch(key, () -> seen.get(key).add(value));
+            }
+        }
+
+        for (int key = 0; key < 8; key++) {
+            List<Integer> values = seen.get(key);
+            assertThat(values).hasSize(1_250).isSorted();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void closeRunsEverythingDispatchedAndCountsFailures() {
+        AtomicInteger ran = new AtomicInteger();
+        TaskDispatcher dispatcher = TaskDispatcher.start(2, 16, 4, TaskDispatcher.WaitStrategy.YIELD);
+        for (int i = 0; i < 1_000; i++) {
+            int value = i;
+            dispatcher.dispatch(() -> {
+                ran.incrementAndGet();
+                if (value % 100 == 0) {
+                    throw new IllegalStateException("task " + value);
+                }
+            });
+        }
+        dispatcher.close();
+
+        TaskDispatcher.Stats stats = dispatcher.stats();
+        assertThat(ran).hasValue(1_000);
+        assertThat(stats.dispatched()).isEqualTo(1_000);
+        assertThat(stats.executed()).isEqualTo(1_000);
+        assertThat(stats.failed()).isEqualTo(10);
+        assertThat(stats.depth()).isZero();
+        assertThat(stats.batches()).isPositive();
+        assertThat(stats.maxBatchNanos()).isGreaterThanOrEqualTo((long) stats.meanBatchNanos());
+        assertThatThrownBy(() -> dispatcher.dispatch(ran::incrementAndGet))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @Timeout(30)
+    void taskFillingItsOwnRingIsRejectedInsteadOfWaiting() throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicReference<Throwable> rejection = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        try (TaskDispatcher dispatcher = TaskDispatcher.start(1, 4, 4, TaskDispatcher.WaitStrategy.PARK)) {
+            dispatcher.dispatch(0, () -> {
+                try {
+                    for (int i = 0; i < 10; i++) {
+                        dispatcher.dispatch(0, () -> { });
+                        accepted.incrementAndGet();
+                    }
+                } catch (RejectedExecutionException e) {
+                    rejection.set(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // The running task keeps its own slot until its batch finishes.
+        assertThat(accepted).hasValue(3);
+        assertThat(rejection.get()).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @Timeout(30)
+    void tasksCanCloseTheDispatcherAndDispatchWhileItCloses() throws InterruptedException {
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch closed = new CountDownLatch(1);
+        TaskDispatcher dispatcher = TaskDispatcher.start(2, 16, 4, TaskDispatcher.WaitStrategy.PARK);
+        dispatcher.dispatch(0, () -> {
+            dispatcher.close();
+            try {
+                dispatcher.dispatch(0, ran::incrementAndGet);
+            } catch (RejectedExecutionException expected) {
+                ran.incrementAndGet();
+            }
+            closed.countDown();
+        });
+
+        assertThat(closed.await(10, TimeUnit.SECONDS)).isTrue();
+        dispatcher.close();
+        assertThat(ran).hasValue(1);
+    }
+
+    @Test
+    @Timeout(30)
+    void errorsAndSneakyCheckedExceptionsDoNotKillTheWorker() {
+        AtomicInteger ran = new AtomicInteger();
+        TaskDispatcher dispatcher = TaskDispatcher.start(1, 16, 4, TaskDispatcher.WaitStrategy.PARK);
+        dispatcher.dispatch(() -> {
+            throw new AssertionError("error");
+        });
+        dispatcher.dispatch(() -> TaskDispatcherTest.<RuntimeException>sneaky(new Exception("checked")));
+        dispatcher.dispatch(ran::incrementAndGet);
+        dispatcher.close();
+
+        assertThat(ran).hasValue(1);
+        assertThat(dispatcher.stats().failed()).isEqualTo(2);
+        assertThat(dispatcher.stats().depth()).isZero();
+    }
+
+    @Test
+    @Timeout(30)
+    void dispatchingToAWorkerKilledByAVirtualMachineErrorIsRejected() throws InterruptedException {
+        CountDownLatch died = new CountDownLatch(1);
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> died.countDown());
+        try (TaskDispatcher dispatcher = TaskDispatcher.start(1, 4, 4, TaskDispatcher.WaitStrategy.PARK)) {
+            dispatcher.dispatch(() -> {
+                throw new StackOverflowError("simulated");
+            });
+            died.await();
+
+            assertThatThrownBy(() -> {
+                for (int i = 0; i < 10; i++) {
+                    dispatcher.dispatch(() -> { });
+                }
+            }).isInstanceOf(RejectedExecutionException.class).hasMessageContaining("died");
+            assertThat(dispatcher.stats().failed()).isEqualTo(1);
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+    }
+
+    @SuppressWarnings("unchecked") // Rethrows a checked exception without declaring it, like a sneaky-throwing library would.
+    private static <T extends Throwable> void sneaky(Throwable t) throws T {
+        throw (T) t;
+    }
+}
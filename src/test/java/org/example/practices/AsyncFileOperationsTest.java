@@ -0,0 +1,91 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncFileOperationsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void operationsOnTheSamePathRunInSubmissionOrder() throws Exception {
+        Path file = directory.resolve("log.txt");
+        try (AsyncFileOperations operations = new AsyncFileOperations()) {
+            operations.createFile(file);
+            List<CompletableFuture<Void>> appends = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                appends.add(operations.appendToFile(file, i + "\n"));
+            }
+            CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        }
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(Integer.toString(i));
+        }
+        assertThat(Files.readAllLines(file)).isEqualTo(expected);
+    }
+
+    @Test
+    @Timeout(30)
+    void cancellingARunningOperationStillHoldsBackTheNextOne() throws Exception {
+        Path file = Files.writeString(directory.resolve("file.txt"), "");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean firstFinished = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        // Holds the append inside the operation, ignoring interrupts like I/O that cannot be interrupted.
+        FileOperationListener listener = (operation, path, nanos, bytes, files, failure) -> {
+            if (operation == FileOperation.APPEND_TO_FILE) {
+                started.countDown();
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        release.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                firstFinished.set(true);
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            } else if (operation == FileOperation.WRITE_FILE && !firstFinished.get()) {
+                overlapped.set(true);
+            }
+        };
+        FileAndDirectoryOperations.addListener(listener);
+        try (AsyncFileOperations operations = new AsyncFileOperations(executor)) {
+            CompletableFuture<Void> first = operations.appendToFile(file, "first");
+            CompletableFuture<Void> second = operations.writeFile(file, "second");
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            first.cancel(true);
+            Thread.sleep(100);
+            assertThat(second).isNotDone();
+
+            release.countDown();
+            second.get(10, TimeUnit.SECONDS);
+            assertThat(overlapped).isFalse();
+        } finally {
+            FileAndDirectoryOperations.removeListener(listener);
+            executor.close();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockGzipTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenFilesDecompressWithGZIPInputStream() throws IOException {
+        Path file = directory.resolve("log.gz");
+        String content = text(5 * BlockGzip.BLOCK_SIZE / 2);
+
+        FileAndDirectoryOperations.writeFileCompressed(file, content);
+
+        assertThat(Files.size(file)).isLessThan(content.length());
+        assertThat(gunzip(file)).isEqualTo(content);
+        try (InputStream in = FileAndDirectoryOperations.openCompressed(file)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(content);
+        }
+        assertThat(BlockGzip.uncompressedSize(file)).isEqualTo(content.length());
+    }
+
+    @Test
+    void skipSeeksAcrossBlocks() throws IOException {
+        Path file = directory.resolve("log.gz");
+        byte[] content = text(3 * BlockGzip.BLOCK_SIZE + 1000).getBytes(StandardCharsets.UTF_8);
+        FileAndDirectoryOperations.writeFileCompressed(file, new String(content, StandardCharsets.UTF_8));
+
+        try (InputStream in = FileAndDirectoryOperations.openCompressed(file)) {
+            long offset = 2L * BlockGzip.BLOCK_SIZE - 100;
+            assertThat(in.skip(offset)).isEqualTo(offset);
+            byte[] spanning = in.readNBytes(200);
+            assertThat(spanning).isEqualTo(Arrays.copyOfRange(content, (int) offset, (int) offset + 200));
+
+            assertThat(in.skip(BlockGzip.BLOCK_SIZE)).isEqualTo(BlockGzip.BLOCK_SIZE);
+            int position = (int) offset + 200 + BlockGzip.BLOCK_SIZE;
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, position, content.length));
+        }
+    }
+
+    @Test
+    void appendsFoldTheIndexOnceTheSegmentChainGetsLong() throws IOException {
+        Path file = directory.resolve("log.gz");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < BlockGzip.MAX_SEGMENTS + 8; i++) {
+            String line = "append " + i + "\n";
+            FileAndDirectoryOperations.appendToFileCompressed(file, line);
+            expected.append(line);
+        }
+
+        assertThat(gunzip(file)).isEqualTo(expected.toString());
+        assertThat(BlockGzip.uncompressedSize(file)).isEqualTo(expected.length());
+        try (InputStream in = FileAndDirectoryOperations.openCompressed(file)) {
+            int offset = expected.indexOf("append 35");
+            in.skip(offset);
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(expected.substring(offset));
+        }
+    }
+
+    @Test
+    void failedAppendTruncatesBackToThePreviousContents() throws IOException {
+        Path file = directory.resolve("log.gz");
+        FileAndDirectoryOperations.writeFileCompressed(file, text(BlockGzip.BLOCK_SIZE + 10));
+        byte[] before = Files.readAllBytes(file);
+        InputStream failing = new SequenceInputStream(
+                new ByteArrayInputStream(text(2 * BlockGzip.BLOCK_SIZE).getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("source failed");
+                    }
+                });
+
+        assertThatThrownBy(() -> BlockGzip.write(file, failing, true)).hasMessage("source failed");
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(before);
+    }
+
+    @Test
+    void refusesToAppendToAnOrdinaryGzipFile() throws IOException {
+        Path file = directory.resolve("plain.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write("plain\n".getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] before = Files.readAllBytes(file);
+
+        assertThatThrownBy(() -> FileAndDirectoryOperations.appendToFileCompressed(file, "more\n"))
+                .isInstanceOf(FileOperationException.class)
+                .hasCauseInstanceOf(ZipException.class);
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(before);
+        try (InputStream in = FileAndDirectoryOperations.openCompressed(file)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("plain\n");
+        }
+    }
+
+    @Test
+    void corruptBlocksFailTheRead() throws IOException {
+        Path file = directory.resolve("log.gz");
+        FileAndDirectoryOperations.writeFileCompressed(file, text(BlockGzip.BLOCK_SIZE));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 3] ^= 0x55;
+        Files.write(file, bytes);
+
+        try (InputStream in = FileAndDirectoryOperations.openCompressed(file)) {
+            assertThatThrownBy(in::readAllBytes).isInstanceOf(ZipException.class);
+        }
+    }
+
+    @Test
+    void readFileCompressedReportsTheDecompressedSize() {
+        Path file = directory.resolve("log.gz");
+        String content = text(64 * 1024);
+        FileAndDirectoryOperations.writeFileCompressed(file, content);
+        AtomicLong reported = new AtomicLong(-1);
+        FileOperationListener listener = (operation, path, nanos, bytes, files, failure) -> {
+            if (operation == FileOperation.READ_FILE) {
+                reported.set(bytes);
+            }
+        };
+        FileAndDirectoryOperations.addListener(listener);
+        try {
+            FileAndDirectoryOperations.readFileCompressed(file);
+        } finally {
+            FileAndDirectoryOperations.removeListener(listener);
+        }
+
+        assertThat(reported).hasValue(content.length());
+    }
+
+    @Test
+    void copyFileCompressedRejectsCopyingAFileOntoItself() throws IOException {
+        Path file = Files.writeString(directory.resolve("log.txt"), "keep me\n");
+        Path link = Files.createLink(directory.resolve("link.txt"), file);
+
+        assertThatThrownBy(() -> FileAndDirectoryOperations.copyFileCompressed(file, file))
+                .isInstanceOf(FileOperationException.class);
+        assertThatThrownBy(() -> FileAndDirectoryOperations.copyFileCompressed(file, link))
+                .isInstanceOf(FileOperationException.class);
+
+        assertThat(file).hasContent("keep me");
+        Path copy = directory.resolve("copy.gz");
+        FileAndDirectoryOperations.copyFileCompressed(file, copy);
+        assertThat(gunzip(copy)).isEqualTo("keep me\n");
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Log-like ASCII text of exactly {@code length} bytes. */
+    private static String text(int length) {
+        StringBuilder text = new StringBuilder(length + 64);
+        for (int i = 0; text.length() < length; i++) {
+            text.append(i).append(" INFO [worker-").append(i % 16).append("] request took ").append(i * 7 % 2000).append(" ms\n");
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+}
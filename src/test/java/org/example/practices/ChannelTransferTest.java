@@ -0,0 +1,78 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ChannelTransferTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void copiesContentOverAnExistingTarget() throws IOException {
+        byte[] content = randomBytes(3 * 1024 * 1024 + 17);
+        Path source = Files.write(directory.resolve("source"), content);
+        Path target = Files.writeString(directory.resolve("target"), "old");
+
+        assertThat(ChannelTransfer.copy(source, target)).isEqualTo(content.length);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void missingSourceLeavesTargetUntouched() throws IOException {
+        Path target = Files.writeString(directory.resolve("target"), "keep");
+
+        assertThatThrownBy(() -> ChannelTransfer.copy(directory.resolve("missing"), target))
+                .isInstanceOf(NoSuchFileException.class);
+        assertThat(target).hasContent("keep");
+    }
+
+    @Test
+    void copyingAFileOntoItselfKeepsIt() throws IOException {
+        Path source = Files.writeString(directory.resolve("source"), "same");
+
+        assertThat(ChannelTransfer.copy(source, source)).isEqualTo(4);
+        assertThat(source).hasContent("same");
+    }
+
+    @Test
+    void copyKeepsPermissionsAndMoveKeepsModificationTime() throws IOException {
+        assumeTrue(Files.getFileStore(directory).supportsFileAttributeView("posix"));
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rwxr-x---");
+        FileTime modified = FileTime.fromMillis(1_000_000_000_000L);
+        Path source = Files.write(directory.resolve("source"), randomBytes(1024));
+        Files.setPosixFilePermissions(source, permissions);
+        Files.setLastModifiedTime(source, modified);
+
+        Path copy = directory.resolve("copy");
+        ChannelTransfer.copy(source, copy);
+        assertThat(Files.getPosixFilePermissions(copy)).isEqualTo(permissions);
+
+        Path moved = directory.resolve("moved");
+        ChannelTransfer.move(source, moved);
+        assertThat(source).doesNotExist();
+        assertThat(Files.getPosixFilePermissions(moved)).isEqualTo(permissions);
+        assertThat(Files.getLastModifiedTime(moved)).isEqualTo(modified);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DirectorySyncTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void copiesChangedFilesAndSkipsUnchangedOnes() throws IOException {
+        Path source = Files.createDirectories(root.resolve("source/nested"));
+        Files.writeString(source.resolve("a.txt"), "a");
+        Files.writeString(source.resolve("b.txt"), "b");
+        Path target = root.resolve("target");
+
+        SyncResult first = DirectorySync.sync(source.getParent(), target, SyncOptions.DEFAULT);
+        assertThat(first.copied()).isEqualTo(2);
+        assertThat(target.resolve("nested/a.txt")).hasContent("a");
+
+        Files.writeString(source.resolve("b.txt"), "changed");
+        SyncResult second = DirectorySync.sync(source.getParent(), target, SyncOptions.DEFAULT);
+        assertThat(second.copied()).isEqualTo(1);
+        assertThat(second.skipped()).isEqualTo(1);
+        assertThat(target.resolve("nested/b.txt")).hasContent("changed");
+    }
+
+    @Test
+    void corruptManifestFallsBackToAFullCopy() throws IOException {
+        Path source = Files.createDirectories(root.resolve("source"));
+        Files.writeString(source.resolve("a.txt"), "a");
+        Files.writeString(source.resolve("b.txt"), "b");
+        Path target = root.resolve("target");
+        DirectorySync.sync(source, target, SyncOptions.DEFAULT);
+        Files.write(target.resolve(SyncManifest.FILE_NAME), new byte[]{'S', 'Y', 'N', 'C', 0});
+
+        SyncResult result = DirectorySync.sync(source, target, SyncOptions.DEFAULT);
+
+        assertThat(result.copied()).isEqualTo(2);
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(DirectorySync.sync(source, target, SyncOptions.DEFAULT).skipped()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsTargetFilesThatWereNeverSynced() throws IOException {
+        Path source = Files.createDirectories(root.resolve("source"));
+        Files.writeString(source.resolve("kept.txt"), "kept");
+        Path target = Files.createDirectories(root.resolve("target/old"));
+        Files.writeString(target.resolve("stale.txt"), "before the first sync");
+
+        SyncResult result = DirectorySync.sync(source, target.getParent(), SyncOptions.DEFAULT);
+
+        assertThat(result.orphans()).containsExactly(Path.of("old"), Path.of("old/stale.txt"));
+        assertThat(result.orphansDeleted()).isFalse();
+        assertThat(target.resolve("stale.txt")).exists();
+    }
+
+    @Test
+    void deletesOrphansWhenAsked() throws IOException {
+        Path source = Files.createDirectories(root.resolve("source"));
+        Files.writeString(source.resolve("kept.txt"), "kept");
+        Files.writeString(source.resolve("removed.txt"), "removed");
+        Path target = root.resolve("target");
+        DirectorySync.sync(source, target, SyncOptions.DEFAULT);
+        Files.delete(source.resolve("removed.txt"));
+        Files.writeString(target.resolve("extra.txt"), "never in the source");
+
+        SyncResult result = DirectorySync.sync(source, target, new SyncOptions(false, true));
+
+        assertThat(result.orphans()).containsExactly(Path.of("extra.txt"), Path.of("removed.txt"));
+        assertThat(target.resolve("extra.txt")).doesNotExist();
+        assertThat(target.resolve("removed.txt")).doesNotExist();
+        assertThat(target.resolve("kept.txt")).hasContent("kept");
+        assertThat(target.resolve(SyncManifest.FILE_NAME)).exists();
+    }
+
+    @Test
+    void mirrorsEmptyDirectoriesAndRemovesOrphanedOnes() throws IOException {
+        Path source = Files.createDirectories(root.resolve("source/empty"));
+        Path target = Files.createDirectories(root.resolve("target/gone/deeper"));
+        Files.writeString(target.resolve("stale.txt"), "stale");
+
+        SyncResult result = DirectorySync.sync(source.getParent(), target.getParent().getParent(), new SyncOptions(false, true));
+
+        assertThat(root.resolve("target/empty")).isEmptyDirectory();
+        assertThat(result.orphans()).containsExactly(Path.of("gone"), Path.of("gone/deeper"), Path.of("gone/deeper/stale.txt"));
+        assertThat(root.resolve("target/gone")).doesNotExist();
+        assertThat(result.isSuccessful()).isTrue();
+    }
+
+    @Test
+    void reportsSymbolicLinksInsteadOfCopyingThem() throws IOException {
+        Path source = Files.createDirectories(root.resolve("source"));
+        Path file = Files.writeString(source.resolve("a.txt"), "a");
+        try {
+            Files.createSymbolicLink(source.resolve("link.txt"), file);
+        } catch (UnsupportedOperationException | IOException e) {
+            assumeTrue(false, "symbolic links are not supported here");
+        }
+        Path target = root.resolve("target");
+
+        SyncResult result = DirectorySync.sync(source, target, new SyncOptions(false, true));
+
+        assertThat(result.copied()).isEqualTo(1);
+        assertThat(result.notCopied()).containsExactly(Path.of("link.txt"));
+        assertThat(target.resolve("link.txt")).doesNotExist();
+        assertThat(result.orphans()).isEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateFinderTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void groupsFilesWithIdenticalContent() throws IOException {
+        Files.writeString(root.resolve("a.txt"), "same");
+        Files.createDirectories(root.resolve("nested"));
+        Files.writeString(root.resolve("nested/b.txt"), "same");
+        Files.writeString(root.resolve("c.txt"), "diff");
+        byte[] large = randomBytes(4 * DuplicateFinder.PARTIAL_BLOCK);
+        Files.write(root.resolve("large-1.bin"), large);
+        Files.write(root.resolve("large-2.bin"), large);
+        byte[] middleChanged = large.clone();
+        middleChanged[large.length / 2]++;
+        Files.write(root.resolve("large-3.bin"), middleChanged);
+
+        DuplicateReport report = DuplicateFinder.find(root, DedupOptions.DEFAULT);
+
+        assertThat(report.filesScanned()).isEqualTo(6);
+        assertThat(report.groups()).hasSize(2);
+        assertThat(report.groups().get(0).paths())
+                .containsExactly(root.resolve("large-1.bin"), root.resolve("large-2.bin"));
+        assertThat(report.groups().get(1).paths())
+                .containsExactly(root.resolve("a.txt"), root.resolve("nested/b.txt"));
+        assertThat(report.reclaimableBytes()).isEqualTo(large.length + 4);
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(root.resolve(ContentIndex.FILE_NAME)).doesNotExist();
+    }
+
+    @Test
+    void reusesDigestsOfUnchangedFiles() throws IOException {
+        Files.writeString(root.resolve("a.txt"), "same");
+        Files.writeString(root.resolve("b.txt"), "same");
+        Files.writeString(root.resolve("c.txt"), "same");
+
+        assertThat(DuplicateFinder.find(root, DedupOptions.INDEXED).filesHashed()).isEqualTo(3);
+        DuplicateReport unchanged = DuplicateFinder.find(root, DedupOptions.INDEXED);
+        assertThat(unchanged.filesHashed()).isZero();
+        assertThat(unchanged.groups()).singleElement().extracting(DuplicateReport.Group::files).isEqualTo(3);
+
+        Path c = Files.writeString(root.resolve("c.txt"), "diff");
+        Files.setLastModifiedTime(c, FileTime.from(Files.getLastModifiedTime(c).toInstant().plusSeconds(10)));
+        DuplicateReport modified = DuplicateFinder.find(root, DedupOptions.INDEXED);
+        assertThat(modified.filesHashed()).isEqualTo(1);
+        assertThat(modified.groups()).singleElement().extracting(DuplicateReport.Group::files).isEqualTo(2);
+    }
+
+    @Test
+    void replacesDuplicatesWithHardLinks() throws IOException {
+        Path a = Files.writeString(root.resolve("a.txt"), "same");
+        Path b = Files.writeString(root.resolve("b.txt"), "same");
+        Path c = Files.writeString(root.resolve("c.txt"), "same");
+
+        DuplicateReport report = DuplicateFinder.find(root, new DedupOptions(true, true));
+
+        assertThat(report.linked()).isEqualTo(2);
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(Files.isSameFile(a, b)).isTrue();
+        assertThat(Files.isSameFile(a, c)).isTrue();
+        assertThat(b).hasContent("same");
+        try (var files = Files.list(root)) {
+            assertThat(files.map(path -> path.getFileName().toString())).noneMatch(name -> name.endsWith(".dedup-link"));
+        }
+        // The links are now one file, so there is nothing left to report.
+        assertThat(DuplicateFinder.find(root, DedupOptions.INDEXED).groups()).isEmpty();
+    }
+
+    @Test
+    void neverLinksAFileWhoseDigestOnlyCameFromTheIndex() throws IOException {
+        Path a = Files.writeString(root.resolve("a.txt"), "same");
+        Path b = Files.writeString(root.resolve("b.txt"), "same");
+        assertThat(DuplicateFinder.find(root, DedupOptions.INDEXED).groups()).hasSize(1);
+
+        // Same size and modification time, different content: the index still vouches for it.
+        FileTime modified = Files.getLastModifiedTime(b);
+        Files.writeString(b, "diff");
+        Files.setLastModifiedTime(b, modified);
+        assertThat(DuplicateFinder.find(root, DedupOptions.INDEXED).groups()).hasSize(1);
+
+        DuplicateReport report = DuplicateFinder.find(root, new DedupOptions(true, true));
+
+        assertThat(report.linked()).isZero();
+        assertThat(report.groups()).isEmpty();
+        assertThat(Files.isSameFile(a, b)).isFalse();
+        assertThat(b).hasContent("diff");
+    }
+
+    @Test
+    void corruptIndexIsIgnoredAndRewritten() throws IOException {
+        Files.writeString(root.resolve("a.txt"), "same");
+        Files.writeString(root.resolve("b.txt"), "same");
+        Files.write(root.resolve(ContentIndex.FILE_NAME), new byte[]{'C', 'I', 'D', 'X', 0, 0, 0});
+
+        DuplicateReport report = DuplicateFinder.find(root, DedupOptions.INDEXED);
+
+        assertThat(report.groups()).hasSize(1);
+        assertThat(report.filesHashed()).isEqualTo(2);
+        assertThat(DuplicateFinder.find(root, DedupOptions.INDEXED).filesHashed()).isZero();
+    }
+
+    @Test
+    void failingToStoreTheIndexKeepsTheReport() throws IOException {
+        Files.writeString(root.resolve("a.txt"), "same");
+        Files.writeString(root.resolve("b.txt"), "same");
+        // A non-empty directory where the index belongs cannot be replaced by the new index.
+        Files.createDirectories(root.resolve(ContentIndex.FILE_NAME));
+        Files.writeString(root.resolve(ContentIndex.FILE_NAME).resolve("other.txt"), "other");
+
+        DuplicateReport report = DuplicateFinder.find(root, DedupOptions.INDEXED);
+
+        assertThat(report.groups()).singleElement().extracting(DuplicateReport.Group::files).isEqualTo(2);
+        assertThat(root.resolve(ContentIndex.TEMP_FILE_NAME)).doesNotExist();
+    }
+
+    @Test
+    void ignoresTemporaryFilesLeftByAnInterruptedRun() throws IOException {
+        Files.writeString(root.resolve("a.txt"), "same");
+        Files.writeString(root.resolve("b.txt"), "other");
+        Files.writeString(root.resolve("a.txt.dedup-link"), "same");
+        Files.writeString(root.resolve(ContentIndex.TEMP_FILE_NAME), "same");
+
+        DuplicateReport report = DuplicateFinder.find(root, DedupOptions.INDEXED);
+
+        assertThat(report.filesScanned()).isEqualTo(2);
+        assertThat(report.groups()).isEmpty();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
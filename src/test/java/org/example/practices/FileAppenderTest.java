@@ -0,0 +1,147 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FileAppenderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Timeout(30)
+    void concurrentAppendsKeepEveryRecordWhole() throws IOException {
+        Path file = Files.writeString(directory.resolve("log.txt"), "existing\n");
+        try (FileAppender appender = FileAppender.open(file);
+             ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                executor.execute(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        appender.append("thread " + thread + " record " + i + "\n");
+                    }
+                });
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(4_001).startsWith("existing");
+        Set<String> unique = new HashSet<>(lines.subList(1, lines.size()));
+        assertThat(unique).hasSize(4_000).contains("thread 3 record 999");
+    }
+
+    @Test
+    @Timeout(30)
+    void forceWritesEverythingAppendedBeforeIt() throws IOException {
+        Path file = directory.resolve("log.txt");
+        try (FileAppender appender = FileAppender.open(file, 1024, Duration.ofHours(1), FileAppender.FsyncPolicy.ON_FORCE)) {
+            appender.append("first\n");
+            appender.append("second\n");
+            appender.force();
+
+            assertThat(file).hasContent("first\nsecond");
+            FileAppender.Stats stats = appender.stats();
+            assertThat(stats.records()).isEqualTo(2);
+            assertThat(stats.bytes()).isEqualTo(13);
+            assertThat(stats.fsyncs()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void recordsLargerThanTheBufferAreSplitAcrossWrites() throws IOException {
+        Path file = directory.resolve("log.txt");
+        String record = "héllo wörld ".repeat(100) + "\n";
+        try (FileAppender appender = FileAppender.open(file, 16, Duration.ofHours(1), FileAppender.FsyncPolicy.ON_FLUSH)) {
+            appender.append(record);
+            appender.append(record);
+        }
+
+        assertThat(Files.readString(file, StandardCharsets.UTF_8)).isEqualTo(record + record);
+    }
+
+    @Test
+    @Timeout(30)
+    void flushIntervalWritesWithoutForce() throws Exception {
+        Path file = directory.resolve("log.txt");
+        try (FileAppender appender = FileAppender.open(file, 1024, Duration.ofMillis(10), FileAppender.FsyncPolicy.ON_FORCE)) {
+            appender.append("eventually\n");
+            while (Files.size(file) == 0) {
+                Thread.sleep(5);
+            }
+            assertThat(file).hasContent("eventually");
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void appendsRacingWithCloseAreWrittenOrRejected() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Path file = directory.resolve("log-" + round + ".txt");
+            FileAppender appender = FileAppender.open(file);
+            LongAdder accepted = new LongAdder();
+            try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+                for (int t = 0; t < 4; t++) {
+                    int thread = t;
+                    executor.execute(() -> {
+                        for (int i = 0; ; i++) {
+                            try {
+                                appender.append("thread " + thread + " record " + i + "\n");
+                                accepted.increment();
+                            } catch (IllegalStateException e) {
+                                return;
+                            }
+                        }
+                    });
+                }
+                Thread.sleep(5);
+                appender.close();
+            }
+
+            assertThat(Files.readAllLines(file)).hasSize(accepted.intValue());
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void writeFailuresAreReportedToForceAndLaterCalls() {
+        Path full = Path.of("/dev/full");
+        assumeTrue(Files.isWritable(full), "needs /dev/full");
+        FileAppender appender = FileAppender.open(full);
+        appender.append("lost\n");
+
+        assertThatThrownBy(appender::force).isInstanceOf(FileOperationException.class).hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(appender::force).isInstanceOf(FileOperationException.class).hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> appender.append("late\n")).isInstanceOf(FileOperationException.class);
+        assertThatThrownBy(appender::close).isInstanceOf(FileOperationException.class);
+    }
+
+    @Test
+    void closedAppenderRejectsAppends() {
+        FileAppender appender = FileAppender.open(directory.resolve("log.txt"));
+        appender.close();
+        appender.close();
+
+        assertThatThrownBy(() -> appender.append("late\n")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(appender::force).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> FileAppender.open(directory.resolve("log.txt"), 8, Duration.ZERO, FileAppender.FsyncPolicy.ON_FORCE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
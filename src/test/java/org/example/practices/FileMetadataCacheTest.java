@@ -0,0 +1,144 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FileMetadataCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() throws IOException {
+        Path file = Files.writeString(directory.resolve("a.txt"), "a");
+        try (FileMetadataCache cache = FileMetadataCache.create(100, Duration.ofHours(1))) {
+            assertThat(cache.exists(file)).isTrue();
+            assertThat(cache.attributes(file)).get().extracting(attrs -> attrs.size()).isEqualTo(1L);
+            assertThat(cache.list(directory)).extracting(DirectoryEntry::path).containsExactly(file);
+            assertThat(cache.list(directory)).hasSize(1);
+
+            FileMetadataCache.Stats stats = cache.stats();
+            assertThat(stats.hits()).isEqualTo(2);
+            assertThat(stats.misses()).isEqualTo(2);
+            assertThat(stats.hitRate()).isEqualTo(0.5);
+        }
+    }
+
+    @Test
+    void invalidateDropsThePathAndItsParentListing() throws IOException {
+        Path file = directory.resolve("a.txt");
+        try (FileMetadataCache cache = FileMetadataCache.create(100, Duration.ofHours(1))) {
+            assertThat(cache.exists(file)).isFalse();
+            assertThat(cache.list(directory)).isEmpty();
+
+            Files.writeString(file, "a");
+            cache.invalidate(file);
+
+            assertThat(cache.exists(file)).isTrue();
+            assertThat(cache.list(directory)).hasSize(1);
+            // The watcher may also have seen the create.
+            assertThat(cache.stats().invalidations()).isGreaterThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted() throws IOException {
+        try (FileMetadataCache cache = FileMetadataCache.create(2, Duration.ofHours(1))) {
+            Path a = Files.writeString(directory.resolve("a"), "a");
+            Path b = Files.writeString(directory.resolve("b"), "b");
+            Path c = Files.writeString(directory.resolve("c"), "c");
+            cache.exists(a);
+            cache.exists(b);
+            cache.exists(a);
+            cache.exists(c);
+
+            FileMetadataCache.Stats stats = cache.stats();
+            assertThat(stats.evictions()).isEqualTo(1);
+            assertThat(stats.size()).isEqualTo(2);
+            cache.exists(a);
+            assertThat(cache.stats().hits()).isEqualTo(stats.hits() + 1);
+        }
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() throws Exception {
+        Path file = Files.writeString(directory.resolve("a.txt"), "a");
+        try (FileMetadataCache cache = FileMetadataCache.create(100, Duration.ofMillis(20))) {
+            cache.exists(file);
+            Thread.sleep(50);
+            cache.exists(file);
+
+            assertThat(cache.stats().misses()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void changesMadeBehindTheCacheAreNoticedByTheWatcher() throws Exception {
+        Path file = Files.writeString(directory.resolve("a.txt"), "a");
+        try (FileMetadataCache cache = FileMetadataCache.create(100, Duration.ofHours(1))) {
+            assertThat(cache.exists(file)).isTrue();
+
+            Files.delete(file);
+
+            while (cache.exists(file)) {
+                Thread.sleep(20);
+            }
+            assertThat(cache.stats().invalidations()).isPositive();
+        }
+    }
+
+    @Test
+    void existsFollowsLinksLikeFilesExists() throws IOException {
+        Path file = Files.writeString(directory.resolve("a.txt"), "a");
+        Path link = directory.resolve("link");
+        Path dangling = directory.resolve("dangling");
+        try {
+            Files.createSymbolicLink(link, file);
+            Files.createSymbolicLink(dangling, directory.resolve("missing"));
+        } catch (UnsupportedOperationException | IOException e) {
+            assumeTrue(false, "symbolic links are not supported here");
+        }
+        try (FileMetadataCache cache = FileMetadataCache.create(100, Duration.ofHours(1))) {
+            assertThat(cache.exists(link)).isEqualTo(Files.exists(link)).isTrue();
+            assertThat(cache.exists(dangling)).isEqualTo(Files.exists(dangling)).isFalse();
+            assertThat(cache.attributes(dangling)).get().matches(BasicFileAttributes::isSymbolicLink);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void invalidatingOtherPathsKeepsLoadsInFlight() throws Exception {
+        Path busy = Files.createDirectories(directory.resolve("busy"));
+        for (int i = 0; i < 2_000; i++) {
+            Files.createFile(busy.resolve("f" + i));
+        }
+        Path unrelated = directory.resolve("unrelated.txt");
+        try (FileMetadataCache cache = FileMetadataCache.create(100, Duration.ofHours(1))) {
+            AtomicBoolean listed = new AtomicBoolean();
+            Thread invalidator = Thread.ofPlatform().start(() -> {
+                while (!listed.get()) {
+                    cache.invalidate(unrelated);
+                }
+            });
+            assertThat(cache.list(busy)).hasSize(2_000);
+            listed.set(true);
+            invalidator.join();
+
+            long hits = cache.stats().hits();
+            cache.list(busy);
+            assertThat(cache.stats().hits()).isEqualTo(hits + 1);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileOperationMetricsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void aggregatesOperationsReportedToListeners() throws IOException {
+        Path file = Files.createFile(directory.resolve("a.txt"));
+        FileOperationMetrics metrics = new FileOperationMetrics();
+        FileAndDirectoryOperations.addListener(metrics);
+        try {
+            FileAndDirectoryOperations.writeFile(file, "hello");
+            FileAndDirectoryOperations.appendToFile(file, ", world");
+            FileAndDirectoryOperations.appendToFile(file, "!");
+            assertThatThrownBy(() -> FileAndDirectoryOperations.copyFile(directory.resolve("missing"), directory.resolve("b")))
+                    .isInstanceOf(FileOperationException.class);
+        } finally {
+            FileAndDirectoryOperations.removeListener(metrics);
+        }
+        FileAndDirectoryOperations.writeFile(file, "not recorded");
+
+        FileOperationMetrics.Summary append = metrics.summary(FileOperation.APPEND_TO_FILE);
+        assertThat(append.latencyNanos().count()).isEqualTo(2);
+        assertThat(append.bytes()).isEqualTo(8);
+        assertThat(append.files()).isEqualTo(2);
+        assertThat(append.errors()).isZero();
+
+        FileOperationMetrics.Summary copy = metrics.summary(FileOperation.COPY_FILE);
+        assertThat(copy.errors()).isEqualTo(1);
+        assertThat(copy.errorsByCause()).containsEntry(NoSuchFileException.class.getName(), 1L);
+
+        assertThat(metrics.summaries()).containsOnlyKeys(FileOperation.WRITE_FILE, FileOperation.APPEND_TO_FILE, FileOperation.COPY_FILE);
+        assertThat(metrics.summary(FileOperation.WRITE_FILE).bytes()).isEqualTo(5);
+    }
+
+    @Test
+    void bulkCopiesWithFailuresAreNotReportedAsSuccesses() throws IOException {
+        Path source = Files.createDirectories(directory.resolve("source"));
+        Files.writeString(source.resolve("blocked.txt"), "blocked");
+        Files.writeString(source.resolve("fine.txt"), "fine");
+        Path target = Files.createDirectories(directory.resolve("target/blocked.txt"));
+        Files.writeString(target.resolve("child"), "in the way");
+        FileOperationMetrics metrics = new FileOperationMetrics();
+        FileAndDirectoryOperations.addListener(metrics);
+        try {
+            CopyResult result = FileAndDirectoryOperations.copyDirectory(source, target.getParent(), 4);
+            assertThat(result.failures()).hasSize(1);
+        } finally {
+            FileAndDirectoryOperations.removeListener(metrics);
+        }
+
+        FileOperationMetrics.Summary copy = metrics.summary(FileOperation.COPY_DIRECTORY);
+        assertThat(copy.errors()).isEqualTo(1);
+        assertThat(copy.errorsByCause()).containsOnlyKeys(DirectoryNotEmptyException.class.getName());
+        assertThat(copy.files()).isEqualTo(1);
+        assertThat(copy.bytes()).isEqualTo(4);
+    }
+
+    @Test
+    void aFailingListenerDoesNotFailTheOperationOrSilenceOthers() throws IOException {
+        Path file = Files.createFile(directory.resolve("a.txt"));
+        FileOperationListener broken = (operation, path, durationNanos, bytes, files, failure) -> {
+            throw new IllegalStateException("broken listener");
+        };
+        FileOperationMetrics metrics = new FileOperationMetrics();
+        FileAndDirectoryOperations.addListener(broken);
+        FileAndDirectoryOperations.addListener(metrics);
+        try {
+            FileAndDirectoryOperations.writeFile(file, "hello");
+        } finally {
+            FileAndDirectoryOperations.removeListener(broken);
+            FileAndDirectoryOperations.removeListener(metrics);
+        }
+
+        assertThat(file).hasContent("hello");
+        assertThat(metrics.summary(FileOperation.WRITE_FILE).bytes()).isEqualTo(5);
+    }
+
+    @Test
+    void lazyReadsAreReportedWhenClosed() throws IOException {
+        Path plain = Files.writeString(directory.resolve("a.txt"), "one\ntwo\n");
+        Path compressed = directory.resolve("b.txt.gz");
+        FileAndDirectoryOperations.writeFileCompressed(compressed, "compressed");
+        FileOperationMetrics metrics = new FileOperationMetrics();
+        FileAndDirectoryOperations.addListener(metrics);
+        try {
+            try (Stream<CharSequence> lines = FileAndDirectoryOperations.readFileMapped(plain)) {
+                assertThat(lines.count()).isEqualTo(2);
+                assertThat(metrics.summaries()).isEmpty();
+            }
+            try (InputStream in = FileAndDirectoryOperations.openCompressed(compressed)) {
+                assertThat(in.readAllBytes()).hasSize(10);
+            }
+            assertThatThrownBy(() -> FileAndDirectoryOperations.openCompressed(directory.resolve("missing.gz")))
+                    .isInstanceOf(FileOperationException.class);
+        } finally {
+            FileAndDirectoryOperations.removeListener(metrics);
+        }
+
+        FileOperationMetrics.Summary read = metrics.summary(FileOperation.READ_FILE);
+        assertThat(read.latencyNanos().count()).isEqualTo(3);
+        assertThat(read.bytes()).isEqualTo(8 + 10);
+        assertThat(read.files()).isEqualTo(2);
+        assertThat(read.errorsByCause()).containsOnlyKeys(NoSuchFileException.class.getName());
+    }
+}
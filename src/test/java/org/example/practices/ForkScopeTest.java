@@ -0,0 +1,51 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ForkScopeTest {
+
+    @Test
+    void joinWaitsForTasksForkedByOtherTasks() throws InterruptedException {
+        AtomicInteger ran = new AtomicInteger();
+        try (ForkScope scope = new ForkScope()) {
+            scope.fork(() -> forkTree(scope, 6, ran));
+            scope.join();
+        }
+        assertThat(ran).hasValue(127);
+    }
+
+    @Test
+    void joinRethrowsTheFirstFailureAfterTheScopeDrains() {
+        AtomicInteger ran = new AtomicInteger();
+        try (ForkScope scope = new ForkScope()) {
+            scope.fork(() -> {
+                for (int i = 0; i < 100; i++) {
+                    int n = i;
+                    scope.fork(() -> {
+                        ran.incrementAndGet();
+                        if (n % 10 == 0) {
+                            throw new IllegalStateException("task " + n);
+                        }
+                    });
+                }
+            });
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalStateException.class)
+                    .satisfies(e -> assertThat(e.getSuppressed()).hasSize(9));
+        }
+        assertThat(ran).hasValue(100);
+    }
+
+    private static void forkTree(ForkScope scope, int depth, AtomicInteger ran) {
+        ran.incrementAndGet();
+        if (depth > 0) {
+            scope.fork(() -> forkTree(scope, depth - 1, ran));
+            scope.fork(() -> forkTree(scope, depth - 1, ran));
+        }
+    }
+}
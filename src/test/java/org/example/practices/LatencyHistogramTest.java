@@ -0,0 +1,69 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(10);
+        assertThat(snapshot.mean()).isEqualTo(5.5);
+        assertThat(snapshot.max()).isEqualTo(10);
+        assertThat(snapshot.p50()).isEqualTo(5);
+        assertThat(snapshot.p90()).isEqualTo(9);
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(10);
+    }
+
+    @Test
+    void percentilesAreWithinThreePercentOfTheExactValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            assertThat((double) histogram.valueAtPercentile(percentile)).isCloseTo(exact, within(exact * 0.03 + 1));
+        }
+        assertThat(histogram.snapshot().max()).isEqualTo(values[values.length - 1]);
+    }
+
+    @Test
+    void everyValueFallsInABucketThatBoundsIt() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBound(index - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogram.upperBound(LatencyHistogram.indexOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void emptyAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.snapshot()).isEqualTo(new LatencyHistogram.Snapshot(0, 0.0, 0, 0, 0, 0, 0));
+
+        histogram.record(-5);
+        assertThat(histogram.valueAtPercentile(50)).isZero();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedLineSpliteratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsTheSameLinesAsFilesReadAllLines() throws IOException {
+        Path file = Files.writeString(directory.resolve("mixed.txt"),
+                "ascii\r\n\nnon-ascii: café 日本\nlast line without newline", StandardCharsets.UTF_8);
+
+        assertThat(lines(file, false)).isEqualTo(Files.readAllLines(file));
+        assertThat(lines(Files.writeString(directory.resolve("trailing.txt"), "a\nb\n"), false))
+                .containsExactly("a", "b");
+        assertThat(lines(Files.createFile(directory.resolve("empty.txt")), false)).isEmpty();
+    }
+
+    @Test
+    void asciiLinesAreViewsThatBehaveLikeStrings() throws IOException {
+        Path file = Files.writeString(directory.resolve("ascii.txt"), "hello world\n");
+
+        try (Stream<CharSequence> lines = MappedLineSpliterator.lines(file)) {
+            CharSequence line = lines.findFirst().orElseThrow();
+            assertThat(line).isInstanceOf(AsciiSequence.class);
+            assertThat(line.length()).isEqualTo(11);
+            assertThat(line.charAt(6)).isEqualTo('w');
+            assertThat(line.subSequence(0, 5).toString()).isEqualTo("hello");
+            assertThat(line.toString()).isEqualTo("hello world");
+        }
+    }
+
+    @Test
+    void parallelStreamsSplitOnLineBoundaries() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < 5 * 1024 * 1024; i++) {
+            content.append("line ").append(i).append(i % 7 == 0 ? " ü" : "").append('\n');
+        }
+        Path file = Files.writeString(directory.resolve("large.txt"), content, StandardCharsets.UTF_8);
+
+        List<String> expected = Files.readAllLines(file);
+        assertThat(lines(file, true)).isEqualTo(expected);
+        assertThat(lines(file, false)).isEqualTo(expected);
+    }
+
+    private static List<String> lines(Path file, boolean parallel) throws IOException {
+        try (Stream<CharSequence> lines = MappedLineSpliterator.lines(file)) {
+            return (parallel ? lines.parallel() : lines).map(CharSequence::toString).toList();
+        }
+    }
+}
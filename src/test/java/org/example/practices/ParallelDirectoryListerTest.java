@@ -0,0 +1,60 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelDirectoryListerTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void listsEveryEntryDownToMaxDepth() throws IOException {
+        Files.createDirectories(root.resolve("a/b/c"));
+        Files.writeString(root.resolve("a/one.txt"), "1");
+        Files.writeString(root.resolve("a/b/two.txt"), "2");
+        Files.writeString(root.resolve("a/b/c/three.txt"), "3");
+
+        Queue<DirectoryEntry> entries = new ConcurrentLinkedQueue<>();
+        ParallelDirectoryLister.walk(root, 3, 4, (path, attrs) -> true, entries::add);
+
+        assertThat(entries).extracting(entry -> root.relativize(entry.path()).toString())
+                .containsExactlyInAnyOrder("a", "a/one.txt", "a/b", "a/b/two.txt", "a/b/c");
+    }
+
+    @Test
+    void sinkFailureIsRethrownInsteadOfReturningPartialResults() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            Files.createDirectories(root.resolve("dir" + i)).resolve("file").toFile().createNewFile();
+        }
+
+        assertThatThrownBy(() -> FileAndDirectoryOperations.listTree(root, 2, (path, attrs) -> {
+            if (path.endsWith("dir7")) {
+                throw new IllegalArgumentException("bad entry");
+            }
+            return true;
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad entry");
+    }
+
+    @Test
+    void listDirectoriesIncludesLinksToDirectories() throws IOException {
+        Path real = Files.createDirectory(root.resolve("real"));
+        Files.createSymbolicLink(root.resolve("link"), real);
+        Files.createSymbolicLink(root.resolve("dangling"), root.resolve("missing"));
+        Files.writeString(root.resolve("file"), "x");
+
+        List<Path> directories = FileAndDirectoryOperations.listDirectories(root).orElseThrow().toList();
+
+        assertThat(directories).containsExactlyInAnyOrder(real, root.resolve("link"));
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.practices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelTreeCopierTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void copiesEveryFileAndDirectory() throws IOException {
+        Path source = root.resolve("source");
+        long bytes = 0;
+        for (int d = 0; d < 5; d++) {
+            Path dir = Files.createDirectories(source.resolve("dir-" + d + "/nested"));
+            for (int f = 0; f < 20; f++) {
+                String content = "file " + d + "/" + f;
+                Files.writeString(dir.resolve("f" + f + ".txt"), content);
+                bytes += content.length();
+            }
+        }
+        Files.createDirectories(source.resolve("empty"));
+        Path target = root.resolve("target");
+
+        CopyResult result = ParallelTreeCopier.copy(source, target, 1);
+
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.files()).isEqualTo(100);
+        assertThat(result.bytes()).isEqualTo(bytes);
+        assertThat(target.resolve("empty")).isEmptyDirectory();
+        assertThat(target.resolve("dir-3/nested/f7.txt")).hasContent("file 3/7");
+    }
+
+    @Test
+    void reportsFailuresAndCopiesTheRest() throws IOException {
+        Path source = Files.createDirectories(root.resolve("source"));
+        Files.writeString(source.resolve("blocked.txt"), "blocked");
+        Files.writeString(source.resolve("fine.txt"), "fine");
+        Path target = root.resolve("target");
+        Files.createDirectories(target.resolve("blocked.txt"));
+        Files.writeString(target.resolve("blocked.txt/child"), "in the way");
+
+        CopyResult result = ParallelTreeCopier.copy(source, target, 4);
+
+        assertThat(result.files()).isEqualTo(1);
+        assertThat(result.failures()).singleElement().satisfies(failure -> {
+            assertThat(failure.path()).isEqualTo(source.resolve("blocked.txt"));
+            assertThat(failure.cause()).isInstanceOf(DirectoryNotEmptyException.class);
+        });
+        assertThat(target.resolve("fine.txt")).hasContent("fine");
+    }
+
+    @Test
+    void rejectsASourceThatIsNotADirectory() throws IOException {
+        Path file = Files.writeString(root.resolve("file.txt"), "file");
+
+        assertThatThrownBy(() -> ParallelTreeCopier.copy(file, root.resolve("target"), 4))
+                .isInstanceOf(FileOperationException.class);
+        assertThatThrownBy(() -> ParallelTreeCopier.copy(root, root.resolve("target"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}